@@ -0,0 +1,200 @@
+package regressionAnalysisCalc;
+/**
+ * Analysis Cache holds every value displayed by <code>GraphingTool</code> for one version of the data set: the summaries of both variables, the covariance,
+ * every fitted regression model and the rounded labels of each of them. The values are found once when the cache is created, so repainting the interface
+ * only reads them. A cache is tied to the version of the data set it was created for, and is replaced when the data set changes.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class AnalysisCache
+{
+	//integers used to refer to each label of the summary statistics
+	public static final int MEAN_X = 0;
+	public static final int MEAN_Y = 1;
+	public static final int MEDIAN_X = 2;
+	public static final int MEDIAN_Y = 3;
+	public static final int RANGE_Y = 4;
+	public static final int Q1_Y = 5;
+	public static final int Q3_Y = 6;
+	public static final int IQR_Y = 7;
+	public static final int VARIANCE_X = 8;
+	public static final int VARIANCE_Y = 9;
+	public static final int STDEV_X = 10;
+	public static final int STDEV_Y = 11;
+	public static final int COVARIANCE = 12;
+
+	private static final int NUM_MODELS = 4; //number of regression models, referred to by 1 - 4
+	private static final int MODEL_PLACES = 3; //number of decimal places shown for the arguments, r and R-squared of a model
+
+	private final long version; //version of the data set the values were found for
+	private final DescriptiveStatistics xStats; //summary of the independent variable
+	private final DescriptiveStatistics yStats; //summary of the dependent variable
+	private final ModelComparison models; //every fitted regression model
+	private final String[] labels; //rounded summary statistics, indexed by MEAN_X to COVARIANCE
+	private final String[][] terms; //rounded terms of the equation of each model, where "+ " is added in front of positive terms after the first
+	private final String[] rFactorLabels; //rounded r of each model, or "N/A"
+	private final String[] rSquaredLabels; //rounded R-squared of each model
+	private final String correlationType; //strength of the linear correlation
+
+	/**
+	 * Finds and rounds every value displayed for a data set.
+	 * @param version the version of the data set
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param dpX the number of decimal places shown for values of the independent variable
+	 * @param dpY the number of decimal places shown for values of the dependent variable
+	 */
+	public AnalysisCache(long version, double[] dataX, double[] dataY, int dpX, int dpY)
+	{
+		this(version, dataX, dataY, dpX, dpY, AnalysisLibrary.describe(dataX), AnalysisLibrary.describe(dataY));
+	}
+
+	/**
+	 * Finds and rounds every value displayed for a data set whose summaries have already been found, for ex. when its file was first parsed
+	 * (see <code>DataFileCache</code>).
+	 * @param version the version of the data set
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param dpX the number of decimal places shown for values of the independent variable
+	 * @param dpY the number of decimal places shown for values of the dependent variable
+	 * @param xStats the summary of <code>dataX</code> (see <code>AnalysisLibrary.describe()</code>)
+	 * @param yStats the summary of <code>dataY</code>
+	 */
+	public AnalysisCache(long version, double[] dataX, double[] dataY, int dpX, int dpY, DescriptiveStatistics xStats, DescriptiveStatistics yStats)
+	{
+		this.version = version;
+		this.xStats = xStats;
+		this.yStats = yStats;
+		models = AnalysisLibrary.fitAll(dataX, dataY);
+
+		labels = new String[COVARIANCE + 1];
+		labels[MEAN_X] = AnalysisLibrary.roundDecimal(xStats.getMean(), dpX);
+		labels[MEAN_Y] = AnalysisLibrary.roundDecimal(yStats.getMean(), dpY);
+		labels[MEDIAN_X] = AnalysisLibrary.roundDecimal(xStats.getMedian(), dpX);
+		labels[MEDIAN_Y] = AnalysisLibrary.roundDecimal(yStats.getMedian(), dpY);
+		labels[RANGE_Y] = AnalysisLibrary.roundDecimal(yStats.getRange(), dpY);
+		labels[Q1_Y] = AnalysisLibrary.roundDecimal(yStats.getQ1(), dpY);
+		labels[Q3_Y] = AnalysisLibrary.roundDecimal(yStats.getQ3(), dpY);
+		labels[IQR_Y] = AnalysisLibrary.roundDecimal(yStats.getInterquartileRange(), dpY);
+		labels[VARIANCE_X] = AnalysisLibrary.roundDecimal(xStats.getVariance(true), dpX);
+		labels[VARIANCE_Y] = AnalysisLibrary.roundDecimal(yStats.getVariance(true), dpY);
+		labels[STDEV_X] = AnalysisLibrary.roundDecimal(xStats.getStDev(true), dpX);
+		labels[STDEV_Y] = AnalysisLibrary.roundDecimal(yStats.getStDev(true), dpY);
+		labels[COVARIANCE] = AnalysisLibrary.roundDecimal(AnalysisLibrary.covariance(dataX, dataY), dpY);
+
+		terms = new String[NUM_MODELS + 1][];
+		rFactorLabels = new String[NUM_MODELS + 1];
+		rSquaredLabels = new String[NUM_MODELS + 1];
+		for(int type = 1; type <= NUM_MODELS; type++)
+		{
+			RegressionResult result = models.getResult(type);
+			double[] args = result.getArguments();
+			boolean isSigned = type == AnalysisLibrary.LINEAR || type == AnalysisLibrary.QUADRATIC; //power and exponential terms are not added together
+
+			terms[type] = new String[args.length];
+			for(int i = 0; i < args.length; i++)
+			{
+				if(args[i] >= 0 && i > 0 && isSigned)
+					terms[type][i] = "+ " + AnalysisLibrary.roundDecimal(args[i], MODEL_PLACES);
+				else
+					terms[type][i] = AnalysisLibrary.roundDecimal(args[i], MODEL_PLACES);
+			}
+
+			//the PCC of the power and exponential models is stored as their last argument, and the quadratic model has none
+			if(type == AnalysisLibrary.LINEAR)
+				rFactorLabels[type] = AnalysisLibrary.roundDecimal(result.getRFactor(), MODEL_PLACES);
+			else if(type == AnalysisLibrary.QUADRATIC)
+				rFactorLabels[type] = "N/A";
+			else
+				rFactorLabels[type] = terms[type][2];
+			rSquaredLabels[type] = AnalysisLibrary.roundDecimal(result.getRSquared(), MODEL_PLACES);
+		}
+		correlationType = AnalysisLibrary.correlationType(Double.parseDouble(rFactorLabels[AnalysisLibrary.LINEAR]));
+	}
+
+	/**
+	 * Returns the version of the data set that the values were found for
+	 * @return long - the version of the data set
+	 */
+	public long getVersion()
+	{
+		return version;
+	}
+
+	/**
+	 * Returns the summary of the independent variable
+	 * @return DescriptiveStatistics - the summary of <i>x</i>
+	 */
+	public DescriptiveStatistics getXStats()
+	{
+		return xStats;
+	}
+
+	/**
+	 * Returns the summary of the dependent variable
+	 * @return DescriptiveStatistics - the summary of <i>y</i>
+	 */
+	public DescriptiveStatistics getYStats()
+	{
+		return yStats;
+	}
+
+	/**
+	 * Returns every fitted regression model
+	 * @return ModelComparison - the fitted models
+	 */
+	public ModelComparison getModels()
+	{
+		return models;
+	}
+
+	/**
+	 * Returns the rounded label of a summary statistic
+	 * @param statistic the statistic, from <code>MEAN_X</code> to <code>COVARIANCE</code>
+	 * @return String - the rounded value of the statistic
+	 */
+	public String getLabel(int statistic)
+	{
+		return labels[statistic];
+	}
+
+	/**
+	 * Returns the rounded terms of the equation of a regression model, in the same order as its arguments. Every term of the linear and quadratic models
+	 * after the first has its sign written in front of it ("+ " if positive).
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return String[] - the rounded terms
+	 */
+	public String[] getTerms(int regressionType)
+	{
+		return terms[regressionType];
+	}
+
+	/**
+	 * Returns the rounded Pearson Correlation Coefficient of a regression model
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return String - the rounded value of <i>r</i>, or "N/A" for the quadratic model
+	 */
+	public String getRFactorLabel(int regressionType)
+	{
+		return rFactorLabels[regressionType];
+	}
+
+	/**
+	 * Returns the rounded coefficient of determination of a regression model
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return String - the rounded value of R<sup>2</sup>
+	 */
+	public String getRSquaredLabel(int regressionType)
+	{
+		return rSquaredLabels[regressionType];
+	}
+
+	/**
+	 * Returns the strength of the linear correlation (see <code>AnalysisLibrary.correlationType()</code>)
+	 * @return String - the type of correlation
+	 */
+	public String getCorrelationType()
+	{
+		return correlationType;
+	}
+}
@@ -1,6 +1,8 @@
 package regressionAnalysisCalc;
 import java.lang.Math;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
 /**
  * Analysis Library provides a set of methods to perform statistical analysis, including mean, median, measures of spread, range, and regression models.
  *  A set of methods for rounding decimals is also included. All calculations will yield unrounded values. This class is not meant to be
@@ -10,6 +12,20 @@ import java.text.DecimalFormat;
  */
 public class AnalysisLibrary
 {
+	//integers used to refer to each regression model
+	public static final int LINEAR = 1;
+	public static final int QUADRATIC = 2;
+	public static final int POWER = 3;
+	public static final int EXPONENTIAL = 4;
+	
+	//powers of 10 that are exact as a double, by which roundDecimal() scales a number to round it
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+		1e19, 1e20, 1e21, 1e22};
+	private static final double MAX_SCALED = 4503599627370496.0; //2^52, the scaled number below which every double still has a fraction to round
+	
+	//characters of the number being written by roundDecimal(), reused by each thread
+	private static final ThreadLocal<char[]> roundingDigits = ThreadLocal.withInitial(() -> new char[48]);
+	
 	/**
 	 * Calculates the total sum of an array of data.
 	 * @param data an array of type <code>double</code>
@@ -17,60 +33,38 @@ public class AnalysisLibrary
 	 */
 	public static double summation(double[] data)
 	{
-		double summation = 0.0;
-		for(int i = 0; i < data.length; i++)
-		{
-			summation = summation + data[i];
-		}
-		return summation;
+		return VectorKernels.sum(data, 0, data.length);
 	}
 	
 	/**
-	 * Sorts a double array using bubble sort.
+	 * Sorts a copy of a double array (see <code>OrderStatistics.sort()</code>).
 	 * @param unsorted an array of type <code>double</code>, not in order of increasing values
 	 * @return double[] - a sorted array with the same values as <code>unsorted</code> in order of increasing values
 	 */
 	public static double[] sorted(double[] unsorted)
 	{
-		double data[] = new double[unsorted.length];
-		double currentTest = 0;
-		boolean mismatchFound = true;
-		int numMismatch = 0;
-		int i = 0;
-		
-		for(int j = 0; j < unsorted.length; j++)
-		{
-			data[j] = unsorted[j];
-		}
-		
-		while(mismatchFound)
-		{
-			//if two numbers side by side are out of order, switch the numbers
-			if(data[i] > data[i+1])
-			{
-				currentTest = data[i];
-				data[i] = data[i+1];
-				data[i+1] = currentTest;
-				numMismatch++;
-			}
-			
-			//continue looping through the array until there are no out of order elements
-			if(i == (data.length - 2))
-			{
-				if(numMismatch > 0)
-				{
-					i = 0;
-					numMismatch = 0;
-				}
-				else
-					mismatchFound = false;
-			}
-			else
-				i++;
-		}
+		double data[] = unsorted.clone();
+		OrderStatistics.sort(data);
 		return data;
 	}
 	
+	/**
+	 * Sorts a copy of a double array into an array supplied by the caller, without allocating (see <code>OrderStatistics.sort(double[], AnalysisWorkspace)</code>).
+	 * @param unsorted an array of type <code>double</code>, not in order of increasing values
+	 * @param result an array of the same length as <code>unsorted</code>, which is filled with the sorted values
+	 * @param workspace the workspace whose buffers are reused by the sort
+	 * @return double[] - <code>result</code>, with the same values as <code>unsorted</code> in order of increasing values
+	 */
+	public static double[] sorted(double[] unsorted, double[] result, AnalysisWorkspace workspace)
+	{
+		if(result.length != unsorted.length)
+			throw new IllegalArgumentException("result must be the same length as unsorted");
+		
+		System.arraycopy(unsorted, 0, result, 0, unsorted.length);
+		OrderStatistics.sort(result, workspace);
+		return result;
+	}
+	
 	/**
 	 * Finds the arithmetic mean (average) of a set of data.
 	 * @param data an array of type <code>double</code>
@@ -96,10 +90,12 @@ public class AnalysisLibrary
 	{
 		double median = 0.0;
 		int length = data.length;
+		
+		//selects the middle value(s) from a copy of the data instead of sorting it
 		if(!isSorted)
-			data = sorted(data);
+			return OrderStatistics.median(data.clone(), 0, length);
 		
-		//sorts the array and looks for the value at the middle index
+		//looks for the value at the middle index of the sorted array
 		if(length % 2 == 0)
 			median = (data[length/2 - 1] + data[length/2])/2.0;
 		else
@@ -108,6 +104,17 @@ public class AnalysisLibrary
 		return median;
 	}
 	
+	/**
+	 * Finds the median of an unsorted set of data, selecting it from a copy held in the buffer of a workspace instead of a new copy.
+	 * @param data an array of type <code>double</code> with at least 1 value, which is not changed
+	 * @param workspace the workspace whose buffer holds the copy
+	 * @return double - the median of the data set
+	 */
+	public static double median(double[] data, AnalysisWorkspace workspace)
+	{
+		return OrderStatistics.median(workspace.copyOf(data), 0, data.length);
+	}
+	
 	/** 
 	 * Finds the range (difference between highest and lowest values) of the data set.
 	 * @param data an array of type <code>double</code>
@@ -116,8 +123,7 @@ public class AnalysisLibrary
 	public static double range(double[] data)
 	{
 		int length = data.length;
-		double[] sortedDataArray = sorted(data);
-		double range = sortedDataArray[length - 1] - sortedDataArray[0];
+		double range = OrderStatistics.max(data, 0, length) - OrderStatistics.min(data, 0, length);
 		return range;
 	}
 	
@@ -130,43 +136,38 @@ public class AnalysisLibrary
 	 */
 	public static double[] interquartileRange(double[] data)
 	{
-		int length = data.length;
-		double q1 = 0.0;
-		double q3 = 0.0;
-		double interquartileRange = 0.0;
-		double[] sortedDataArray = sorted(data);
-		double[] firstHalf = new double[length/2];
-		double[] secondHalf = new double[length/2];
-		
-		//determines the index where the two arrays are split from the data array
-		int firstSplitIndex = length/2 - 1;
-		int secondSplitIndex = 0;
-		
-		if(length %2 == 0)
-			secondSplitIndex = firstSplitIndex + 1;
-		else
-			secondSplitIndex = firstSplitIndex + 2;
-		
-		//cuts the data array in half and transfers to new arrays
-		for(int i = 0; i <= firstSplitIndex; i++)
-		{
-			firstHalf[i] = sortedDataArray[i];
-		}
-		
-		for(int j = secondSplitIndex; j < length; j++)
-		{
-			secondHalf[j - secondSplitIndex] = sortedDataArray[j];
-		}
-		
-		//determines Q1, Q3, and IQR by finding the median of the split arrays and the difference
-		q1 = median(firstHalf,true);
-		q3 = median(secondHalf,true);
-		interquartileRange = q3 - q1;
-		
-		double[] qData = {q1,q3,interquartileRange};
-		return qData;
+		//selects the quartiles from a copy of the data, so the order of data is unchanged
+		return OrderStatistics.quartiles(data.clone());
 	}	
 	
+	/**
+	 * Finds the quartiles and interquartile range of the set of data (see <code>interquartileRange(double[])</code>) without allocating. The quartiles
+	 * are selected from a copy held in the buffer of a workspace and stored in an array supplied by the caller.
+	 * @param data an array of type <code>double</code> with at least 2 values, which is not changed
+	 * @param qData an array of at least 3 values, which is filled with {Q1, Q3, IQR}
+	 * @param workspace the workspace whose buffer holds the copy
+	 * @return double[] - <code>qData</code>
+	 */
+	public static double[] interquartileRange(double[] data, double[] qData, AnalysisWorkspace workspace)
+	{
+		return OrderStatistics.quartiles(workspace.copyOf(data), 0, data.length, qData);
+	}
+	
+	/**
+	 * Summarizes a set of data in a quantile sketch, which estimates the median, quartiles and any percentile in a bounded amount of memory and can be merged
+	 * with the sketches of other parts of the data (see <code>QuantileSketch</code>). For data too large to keep in memory, a sketch can instead be fed one value
+	 * at a time as the data is read.
+	 * @param data an array of type <code>double</code>
+	 * @param rankError the largest error of the rank of an estimated quantile as a fraction of the number of values, for ex. 0.01 for 1%
+	 * @return QuantileSketch - a sketch of the data set
+	 */
+	public static QuantileSketch quantileSketch(double[] data, double rankError)
+	{
+		QuantileSketch sketch = QuantileSketch.withRankError(rankError);
+		sketch.addAll(data);
+		return sketch;
+	}
+	
 	/**
 	 * Finds the variance of a set of data. The variance is a measure of spread of a set of data about the arithmetic mean. It is calculated by taking 
 	 * the summation of the square of the deviation, or difference between a data value and the arithmetic mean, then divided by the number of points, <i>n</i> (for a census)
@@ -179,18 +180,14 @@ public class AnalysisLibrary
 	{
 		double variance = 0.0;
 		double mean = mean(data);
-
-		double[] deviations = new double[data.length];
 		
-		for(int i = 0; i < deviations.length; i++)
-		{
-			deviations[i] = Math.pow(data[i] - mean,2);
-		}
+		//sums the square of each deviation without storing the deviations
+		double sumSquaredDeviations = VectorKernels.centeredProductSum(data, 0, mean, data, 0, mean, data.length);
 		
 		if(isSample)
-			variance = summation(deviations)/(deviations.length - 1);
+			variance = sumSquaredDeviations/(data.length - 1);
 		else
-			variance = mean(deviations);
+			variance = sumSquaredDeviations/data.length;
 		return variance;
 	}
 	
@@ -207,6 +204,65 @@ public class AnalysisLibrary
 		return stDev;
 	}
 	
+	/**
+	 * Finds the summary statistics of a set of data: the mean, variance, standard deviation, extrema, range, median and quartiles (see <code>DescriptiveStatistics</code>).
+	 * The mean, sum of squared deviations and extrema are found together in one pass using Welford's method, and the median and quartiles are selected from a single
+	 * copy of the data, so the whole summary takes a constant number of passes instead of one or more for each value.
+	 * @param data an array of type <code>double</code>
+	 * @return DescriptiveStatistics - the summary of the data set
+	 */
+	public static DescriptiveStatistics describe(double[] data)
+	{
+		return describe(data, new AnalysisWorkspace());
+	}
+	
+	/**
+	 * Finds the summary statistics of a set of data (see <code>describe(double[])</code>), selecting the median and quartiles from a copy held in the
+	 * buffer of a workspace, so the only object created is the returned summary.
+	 * @param data an array of type <code>double</code>
+	 * @param workspace the workspace whose buffer holds the copy
+	 * @return DescriptiveStatistics - the summary of the data set
+	 */
+	public static DescriptiveStatistics describe(double[] data, AnalysisWorkspace workspace)
+	{
+		int length = data.length;
+		double mean = 0.0;
+		double sumSquaredDeviations = 0.0;
+		double min = Double.NaN;
+		double max = Double.NaN;
+		double median = Double.NaN;
+		double q1 = Double.NaN;
+		double q3 = Double.NaN;
+		
+		//updates the mean and the sum of squared deviations with each value (Welford's method)
+		for(int i = 0; i < length; i++)
+		{
+			double value = data[i];
+			double deviation = value - mean;
+			mean = mean + deviation/(i + 1);
+			sumSquaredDeviations = sumSquaredDeviations + deviation * (value - mean);
+			
+			if(i == 0 || value < min)
+				min = value;
+			if(i == 0 || value > max)
+				max = value;
+		}
+		
+		//selects the quartiles and then the median from the same copy of the data
+		if(length > 0)
+		{
+			double[] copy = workspace.copyOf(data);
+			if(length > 1)
+			{
+				double[] qData = OrderStatistics.quartiles(copy, 0, length, workspace.quartiles());
+				q1 = qData[0];
+				q3 = qData[1];
+			}
+			median = OrderStatistics.median(copy, 0, length);
+		}
+		return new DescriptiveStatistics(length, mean, sumSquaredDeviations, min, max, median, q1, q3);
+	}
+	
 	/**
 	 * Finds the covariance of a set of data. The covariance represents the average spread of the independent variable <i>x</i> and dependent variable <i>y</i>.
 	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
@@ -216,17 +272,10 @@ public class AnalysisLibrary
 	public static double covariance(double[] dataX, double[] dataY)
 	{
 		double covariance = 0.0;
-		double summationMultipliedValues = 0.0;
 		double meanX = mean(dataX);
 		double meanY = mean(dataY);
-		double[] multipliedValues = new double[dataX.length];
-		
-		for(int i = 0; i < multipliedValues.length; i++)
-		{
-			multipliedValues[i] = (dataX[i] - meanX) * (dataY[i] - meanY);
-		}
+		double summationMultipliedValues = VectorKernels.centeredProductSum(dataX, 0, meanX, dataY, 0, meanY, dataX.length);
 		
-		summationMultipliedValues = summation(multipliedValues);
 		covariance = summationMultipliedValues/(double)(dataX.length - 1);
 		return covariance;
 	}
@@ -286,7 +335,9 @@ public class AnalysisLibrary
 	/**
 	 * Determines the coefficient of determination, or R<sup>2</sup> for any regression model. R<sup>2</sup> is a quantitative measure that shows the proportion
 	 * of the actual value that can be explained by the regression mode. If a PCC or (<i>r</i>) exists, then R<sup>2</sup> is the square of <i>r</i>. The supported regression models
-	 * are: linear, quadratic, power (log-log method) and exponential (log method).
+	 * are: linear, quadratic, power and exponential. For the power and exponential models, this is R<sup>2</sup> of the least squares fit of <i>y</i> itself
+	 * (see <code>powerRegression()</code>), rather than of the transformed linear model. A fit of the same arrays just made on the same thread, for ex. by
+	 * <code>powerRegression()</code>, is reused as the start of the fit, so it usually takes only one pass over the data.
 	 * @param dataX  an array of type <code>double</code> representing the values of the independent variable
 	 * @param dataY  an array of type <code>double</code> representing the values of the dependent variable, which must be the same length as <code>dataX</code>
 	 * @param regressionType the regression model used to compute R<sup>2</sup>. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
@@ -294,55 +345,76 @@ public class AnalysisLibrary
 	 */
 	public static double rSquared(double[] dataX, double[] dataY, int regressionType)
 	{
-		double yMean = mean(dataY);
-		double rSquared = 0;
-		double[] arguments;
+		//the linear model only needs the PCC, which does not require the moments of the transformed variables
+		if(regressionType == LINEAR)
+			return Math.pow(rFactor(dataX,dataY),2);
 		
-		//determines r-squared by taking the square of the r-value
-		if(regressionType == 1)
-		{
-			arguments = linearRegression(dataX, dataY);
-			double slope = arguments[0];
-			double yIntercept = arguments[1];
-			rSquared = Math.pow(rFactor(dataX,dataY),2);
-		}
+		//the power and exponential models are fitted by least squares starting from the log methods (see NonlinearRegression)
+		if(regressionType == POWER || regressionType == EXPONENTIAL)
+			return NonlinearRegression.fit(dataX, dataY, regressionType).getRSquared();
 		
-		/*determines r-squared by taking the summation of the squares of the estimated deviations (using the regression model)
-		 divided by the summation of the squares of the actual deviations*/
-		else if(regressionType == 2)
-		{
-			arguments = quadraticRegression(dataX,dataY);
-			double a = arguments[0];
-			double b = arguments[1];
-			double c = arguments [2];
-			double estimatedY;
-			double[] numerator = new double[dataY.length];
-			double[] denominator = new double[dataY.length];
-			
-			for(int i = 0; i < dataY.length; i++)
-			{
-				estimatedY = a * Math.pow(dataX[i],2) + b * dataX[i] + c;
-				numerator[i] = Math.pow(estimatedY - yMean, 2);
-				denominator[i] = Math.pow(dataY[i] - yMean, 2);
-			}
-			rSquared = summation(numerator)/summation(denominator);
-		}
-		
-		//determines r-squared by taking the square of the r-value (power uses transformed linear model)
-		else if(regressionType == 3)
-		{
-			arguments = powerRegression(dataX,dataY);
-			rSquared = Math.pow(arguments[2],2);
-		}
-		
-		//determines r-squared by taking the square of the r-value (exponential uses transformed linear model)
-		else if(regressionType == 4)
-		{
-			arguments = exponentialRegression(dataX,dataY);
-			rSquared = Math.pow(arguments[2],2);
-		}
-
-		return rSquared;
+		//the quadratic model is solved from the moments of the data (see MomentAccumulator)
+		return moments(dataX,dataY).rSquared(regressionType);
+	}
+	
+	/**
+	 * Determines the coefficient of determination, or R<sup>2</sup> for any regression model (see <code>rSquared(double[], double[], int)</code>) without allocating.
+	 * The moments and the buffers of the power and exponential fits are held in a workspace, and a fit of the same arrays just made with the same workspace is
+	 * reused as the start of the fit.
+	 * @param dataX  an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY  an array of type <code>double</code> representing the values of the dependent variable, which must be the same length as <code>dataX</code>
+	 * @param regressionType the regression model used to compute R<sup>2</sup>. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param workspace the workspace whose buffers are reused
+	 * @return double - the value of R<sup>2</sup> where 0 <= R<sup>2</sup> < 1.
+	 */
+	public static double rSquared(double[] dataX, double[] dataY, int regressionType, AnalysisWorkspace workspace)
+	{
+		if(regressionType == LINEAR)
+			return Math.pow(rFactor(dataX,dataY),2);
+		if(regressionType == POWER || regressionType == EXPONENTIAL)
+			return NonlinearRegression.fit(dataX, dataY, regressionType, workspace.nonlinearStart(), workspace);
+		return moments(dataX, dataY, workspace.moments()).rSquared(regressionType);
+	}
+	
+	/**
+	 * Collects the moments of a two-variable data set in one pass, from which every regression model, its PCC and R<sup>2</sup> can be solved without
+	 * another pass over the data (see <code>MomentAccumulator</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return MomentAccumulator - the moments of <code>dataX</code> and <code>dataY</code>
+	 */
+	public static MomentAccumulator moments(double[] dataX, double[] dataY)
+	{
+		MomentAccumulator moments = new MomentAccumulator();
+		moments.addAll(dataX, dataY);
+		return moments;
+	}
+	
+	/**
+	 * Fits every regression model to a two-variable data set from a single pass over the data, so that the models can be ranked and any of them
+	 * can be displayed without another fit (see <code>ModelComparison</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return ModelComparison - every fitted model
+	 */
+	public static ModelComparison fitAll(double[] dataX, double[] dataY)
+	{
+		return new ModelComparison(dataX, dataY);
+	}
+	
+	/**
+	 * Collects the moments of a two-variable data set into an accumulator supplied by the caller, which is reset first. Reusing the same accumulator
+	 * for each data set avoids allocating, as it keeps the buffers used by <code>MomentAccumulator.addAll()</code> between calls.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param moments the accumulator to hold the moments, whose previous points are removed
+	 * @return MomentAccumulator - <code>moments</code>, holding the moments of <code>dataX</code> and <code>dataY</code>
+	 */
+	public static MomentAccumulator moments(double[] dataX, double[] dataY, MomentAccumulator moments)
+	{
+		moments.reset();
+		moments.addAll(dataX, dataY);
+		return moments;
 	}
 	
 	/**
@@ -362,83 +434,212 @@ public class AnalysisLibrary
 		return linearArguments;
 	}
 	
+	/**
+	 * Determines a line of best fit (see <code>linearRegression(double[], double[])</code>) into an array supplied by the caller, without allocating.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 2 values, which is filled with {slope(<i>m</i>), y-intercept(<i>b</i>)}
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] linearRegression(double[] dataX, double[] dataY, double[] arguments)
+	{
+		double slope = covariance(dataX, dataY)/variance(dataX, true);
+		arguments[0] = slope;
+		arguments[1] = mean(dataY) - slope * mean(dataX);
+		return arguments;
+	}
+	
+	/**
+	 * Determines a line of best fit that is not pulled away by outliers, as the median of the slopes between every pair of points (see <code>RobustRegression.theilSen()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return RegressionResult - the line of best fit, with arguments {slope(<i>m</i>), y-intercept(<i>b</i>)}, its PCC and R<sup>2</sup>
+	 */
+	public static RegressionResult theilSenRegression(double[] dataX, double[] dataY)
+	{
+		return RobustRegression.theilSen(dataX, dataY);
+	}
+	
+	/**
+	 * Determines a line of best fit that ignores outliers, by refitting the points close to the line through the random pair of points that most points are close to
+	 * (see <code>RobustRegression.ransac()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param threshold the largest vertical distance from a line at which a point is counted as close to it
+	 * @param iterations the number of random lines tried
+	 * @param seed the seed of the random generator, so that the same line can be found again
+	 * @return RegressionResult - the line of best fit, with arguments {slope(<i>m</i>), y-intercept(<i>b</i>)}, its PCC and R<sup>2</sup>
+	 */
+	public static RegressionResult ransacRegression(double[] dataX, double[] dataY, double threshold, int iterations, long seed)
+	{
+		return RobustRegression.ransac(dataX, dataY, threshold, iterations, seed);
+	}
+	
 	/**
 	 * Determines a curve of best fit for the graph <i>y</i> vs <i>x</i> where <i>y</i> is the dependent variable and <i>x</i> is the independent variable.
 	 * The curve of best fit can be represented by the equation <i>y = ax<sup>2</sup>+ bx + c</i>. Reference <a href = "https://tutorme.com/blog/post/quadratic-regression/">this source</a>
-	 * to see how the quadratic regression is performed.
+	 * to see how the quadratic regression is performed. This is the polynomial regression of degree 2 (see <code>polynomialRegression()</code>).
 	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
 	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
 	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>c</i>}
 	 */
 	public static double[] quadraticRegression(double[] dataX, double[] dataY)
 	{
-		double[]x4 = new double[dataX.length];
-		double[]x3 = new double[dataX.length];
-		double[]x2 = new double[dataX.length];
-		double[]x2y = new double[dataX.length];
-		double[]xy = new double[dataX.length];
-		
-		for(int i = 0; i < dataX.length; i++)
-		{
-			x4[i] = Math.pow(dataX[i],4);
-			x3[i] = Math.pow(dataX[i],3);
-			x2[i] = Math.pow(dataX[i],2);
-			x2y[i] = x2[i]*dataY[i];
-			xy[i] = dataX[i]*dataY[i];
-		}
-		
-		//determines a system of three linear equations and solves them for the values a,b, and c
-		double[] arg1 = {summation(x4),summation(x3),summation(x2),summation(x2y)};
-		double[] arg2 = {summation(x3),summation(x2),summation(dataX),summation(xy)};
-		double[] arg3 = {summation(x2),summation(dataX),dataX.length, summation(dataY)};
-		double[] quadraticArguments = threeLinearEqSolver(arg1,arg2,arg3);
-		return quadraticArguments;
+		return polynomialRegression(dataX, dataY, QUADRATIC);
+	}
+	
+	/**
+	 * Determines a curve of best fit <i>y = ax<sup>2</sup>+ bx + c</i> (see <code>quadraticRegression(double[], double[])</code>) into an array supplied by the
+	 * caller, without allocating. It is solved from the centered moments of the data held in a workspace (see <code>MomentAccumulator.quadraticRegression()</code>),
+	 * as <code>fitAll()</code> does, rather than by the Cholesky decomposition of <code>PolynomialRegression</code>, so the last digits may differ.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>c</i>}
+	 * @param workspace the workspace whose accumulator holds the moments
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] quadraticRegression(double[] dataX, double[] dataY, double[] arguments, AnalysisWorkspace workspace)
+	{
+		return moments(dataX, dataY, workspace.moments()).quadraticRegression(arguments);
+	}
+	
+	/**
+	 * Determines a polynomial curve of best fit of any degree <i>k</i> for the graph <i>y</i> vs <i>x</i>, represented by the equation
+	 * <i>y = a<sub>k</sub>x<sup>k</sup> + ... + a<sub>1</sub>x + a<sub>0</sub></i>. The normal equations are solved for <i>x</i> centered and scaled onto [-1, 1] with a
+	 * Cholesky decomposition (see <code>PolynomialRegression</code>), which stays accurate when the values of <i>x</i> are large.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param degree the highest power of <i>x</i>, which must be at least 1
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a<sub>k</sub></i>, ..., <i>a</i><sub>1</sub>, <i>a</i><sub>0</sub>}
+	 */
+	public static double[] polynomialRegression(double[] dataX, double[] dataY, int degree)
+	{
+		return PolynomialRegression.fit(dataX, dataY, degree).getArguments();
+	}
+	
+	/**
+	 * Determines a linear model of best fit with more than one independent variable, represented by the equation <i>y = b<sub>1</sub>x<sub>1</sub> + ... + b<sub>p</sub>x<sub>p</sub> + b<sub>0</sub></i>
+	 * (see <code>MultipleRegression</code>, which also finds the standard errors of the coefficients and R<sup>2</sup>).
+	 * @param columns an array with one array of type <code>double</code> for each independent variable, all the same length as <code>dataY</code>
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the model of best fit, represented as {<i>b</i><sub>1</sub>, ..., <i>b<sub>p</sub></i>, <i>b</i><sub>0</sub>}
+	 */
+	public static double[] multipleRegression(double[][] columns, double[] dataY)
+	{
+		return MultipleRegression.fit(columns, dataY).getCoefficients();
 	}
 	
+	/**
+	 * Determines a curve of best fit for the graph <i>y</i> vs <i>x</i> where <i>y</i> is the dependent variable and <i>x</i> is the independent variable.
+	 * The curve of best fit can be represented by the equation <i>y = ax<sup>b</sup></i>, and minimizes the summation of the squared residuals of <i>y</i>. It is found
+	 * with the Levenberg-Marquardt method starting from the log-log method (see <code>NonlinearRegression</code>, which also limits the number of iterations and the time taken).
+	 * Every <i>x</i> must be greater than 0.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>r</i>}, where <i>r</i> is the square root of R<sup>2</sup>, negative if <i>y</i> decreases as <i>x</i> increases
+	 */
+	public static double[] powerRegression(double[] dataX, double[]dataY)
+	{
+		return NonlinearRegression.fit(dataX, dataY, POWER).getArguments();
+	}
+
+	/**
+	 * Determines a curve of best fit <i>y = ax<sup>b</sup></i> by least squares (see <code>powerRegression(double[], double[])</code>) into an array supplied by the
+	 * caller, without allocating. The log-log method, ln<i>x</i> and the sums of each iteration are held in a workspace.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>r</i>}
+	 * @param workspace the workspace whose buffers are reused
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] powerRegression(double[] dataX, double[] dataY, double[] arguments, AnalysisWorkspace workspace)
+	{
+		NonlinearRegression.fit(dataX, dataY, POWER, arguments, workspace);
+		return arguments;
+	}
+
+	/**
+	 * Determines a curve of best fit for the graph <i>y</i> vs <i>x</i> where <i>y</i> is the dependent variable and <i>x</i> is the independent variable.
+	 * The curve of best fit can be represented by the equation <i>y = ab<sup>x</sup></i>, and minimizes the summation of the squared residuals of <i>y</i>. It is found
+	 * with the Levenberg-Marquardt method starting from the log method (see <code>NonlinearRegression</code>, which also limits the number of iterations and the time taken).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>r</i>}, where <i>r</i> is the square root of R<sup>2</sup>, negative if <i>y</i> decreases as <i>x</i> increases
+	 */
+	public static double[] exponentialRegression(double[] dataX, double[]dataY)
+	{
+		return NonlinearRegression.fit(dataX, dataY, EXPONENTIAL).getArguments();
+	}
+
+	/**
+	 * Determines a curve of best fit <i>y = ab<sup>x</sup></i> by least squares (see <code>exponentialRegression(double[], double[])</code>) into an array supplied
+	 * by the caller, without allocating. The log method and the sums of each iteration are held in a workspace.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>r</i>}
+	 * @param workspace the workspace whose buffers are reused
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] exponentialRegression(double[] dataX, double[] dataY, double[] arguments, AnalysisWorkspace workspace)
+	{
+		NonlinearRegression.fit(dataX, dataY, EXPONENTIAL, arguments, workspace);
+		return arguments;
+	}
+
 	/**
 	 * Determines a curve of best fit for the graph <i>y</i> vs <i>x</i> where <i>y</i> is the dependent variable and <i>x</i> is the independent variable.
 	 * The curve of best fit can be represented by the equation <i>y = ax<sup>b</sup></i>. Reference <a href = "https://www.real-statistics.com/regression/power-regression/">this source</a>
 	 * to see how the power regression is performed. Note: this uses the log-log method which performs a linear regression on ln<i>y</i> vs. ln<i>x</i> before expressing
-	 * <i>y</i> in terms of a power function of <i>x</i>. This is not the most accurate power regression model.
+	 * <i>y</i> in terms of a power function of <i>x</i>. This is not the most accurate power regression model (see <code>powerRegression()</code>).
 	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
 	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
 	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>PCC</i>}. The PCC is for the linear regression of ln<i>y</i> vs ln<i>x</i>
 	 */
-	public static double[] powerRegression(double[] dataX, double[]dataY)
+	public static double[] logPowerRegression(double[] dataX, double[]dataY)
 	{
-		double[] lnX = new double[dataX.length];
-		double[] lnY = new double[dataY.length];
-		
-		for(int i = 0; i < lnY.length; i++)
-		{
-			lnX[i] = Math.log(dataX[i]);
-			lnY[i] = Math.log(dataY[i]);
-		}
-		double[] regLine = linearRegression(lnX,lnY);
-		double[] powArgs = {Math.pow(Math.E, regLine[1]),regLine[0],rFactor(lnX,lnY)};
-		return powArgs;
+		return moments(dataX,dataY).powerRegression();
+	}
+
+	/**
+	 * Determines a curve of best fit <i>y = ax<sup>b</sup></i> using the log-log method (see <code>logPowerRegression(double[], double[])</code>) into an array
+	 * supplied by the caller, without allocating.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>PCC</i>}
+	 * @param workspace the workspace whose accumulator holds the moments
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] logPowerRegression(double[] dataX, double[] dataY, double[] arguments, AnalysisWorkspace workspace)
+	{
+		return moments(dataX, dataY, workspace.moments()).powerRegression(arguments);
 	}
 
 	/**
 	 * Determines a curve of best fit for the graph <i>y</i> vs <i>x</i> where <i>y</i> is the dependent variable and <i>x</i> is the independent variable.
 	 * The curve of best fit can be represented by the equation <i>y = ab<sup>x</sup></i>. Reference <a href = "https://www.real-statistics.com/regression/power-regression/">this source</a>
 	 * to see how the exponential regression is performed. Note: this uses the log method which performs a linear regression on ln<i>y</i> vs. <i>x</i> before expressing <i>y</i> in terms
-	 * of an exponential function of <i>x</i>. This is not the most accurate exponential regression model.
+	 * of an exponential function of <i>x</i>. This is not the most accurate exponential regression model (see <code>exponentialRegression()</code>).
 	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
 	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
 	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>PCC</i>}. The PCC is for the linear regression of ln<i>y</i> vs <i>x</i>
 	 */
-	public static double[] exponentialRegression(double[] dataX, double[]dataY)
+	public static double[] logExponentialRegression(double[] dataX, double[]dataY)
 	{
-		double[]logY = new double[dataY.length];
-		
-		for(int i = 0; i < logY.length; i++)
-		{
-			logY[i] = Math.log(dataY[i]);
-		}
-		double[] regLine = linearRegression(dataX,logY);
-		double[] expArgs = {Math.pow(Math.E,regLine[1]), Math.pow(Math.E,regLine[0]),rFactor(dataX,logY)};
-		return expArgs;
+		return moments(dataX,dataY).exponentialRegression();
+	}
+
+	/**
+	 * Determines a curve of best fit <i>y = ab<sup>x</sup></i> using the log method (see <code>logExponentialRegression(double[], double[])</code>) into an array
+	 * supplied by the caller, without allocating.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>PCC</i>}
+	 * @param workspace the workspace whose accumulator holds the moments
+	 * @return double[] - <code>arguments</code>
+	 */
+	public static double[] logExponentialRegression(double[] dataX, double[] dataY, double[] arguments, AnalysisWorkspace workspace)
+	{
+		return moments(dataX, dataY, workspace.moments()).exponentialRegression(arguments);
 	}	
 	/**
 	 * Solves for a value of <i>x</i> or <i>y</i> given a function and the value of either one of those variables. Can only solve for linear, quadratic, power,
@@ -447,7 +648,7 @@ public class AnalysisLibrary
 	 * @param regIndex an integer used to refer to the regression model. Ranges from 1 - 4 where 1: Linear, 2: Quadratic, 3: Power, 4: Exponential
 	 * @param isY state of if the equation is solving for <i>y</i>. <code>true</code> if solving for <i>y</i> and <code>false</code> if solving for <i>x</i>
 	 * @param variable value of the given variable (<i>x</i> if solving for <i>y</i>, <i>y</i> if solving for <i>x</i>)
-	 * @return double the solved value
+	 * @return double the solved value, or <code>NaN</code> if there is none (see <code>predict()</code> and <code>inverse()</code>, which solve many values at once)
 	 */
 	public static double computeFunction(double[] args, int regIndex, boolean isY, double variable)
 	{
@@ -457,64 +658,168 @@ public class AnalysisLibrary
 			if(regIndex == 1) //linear
 				return (args[0] * variable + args[1]);
 			else if(regIndex == 2) //quadratic
-				return (args[0] * Math.pow(variable,2) + args[1] * variable + args[2]);
-			else if(regIndex == 3) //power
-				return (args[0] * Math.pow(variable,args[1]));
-			else if(regIndex == 4) //exponential
-				return (args[0] * Math.pow(args[1],variable));
+				return ((args[0] * variable + args[1]) * variable + args[2]);
+			else if(regIndex == 3) //power: only defined for x >= 0
+				return (args[0] * Math.exp(args[1] * Math.log(variable)));
+			else if(regIndex == 4) //exponential: only defined for b > 0
+				return (args[0] * Math.exp(variable * Math.log(args[1])));
 		}
 		
 		//solves for x
 		else
 		{
 			if(regIndex == 1) //linear
-				return (variable - args[1])/args[0];
+				return (variable - args[1]) * inverseOf(args[0]);
+			else if(regIndex == 2 && args[0] == 0.0) //quadratic with no x^2 term
+				return (variable - args[2]) * inverseOf(args[1]);
 			else if(regIndex == 2) //quadratic: only takes the greater x-value to ensure it is greater than the last x-value graphed
-				return (-1*args[1] + Math.sqrt(Math.pow(args[1],2) - 4*args[0]*(args[2]- (variable + 0.5))))/(2*args[0]);
+				return (-1*args[1] + Math.sqrt(args[1] * args[1] - 4*args[0]*(args[2] - variable)))/(2*args[0]);
 			else if(regIndex == 3) //power
-				return (Math.pow(Math.E,Math.log(variable/args[0])/args[1]));
+				return (Math.exp(Math.log(variable/args[0]) * inverseOf(args[1])));
 			else if(regIndex == 4) //exponential
-				return (Math.log((variable/args[0])/Math.log(args[1])));
+				return (Math.log(variable/args[0]) * inverseOf(Math.log(args[1])));
 		}
-		return 0.0;
+		return Double.NaN;
 	}
 	
 	/**
-	 * Solves a system of three linear equations (used in the quadratic regression), each of the form Ax + By + C = 0 where A,B, and C are the unknowns.
-	 * @param eq1 - the first equation in the system, arguments are listed as {<i>x<sub>1</sub></i>,<i>y<sub>1</sub></i>}
-	 * @param eq2 - the second equation in the system, arguments are listed as {<i>x<sub>2</sub></i>,<i>y<sub>2</sub></i>}
-	 * @param eq3 - the third equation in the system, arguments are listed as {<i>x<sub>3</sub></i>,<i>y<sub>3</sub></i>}
-	 * @return double[] - an array represented as {A,B,C}
+	 * Solves for <i>y</i> at many values of <i>x</i> at once, the same as <code>computeFunction()</code>. The model is chosen once rather than for each value, and the loop
+	 * for each model has no branches, computing powers by multiplication or from logarithms found once. Values of <i>x</i> outside the domain of the model
+	 * (<i>x</i> &lt; 0 for the power model, or any <i>x</i> for an exponential model with <i>b</i> &le; 0) give <code>NaN</code>.
+	 * @param args the arguments returned after a regression is performed, representing constants in the equation
+	 * @param regIndex an integer used to refer to the regression model. Ranges from 1 - 4 where 1: Linear, 2: Quadratic, 3: Power, 4: Exponential
+	 * @param dataX the values of <i>x</i>
+	 * @param result an array at least as long as <code>dataX</code>, which is filled with the values of <i>y</i>. May be <code>dataX</code> itself.
 	 */
-	private static double[] threeLinearEqSolver(double[] eq1, double[] eq2, double[] eq3)
+	public static void predict(double[] args, int regIndex, double[] dataX, double[] result)
 	{
-		double a = 0.0;
-		double b = 0.0;
-		double c = 0.0;
-		double[] subEq1 = new double[eq1.length - 1];
-		
-		//isolates a value for B in terms of C using elimination of A with eq. 1 and 2, and then rearranging
-		for(int j = 1; j < eq1.length; j++)
+		int length = dataX.length;
+		if(result.length < length)
+			throw new IllegalArgumentException("result must be at least as long as dataX.");
+
+		if(regIndex == LINEAR)
 		{
-			subEq1[j-1] = eq2[0]* eq1[j] - eq1[0] * eq2[j];
+			double slope = args[0];
+			double intercept = args[1];
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = slope * dataX[i] + intercept;
+			}
 		}
-		double[] bSol = {subEq1[1] * -1/subEq1[0], subEq1[2]/subEq1[0]};
-		
-		//substituting the value of B, using eq.1 and 3, eliminate A and solve for C
-		double[] subEq2 = {eq1[0],bSol[0]*eq1[1] + eq1[2],eq1[3]-bSol[1]*eq1[1]};
-		double[] subEq3 = {eq3[0],bSol[0]*eq3[1] + eq3[2],eq3[3]-bSol[1]*eq3[1]};
-		double[] cSol = {subEq2[1] * subEq3[0] - subEq3[1] * subEq2[0], subEq2[2] * subEq3[0] - subEq3[2] * subEq2[0]};
-		c = cSol[1]/cSol[0];
-		
-		b = bSol[0] * c + bSol[1]; //solve for B by substituting the value of C
-		a = (eq1[3] - eq1[2]*c- eq1[1]*b)/eq1[0]; //solve for A by substituting the value of B and C
-		double[] finalSol = {a,b,c};
-		return finalSol;
+		else if(regIndex == QUADRATIC)
+		{
+			double a = args[0];
+			double b = args[1];
+			double c = args[2];
+			for(int i = 0; i < length; i++)
+			{
+				double x = dataX[i];
+				result[i] = (a * x + b) * x + c;
+			}
+		}
+		else if(regIndex == POWER)
+		{
+			double a = args[0];
+			double b = args[1];
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = a * Math.exp(b * Math.log(dataX[i]));
+			}
+		}
+		else if(regIndex == EXPONENTIAL)
+		{
+			double a = args[0];
+			double lnB = Double.NaN;
+			if(args[1] > 0.0)
+				lnB = Math.log(args[1]);
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = a * Math.exp(dataX[i] * lnB);
+			}
+		}
+		else
+			throw new IllegalArgumentException("Regression index must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential.");
+	}
+	
+	/**
+	 * Solves for <i>x</i> at many values of <i>y</i> at once, the same as <code>computeFunction()</code>. The model is chosen once rather than for each value, and the loop
+	 * for each model has no branches. Values of <i>y</i> that the model never reaches (below the vertex of an upward quadratic, or of the opposite sign to <i>a</i>
+	 * for the power and exponential models), and every value for a model that is constant in <i>x</i>, give <code>NaN</code>. For the quadratic model, the greater
+	 * of the two values of <i>x</i> is found.
+	 * @param args the arguments returned after a regression is performed, representing constants in the equation
+	 * @param regIndex an integer used to refer to the regression model. Ranges from 1 - 4 where 1: Linear, 2: Quadratic, 3: Power, 4: Exponential
+	 * @param dataY the values of <i>y</i>
+	 * @param result an array at least as long as <code>dataY</code>, which is filled with the values of <i>x</i>. May be <code>dataY</code> itself.
+	 */
+	public static void inverse(double[] args, int regIndex, double[] dataY, double[] result)
+	{
+		int length = dataY.length;
+		if(result.length < length)
+			throw new IllegalArgumentException("result must be at least as long as dataY.");
+
+		if(regIndex == LINEAR || (regIndex == QUADRATIC && args[0] == 0.0))
+		{
+			//the quadratic model without an x^2 term is the line y = bx + c
+			double slope = args[regIndex - 1];
+			double intercept = args[regIndex];
+			double inverseSlope = inverseOf(slope);
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = (dataY[i] - intercept) * inverseSlope;
+			}
+		}
+		else if(regIndex == QUADRATIC)
+		{
+			//x = (-b + sqrt(b^2 - 4ac + 4ay))/2a, where the square root of a negative discriminant is NaN
+			double a = args[0];
+			double b = args[1];
+			double discriminant = b * b - 4.0 * a * args[2];
+			double fourA = 4.0 * a;
+			double inverseTwoA = 1.0/(2.0 * a);
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = (Math.sqrt(discriminant + fourA * dataY[i]) - b) * inverseTwoA;
+			}
+		}
+		else if(regIndex == POWER)
+		{
+			double inverseA = 1.0/args[0];
+			double inverseB = inverseOf(args[1]);
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = Math.exp(Math.log(dataY[i] * inverseA) * inverseB);
+			}
+		}
+		else if(regIndex == EXPONENTIAL)
+		{
+			double inverseA = 1.0/args[0];
+			double inverseLnB = inverseOf(Math.log(args[1]));
+			for(int i = 0; i < length; i++)
+			{
+				result[i] = Math.log(dataY[i] * inverseA) * inverseLnB;
+			}
+		}
+		else
+			throw new IllegalArgumentException("Regression index must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential.");
+	}
+	
+	/**
+	 * Finds the reciprocal of a coefficient that a value is divided by when solving for <i>x</i>, which is <code>NaN</code> rather than infinite if the coefficient
+	 * is 0, as <i>x</i> then has no value (or every value).
+	 * @param coefficient the coefficient
+	 * @return double - 1 divided by the coefficient, or <code>NaN</code> if it is 0
+	 */
+	private static double inverseOf(double coefficient)
+	{
+		if(coefficient == 0.0)
+			return Double.NaN;
+		return 1.0/coefficient;
 	}
 	
 	/**
 	 * Rounds a decimal number to a preferred number of places and returns it as a <code>String</code>. The function rounds down for a number that is less than 5, and rounds
-	 * up for a number greater or equal to 5.
+	 * up for a number greater or equal to 5. The digits are found numerically and written into a buffer kept by each thread, as labels are rounded many
+	 * times each time the graph is drawn, and the decimal point is always "." so that a label can be read back by <code>Double.parseDouble()</code>.
 	 * @param num unrounded decimal value
 	 * @param places the number of decimal places a value is rounded to, which must be greater or equal to 0. If the number is smaller than
 	 * the <code>places</code> (for.ex rounding 0.0000412 to 2 decimal places, the number is rounded to 1 significant digit (so 0.0000412 would be rounded to 0.00004).
@@ -522,52 +827,107 @@ public class AnalysisLibrary
 	 */
 	public static String roundDecimal(double num, int places)
 	{
-		//determines the number of whole digits of the number
-		int numWholeDigits = (int)Math.log10(num) + 1;
-		String wholeDigits = formatString(numWholeDigits -1, "#");
-		wholeDigits = wholeDigits+"0";
-		String dp = "0";
-		double numLog;
+		int decimals = places;
 		
 		/*if the 0 < abs.value of num < 1, then the log10 of the num is taken. If this value is greater
 		than the number of places, then the num is rounded to this value, to ensure that no zero values are
 		shown*/
-		if(num < 0)
-			numLog = Math.log10(num * -1);
-		else
-			numLog = Math.log10(num);
-		
+		double numLog = Math.log10(Math.abs(num));
 		if(numLog < (places * -1) && num < 0)
-			dp = formatString((int)(-1*numLog + 1),"0");
-		else
-			dp = formatString(places,"0");
+			decimals = (int)(-1*numLog + 1);
 		
-		//sets a rounding pattern for how the decimal is rounded and formats it as a String
-		String roundedPattern = wholeDigits + "." + dp;
-		DecimalFormat roundPattern = new DecimalFormat(roundedPattern);
-		roundPattern.setRoundingMode(java.math.RoundingMode.HALF_UP);
-		String decFormat = roundPattern.format(num);
+		String decFormat = formatHalfUp(num, decimals);
 		
-		if(places == 0)
+		//with 0 places, the last digit of a number rounded to 1 significant digit is removed
+		if(places == 0 && decimals > 0)
 			return decFormat.substring(0,decFormat.length() -1);
 		return decFormat;
 	}
 	
 	/**
-	 * Takes a <code>String</code> and creates a new <code>String</code> that is equivalent to the first <code>String</code> multiplied by a number of times. 
-	 * (E.g. formatString("Hi",2) -> HiHi)
-	 * @param num - number of times a given <code>String</code> is multiplied
-	 * @param string - The given <code>String</code> to be formatted
-	 * @return String - a new String where <code>string</code> is multiplied <code>num</code> times
+	 * Writes a number rounded half up (away from 0) to a number of decimal places, always showing every decimal place, the same as a <code>DecimalFormat</code>
+	 * with a pattern such as "0.00". The number is scaled by an exact power of 10, and the rounding error of the scaling is found with a fused multiply-add, so
+	 * a half is decided by the exact value of the <code>double</code> (for ex. 1.005, which is slightly less than 1.005, is rounded to 1.00). The digits are
+	 * then written into a buffer without creating any other object. A number that is not finite, too large to have a fraction once scaled or rounded to
+	 * more than 22 places is written by a <code>DecimalFormat</code> instead.
+	 * @param num the number
+	 * @param decimals the number of decimal places
+	 * @return String - the rounded number
+	 */
+	private static String formatHalfUp(double num, int decimals)
+	{
+		if(decimals < 0 || decimals >= POWERS_OF_TEN.length)
+			return roundingFormat(decimals).format(num);
+		double magnitude = Math.abs(num);
+		double scale = POWERS_OF_TEN[decimals];
+		double scaled = magnitude * scale;
+		if(!(scaled < MAX_SCALED)) //also true for NaN
+			return roundingFormat(decimals).format(num);
+		
+		//the exact product is scaled + error, and the fraction of scaled is found exactly, so only a true half with no error below it rounds up
+		double error = Math.fma(magnitude, scale, -scaled);
+		double whole = Math.floor(scaled);
+		double fraction = scaled - whole;
+		long digits = (long)whole;
+		if(fraction > 0.5 || (fraction == 0.5 && error >= 0.0))
+			digits++;
+		
+		//writes the digits from the last decimal place to the first digit
+		char[] buffer = roundingDigits.get();
+		int position = buffer.length;
+		for(int i = 0; i < decimals; i++)
+		{
+			buffer[--position] = (char)('0' + digits % 10);
+			digits = digits/10;
+		}
+		if(decimals > 0)
+			buffer[--position] = '.';
+		do
+		{
+			buffer[--position] = (char)('0' + digits % 10);
+			digits = digits/10;
+		}
+		while(digits > 0);
+		if(num < 0.0 || (num == 0.0 && 1.0/num < 0.0)) //DecimalFormat keeps the sign of a negative number rounded to 0, and of -0.0
+			buffer[--position] = '-';
+		return new String(buffer, position, buffer.length - position);
+	}
+	
+	/**
+	 * Creates the rounding pattern for a number of decimal places, which rounds half up and always shows every decimal place, for the numbers that
+	 * <code>formatHalfUp()</code> does not round itself. Its symbols are those of <code>Locale.ROOT</code>, the same as the numbers it writes.
+	 * @param decimals the number of decimal places
+	 * @return DecimalFormat - the rounding pattern
 	 */
-	private static String formatString(int num, String string)
+	private static DecimalFormat roundingFormat(int decimals)
 	{
-		String newString = "";
-		for(int i = 0; i < num; i++)
+		StringBuilder roundedPattern = new StringBuilder(Math.max(decimals, 0) + 2);
+		roundedPattern.append('0');
+		if(decimals > 0)
+			roundedPattern.append('.');
+		for(int i = 0; i < decimals; i++)
 		{
-			newString = newString + string;
+			roundedPattern.append('0');
 		}
-		return newString;
+		DecimalFormat roundPattern = new DecimalFormat(roundedPattern.toString(), DecimalFormatSymbols.getInstance(Locale.ROOT));
+		roundPattern.setRoundingMode(java.math.RoundingMode.HALF_UP);
+		return roundPattern;
+	}
+	
+	/**
+	 * Rounds a decimal number to the nearest whole number, rounding halves away from 0 the same as <code>roundDecimal()</code> with 0 places, but without
+	 * creating a <code>String</code>. Used for coordinates on the graph, which are rounded for every point drawn.
+	 * @param num unrounded decimal value
+	 * @return double - the rounded whole number, or <code>NaN</code> if <code>num</code> is <code>NaN</code>
+	 */
+	public static double roundHalfUp(double num)
+	{
+		//the fraction of a double is found exactly, so a value just below a half is never rounded up
+		double magnitude = Math.abs(num);
+		double whole = Math.floor(magnitude);
+		if(magnitude - whole >= 0.5)
+			whole = whole + 1.0;
+		return Math.copySign(whole, num);
 	}
 
 	/**
@@ -0,0 +1,144 @@
+package regressionAnalysisCalc;
+/**
+ * Analysis Workspace holds the scratch buffers used by the allocation-free methods of <code>AnalysisLibrary</code> and <code>OrderStatistics</code>, so that
+ * analyzing many data sets does not create new temporary arrays for each one. Each buffer grows to the largest size requested and is then reused.
+ * A workspace must only be used by one thread at a time; <code>forCurrentThread()</code> returns a separate workspace for each thread. Note that the
+ * buffers keep their largest size for as long as the workspace is reachable.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class AnalysisWorkspace
+{
+	//a separate workspace for each thread that calls forCurrentThread()
+	private static final ThreadLocal<AnalysisWorkspace> threadWorkspace = ThreadLocal.withInitial(AnalysisWorkspace::new);
+
+	private double[] values = new double[0]; //copy of the data that is reordered by selection
+	private long[] keys = new long[0]; //sortable keys used by the radix sort
+	private long[] keyBuffer = new long[0]; //second array of keys that the radix sort distributes into
+	private int[][] radixCounts; //histograms of each digit of the radix sort, created when first needed
+	private final double[] quartiles = new double[3]; //{Q1, Q3, IQR} found by describe()
+
+	//buffers of the allocation-free regressions of AnalysisLibrary, which are created when first needed except for the small ones
+	private MomentAccumulator moments; //moments of the data set being fitted
+	private double[] logValues = new double[0]; //ln x of the data fitted to the power model
+	private final double[][] nonlinearSums = new double[2][6]; //sums at the current and trial arguments of each iteration of a nonlinear fit
+	private final double[] nonlinearStart = new double[3]; //starting arguments of a nonlinear fit
+	private final double[] nonlinearResult = new double[NonlinearRegression.RESULT_LENGTH]; //arguments and other values of a nonlinear fit
+
+	/**
+	 * Returns the workspace of the current thread, creating it the first time it is used by that thread.
+	 * @return AnalysisWorkspace - the workspace of the current thread
+	 */
+	public static AnalysisWorkspace forCurrentThread()
+	{
+		return threadWorkspace.get();
+	}
+
+	/**
+	 * Copies data into the reusable value buffer, which is grown if it is shorter than <code>data</code>.
+	 * @param data an array of type <code>double</code>
+	 * @return double[] - the value buffer, where the first <code>data.length</code> values are a copy of <code>data</code>
+	 */
+	double[] copyOf(double[] data)
+	{
+		if(values.length < data.length)
+			values = new double[data.length];
+		System.arraycopy(data, 0, values, 0, data.length);
+		return values;
+	}
+
+	/**
+	 * Returns the first array of keys for the radix sort, grown to at least the given length.
+	 * @param length the number of keys needed
+	 * @return long[] - an array of at least <code>length</code> keys
+	 */
+	long[] keys(int length)
+	{
+		if(keys.length < length)
+			keys = new long[length];
+		return keys;
+	}
+
+	/**
+	 * Returns the second array of keys for the radix sort, grown to at least the given length.
+	 * @param length the number of keys needed
+	 * @return long[] - an array of at least <code>length</code> keys
+	 */
+	long[] keyBuffer(int length)
+	{
+		if(keyBuffer.length < length)
+			keyBuffer = new long[length];
+		return keyBuffer;
+	}
+
+	/**
+	 * Returns the histograms of the radix sort, one for each of the 8 digits of a key.
+	 * @return int[][] - an 8 &times; 256 array of counts, which the caller must clear
+	 */
+	int[][] radixCounts()
+	{
+		if(radixCounts == null)
+			radixCounts = new int[8][256];
+		return radixCounts;
+	}
+
+	/**
+	 * Returns the array that holds the quartiles found by <code>AnalysisLibrary.describe()</code>.
+	 * @return double[] - an array of 3 values
+	 */
+	double[] quartiles()
+	{
+		return quartiles;
+	}
+
+	/**
+	 * Returns the reusable accumulator of the moments of a data set, creating it the first time it is needed. The buffers it uses for
+	 * <code>MomentAccumulator.addAll()</code> are kept between data sets.
+	 * @return MomentAccumulator - the accumulator, which holds the points of the last data set it was used for
+	 */
+	MomentAccumulator moments()
+	{
+		if(moments == null)
+			moments = new MomentAccumulator();
+		return moments;
+	}
+
+	/**
+	 * Returns the buffer that holds ln<i>x</i> for a power fit, grown to at least the given length.
+	 * @param length the number of values needed
+	 * @return double[] - an array of at least <code>length</code> values
+	 */
+	double[] logValues(int length)
+	{
+		if(logValues.length < length)
+			logValues = new double[length];
+		return logValues;
+	}
+
+	/**
+	 * Returns the arrays that hold the sums of each iteration of a power or exponential fit (see <code>NonlinearRegression</code>).
+	 * @return double[][] - 2 arrays of 6 values
+	 */
+	double[][] nonlinearSums()
+	{
+		return nonlinearSums;
+	}
+
+	/**
+	 * Returns the array that holds the starting arguments of a power or exponential fit.
+	 * @return double[] - an array of 3 values
+	 */
+	double[] nonlinearStart()
+	{
+		return nonlinearStart;
+	}
+
+	/**
+	 * Returns the array that holds the arguments, R<sup>2</sup> and the other values of a power or exponential fit.
+	 * @return double[] - an array of <code>NonlinearRegression.RESULT_LENGTH</code> values
+	 */
+	double[] nonlinearResult()
+	{
+		return nonlinearResult;
+	}
+}
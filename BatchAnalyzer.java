@@ -0,0 +1,636 @@
+package regressionAnalysisCalc;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+/**
+ * Batch Analyzer analyzes many data files without the interface, so that the analysis can be run from a script. Each file, in the format of
+ * <code>FileManager</code> (see README.txt), is read by <code>DataFileParser</code> and summarized with the same statistics and regression models shown by
+ * <code>GraphingTool</code>, unrounded: the summary of each variable, the covariance and every model of <code>ModelComparison</code>. The summaries of every
+ * file are written together as CSV, one row for each file, or as a JSON array. It is run with the command
+ * <pre>java regressionAnalysisCalc.BatchAnalyzer [-threads n] [-format csv|json] [-output file] [-stream] directory|file|glob...</pre>
+ * where a directory stands for every text file (.txt) in it, and a glob (for ex. <code>"data/**.txt"</code>, quoted so it is not expanded by the shell)
+ * for every file it matches. The summaries are written to standard output unless an output file is given. With <code>-stream</code>, each file is streamed
+ * rather than read into memory (see <code>StreamingAnalysis</code>), so files larger than the heap can be analyzed, with estimated medians and quartiles and
+ * the power and exponential models of the log methods. Their R<sup>2</sup>, adjusted R<sup>2</sup> and AIC are still measured against <i>y</i>, so every column
+ * has the same meaning with or without <code>-stream</code>.
+ *
+ * <p>The files are read and analyzed at the same time on a fixed number of threads, one file per thread, so no more than that many files are held in memory
+ * at once. Each file is analyzed independently with its own parser and the workspace of its thread (see <code>AnalysisWorkspace</code>), so the threads share
+ * nothing and the number of files analyzed per second grows with the number of threads, up to the number of cores. The summaries are written in the order the
+ * files were found, whatever order they are finished in. A file that cannot be read or analyzed is written with its error rather than stopping the batch.</p>
+ *
+ * <p>No class of <code>java.awt</code> or <code>javax.swing</code> is used, so the analyzer can run on a machine with no display.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class BatchAnalyzer
+{
+	//integers used to refer to each output format
+	public static final int CSV = 1;
+	public static final int JSON = 2;
+
+	private static final String[] MODEL_NAMES = {"", "linear", "quadratic", "power", "exponential"}; //names of each regression model, indexed by its type
+	private static final String[][] ARGUMENT_NAMES = {{}, {"m", "b"}, {"a", "b", "c"}, {"a", "b"}, {"a", "b"}}; //names of the coefficients of each model
+	private static final String[] STATISTIC_NAMES = {"mean", "median", "min", "max", "range", "q1", "q3", "iqr", "variance", "stdev"}; //summary of each variable
+	private static final String[] AXIS_NAMES = {"x_name", "y_name", "x_unit", "y_unit"}; //names and units in the header
+	private static final String USAGE = "Usage: java regressionAnalysisCalc.BatchAnalyzer [-threads n] [-format csv|json] [-output file] [-stream] directory|file|glob...";
+
+	private final String fileName; //path of the file
+	private final String error; //why the file could not be analyzed, or null
+	private final long numBadLines; //number of values that were not numbers
+	private final String[] axisInfo; //names and units of the variables
+	private final DescriptiveStatistics xStats; //summary of the independent variable
+	private final DescriptiveStatistics yStats; //summary of the dependent variable
+	private final double covariance; //covariance of the variables
+	private final ModelComparison models; //every fitted regression model
+
+	/**
+	 * Creates the summary of a file (see <code>analyze()</code>).
+	 * @param fileName the path of the file
+	 * @param error why the file could not be analyzed, or <code>null</code> if it was
+	 * @param numBadLines the number of values that were not numbers
+	 * @param axisInfo the names and units of the variables, or <code>null</code>
+	 * @param xStats the summary of the independent variable, or <code>null</code>
+	 * @param yStats the summary of the dependent variable, or <code>null</code>
+	 * @param covariance the covariance of the variables
+	 * @param models every fitted regression model, or <code>null</code>
+	 */
+	private BatchAnalyzer(String fileName, String error, long numBadLines, String[] axisInfo, DescriptiveStatistics xStats, DescriptiveStatistics yStats,
+		double covariance, ModelComparison models)
+	{
+		this.fileName = fileName;
+		this.error = error;
+		this.numBadLines = numBadLines;
+		this.axisInfo = axisInfo;
+		this.xStats = xStats;
+		this.yStats = yStats;
+		this.covariance = covariance;
+		this.models = models;
+	}
+
+	/**
+	 * Runs the analyzer from the command line (see the usage above). The exit status is 0 if every file was analyzed, 1 if any file could not be, and 2 if the
+	 * arguments are not valid or the summaries cannot be written.
+	 * @param args the options, followed by the directories, files and globs to analyze
+	 */
+	public static void main(String[] args)
+	{
+		int threads = Runtime.getRuntime().availableProcessors();
+		int format = CSV;
+		String output = null;
+		boolean streaming = false;
+		List<String> inputs = new ArrayList<String>();
+
+		//reads the options, which come before the inputs
+		try
+		{
+			for(int i = 0; i < args.length; i++)
+			{
+				if(args[i].equals("-threads") && i + 1 < args.length)
+					threads = Integer.parseInt(args[++i]);
+				else if(args[i].equals("-format") && i + 1 < args.length)
+					format = parseFormat(args[++i]);
+				else if(args[i].equals("-output") && i + 1 < args.length)
+					output = args[++i];
+				else if(args[i].equals("-stream"))
+					streaming = true;
+				else if(args[i].startsWith("-"))
+					throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+				else
+					inputs.add(args[i]);
+			}
+			if(threads < 1)
+				throw new IllegalArgumentException("The number of threads must be at least 1.");
+			if(inputs.isEmpty())
+				throw new IllegalArgumentException("No directory, file or glob was given.");
+		}
+		catch(IllegalArgumentException e) //includes NumberFormatException
+		{
+			System.err.println("ERROR: " + e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		try
+		{
+			List<Path> files = new ArrayList<Path>();
+			for(String input : inputs)
+				files.addAll(findFiles(input));
+
+			List<BatchAnalyzer> summaries = analyzeAll(files, threads, streaming);
+			boolean allAnalyzed = true;
+			for(BatchAnalyzer summary : summaries)
+				allAnalyzed &= summary.getError() == null;
+
+			Writer writer;
+			if(output == null)
+				writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+			else
+				writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8);
+			try
+			{
+				write(summaries, format, writer);
+			}
+			finally
+			{
+				if(output == null)
+					writer.flush();
+				else
+					writer.close();
+			}
+			System.exit(allAnalyzed ? 0 : 1);
+		}
+		catch(IOException | IllegalArgumentException e)
+		{
+			System.err.println("ERROR: " + e.getMessage());
+			System.exit(2);
+		}
+		catch(InterruptedException e)
+		{
+			System.err.println("ERROR: Interrupted.");
+			System.exit(2);
+		}
+	}
+
+	/**
+	 * Finds the integer used to refer to an output format.
+	 * @param name the name of the format, "csv" or "json"
+	 * @return int - <code>CSV</code> or <code>JSON</code>
+	 */
+	private static int parseFormat(String name)
+	{
+		if(name.equalsIgnoreCase("csv"))
+			return CSV;
+		else if(name.equalsIgnoreCase("json"))
+			return JSON;
+		throw new IllegalArgumentException("Format must be csv or json.");
+	}
+
+	/**
+	 * Finds the data files given by a directory, a file or a glob, sorted by path. A directory gives every text file (.txt) directly in it, the same files that
+	 * can be opened by <code>FileManager</code>. A glob (see <code>FileSystem.getPathMatcher()</code>) is matched against the path of every file below the
+	 * directories before its first wildcard, where "*" does not cross directories and "**" does.
+	 * @param input a path to a directory or file, or a glob
+	 * @return List&lt;Path&gt; - the data files, sorted by path
+	 * @throws IOException if a directory cannot be read
+	 */
+	public static List<Path> findFiles(String input) throws IOException
+	{
+		int wildcard = firstWildcard(input);
+
+		//a directory or a single file
+		if(wildcard < 0)
+		{
+			Path path = Paths.get(input);
+			if(!Files.isDirectory(path))
+			{
+				if(!Files.exists(path))
+					throw new IOException("Cannot find " + input + ".");
+				return List.of(path);
+			}
+			try(Stream<Path> entries = Files.list(path))
+			{
+				return entries.filter(entry -> Files.isRegularFile(entry) && entry.getFileName().toString().toLowerCase().endsWith(".txt"))
+					.sorted().collect(Collectors.toList());
+			}
+		}
+
+		//a glob, which is matched below the directories that have no wildcards
+		int separator = Math.max(input.lastIndexOf('/', wildcard), input.lastIndexOf(File.separatorChar, wildcard));
+		Path base = Paths.get(separator < 0 ? "." : input.substring(0, separator + 1));
+		String glob = input.substring(separator + 1);
+		PathMatcher matcher = base.getFileSystem().getPathMatcher("glob:" + glob);
+		int depth = glob.contains("**") ? Integer.MAX_VALUE : glob.split("[/\\\\]").length;
+
+		if(!Files.isDirectory(base))
+			throw new IOException("Cannot find " + base + ".");
+		try(Stream<Path> entries = Files.walk(base, depth))
+		{
+			return entries.filter(entry -> Files.isRegularFile(entry) && matcher.matches(base.relativize(entry)))
+				.sorted().collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Finds the first wildcard of a glob.
+	 * @param input a path or glob
+	 * @return int - the index of the first "*", "?", "[" or "{", or -1 if there is none
+	 */
+	private static int firstWildcard(String input)
+	{
+		for(int i = 0; i < input.length(); i++)
+		{
+			char c = input.charAt(i);
+			if(c == '*' || c == '?' || c == '[' || c == '{')
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Analyzes many data files at the same time on a fixed number of threads, reading each file into memory.
+	 * @param files the data files
+	 * @param threads the number of files analyzed at once
+	 * @return List&lt;BatchAnalyzer&gt; - the summary of each file, in the same order as <code>files</code>
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the files to be analyzed
+	 */
+	public static List<BatchAnalyzer> analyzeAll(List<Path> files, int threads) throws InterruptedException
+	{
+		return analyzeAll(files, threads, false);
+	}
+
+	/**
+	 * Analyzes many data files at the same time on a fixed number of threads.
+	 * @param files the data files
+	 * @param threads the number of files analyzed at once
+	 * @param streaming <code>true</code> if each file is streamed (see <code>analyzeStreaming()</code>), <code>false</code> if it is read into memory
+	 * @return List&lt;BatchAnalyzer&gt; - the summary of each file, in the same order as <code>files</code>
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the files to be analyzed
+	 */
+	public static List<BatchAnalyzer> analyzeAll(List<Path> files, int threads, boolean streaming) throws InterruptedException
+	{
+		if(threads < 1)
+			throw new IllegalArgumentException("The number of threads must be at least 1.");
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try
+		{
+			List<Future<BatchAnalyzer>> futures = new ArrayList<Future<BatchAnalyzer>>(files.size());
+			for(Path file : files)
+				futures.add(pool.submit(() -> streaming ? analyzeStreaming(file) : analyze(file)));
+
+			List<BatchAnalyzer> summaries = new ArrayList<BatchAnalyzer>(files.size());
+			for(int i = 0; i < files.size(); i++)
+			{
+				try
+				{
+					summaries.add(futures.get(i).get());
+				}
+				catch(ExecutionException e) //an error that was not expected while analyzing the file, such as running out of memory
+				{
+					summaries.add(failed(files.get(i), String.valueOf(e.getCause())));
+				}
+			}
+			return summaries;
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads and analyzes one data file. If the file cannot be read, has a header without three "@" characters or has no pairs of values, the summary holds
+	 * the error instead.
+	 * @param file the data file
+	 * @return BatchAnalyzer - the summary of the file
+	 */
+	public static BatchAnalyzer analyze(Path file)
+	{
+		DataFileParser parser;
+		try
+		{
+			parser = DataFileParser.parse(file);
+		}
+		catch(IOException e)
+		{
+			return failed(file, "Cannot read file: " + e.getMessage());
+		}
+
+		String[] axisInfo = parser.getAxisInfo();
+		if(axisInfo == null)
+			return failed(file, "Cannot format title.");
+		if(parser.getCount() == 0)
+			return failed(file, "File has no data.");
+
+		double[] dataX = parser.getIndependentValues().array();
+		double[] dataY = parser.getDependentValues().array();
+		AnalysisWorkspace workspace = AnalysisWorkspace.forCurrentThread();
+		return new BatchAnalyzer(file.toString(), null, parser.getNumBadLines(), axisInfo, AnalysisLibrary.describe(dataX, workspace),
+			AnalysisLibrary.describe(dataY, workspace), AnalysisLibrary.covariance(dataX, dataY), AnalysisLibrary.fitAll(dataX, dataY));
+	}
+
+	/**
+	 * Streams and analyzes one data file without holding its values in memory (see <code>StreamingAnalysis</code>). The median and quartiles are estimated,
+	 * and the power and exponential models are those of the log methods, measured against <i>y</i> in a second pass. If the file cannot be read, has a header without three "@" characters or has no
+	 * pairs of values, the summary holds the error instead.
+	 * @param file the data file
+	 * @return BatchAnalyzer - the summary of the file
+	 */
+	public static BatchAnalyzer analyzeStreaming(Path file)
+	{
+		StreamingAnalysis analysis;
+		try
+		{
+			analysis = StreamingAnalysis.run(file);
+		}
+		catch(IOException e)
+		{
+			return failed(file, "Cannot read file: " + e.getMessage());
+		}
+
+		String[] axisInfo = analysis.getAxisInfo();
+		if(axisInfo == null)
+			return failed(file, "Cannot format title.");
+		if(analysis.getCount() == 0)
+			return failed(file, "File has no data.");
+
+		return new BatchAnalyzer(file.toString(), null, analysis.getNumBadLines(), axisInfo, analysis.getXStats(), analysis.getYStats(),
+			analysis.getCovariance(), analysis.getModels());
+	}
+
+	/**
+	 * Creates the summary of a file that could not be analyzed.
+	 * @param file the data file
+	 * @param error why the file could not be analyzed
+	 * @return BatchAnalyzer - a summary holding only the error
+	 */
+	private static BatchAnalyzer failed(Path file, String error)
+	{
+		return new BatchAnalyzer(file.toString(), error, 0, null, null, null, Double.NaN, null);
+	}
+
+	/**
+	 * Writes the summaries of many files, which is not closed.
+	 * @param summaries the summaries (see <code>analyzeAll()</code>)
+	 * @param format 1 - CSV, with a header row and then one row for each file, 2 - JSON, an array with one object for each file
+	 * @param writer where the summaries are written
+	 * @throws IOException if the summaries cannot be written
+	 */
+	public static void write(List<BatchAnalyzer> summaries, int format, Writer writer) throws IOException
+	{
+		if(format == CSV)
+		{
+			writer.write(csvHeader());
+			writer.write('\n');
+			for(BatchAnalyzer summary : summaries)
+			{
+				writer.write(summary.toCsv());
+				writer.write('\n');
+			}
+		}
+		else if(format == JSON)
+		{
+			writer.write("[\n");
+			for(int i = 0; i < summaries.size(); i++)
+			{
+				writer.write(summaries.get(i).toJson());
+				writer.write(i < summaries.size() - 1 ? ",\n" : "\n");
+			}
+			writer.write("]\n");
+		}
+		else
+			throw new IllegalArgumentException("Format must be 1 - CSV, 2 - JSON.");
+	}
+
+	/**
+	 * Returns the header row of the CSV format, naming every column of <code>toCsv()</code>
+	 * @return String - the names of the columns, separated by commas
+	 */
+	public static String csvHeader()
+	{
+		StringBuilder header = new StringBuilder("file,error,count,bad_lines");
+		for(String axis : AXIS_NAMES)
+			header.append(',').append(axis);
+		for(String variable : new String[] {"x", "y"})
+		{
+			for(String statistic : STATISTIC_NAMES)
+				header.append(',').append(variable).append('_').append(statistic);
+		}
+		header.append(",covariance");
+		for(int type = AnalysisLibrary.LINEAR; type <= AnalysisLibrary.EXPONENTIAL; type++)
+		{
+			String model = MODEL_NAMES[type];
+			for(String argument : ARGUMENT_NAMES[type])
+				header.append(',').append(model).append('_').append(argument);
+			header.append(',').append(model).append("_r,").append(model).append("_r_squared,").append(model).append("_adjusted_r_squared,")
+				.append(model).append("_aic");
+		}
+		header.append(",best_model");
+		return header.toString();
+	}
+
+	/**
+	 * Returns the summary as one row of the CSV format, in the order of <code>csvHeader()</code>. The columns of a file that could not be analyzed are
+	 * empty, apart from its path and error.
+	 * @return String - the values of the row, separated by commas
+	 */
+	public String toCsv()
+	{
+		StringBuilder row = new StringBuilder();
+		row.append(csvText(fileName)).append(',').append(error == null ? "" : csvText(error));
+		if(error != null)
+		{
+			int numColumns = csvHeader().split(",").length;
+			for(int i = 2; i < numColumns; i++)
+				row.append(',');
+			return row.toString();
+		}
+
+		row.append(',').append(xStats.getCount()).append(',').append(numBadLines);
+		for(String axis : axisInfo)
+			row.append(',').append(csvText(axis));
+		for(DescriptiveStatistics stats : new DescriptiveStatistics[] {xStats, yStats})
+		{
+			for(double statistic : statistics(stats))
+				row.append(',').append(statistic);
+		}
+		row.append(',').append(covariance);
+		for(int type = AnalysisLibrary.LINEAR; type <= AnalysisLibrary.EXPONENTIAL; type++)
+		{
+			RegressionResult result = models.getResult(type);
+			double[] args = result.getArguments();
+			for(int i = 0; i < ARGUMENT_NAMES[type].length; i++)
+				row.append(',').append(args[i]);
+			row.append(',').append(result.getRFactor()).append(',').append(result.getRSquared()).append(',').append(result.getAdjustedRSquared())
+				.append(',').append(result.getAIC());
+		}
+		row.append(',').append(MODEL_NAMES[models.getBest(ModelComparison.ADJUSTED_R_SQUARED).getRegressionType()]);
+		return row.toString();
+	}
+
+	/**
+	 * Returns the summary as a JSON object, with the same values as <code>toCsv()</code>. Values that are not finite, which JSON cannot represent, are
+	 * written as <code>null</code>.
+	 * @return String - the JSON object
+	 */
+	public String toJson()
+	{
+		StringBuilder json = new StringBuilder();
+		json.append("  {\"file\": ").append(jsonText(fileName)).append(", \"error\": ").append(error == null ? "null" : jsonText(error));
+		if(error != null)
+			return json.append('}').toString();
+
+		json.append(", \"count\": ").append(xStats.getCount()).append(", \"bad_lines\": ").append(numBadLines);
+		for(int i = 0; i < AXIS_NAMES.length; i++)
+			json.append(", \"").append(AXIS_NAMES[i]).append("\": ").append(jsonText(axisInfo[i]));
+		String[] variables = {"x", "y"};
+		DescriptiveStatistics[] stats = {xStats, yStats};
+		for(int v = 0; v < 2; v++)
+		{
+			double[] values = statistics(stats[v]);
+			json.append(",\n    \"").append(variables[v]).append("\": {");
+			for(int i = 0; i < values.length; i++)
+				json.append(i > 0 ? ", \"" : "\"").append(STATISTIC_NAMES[i]).append("\": ").append(jsonNumber(values[i]));
+			json.append('}');
+		}
+		json.append(",\n    \"covariance\": ").append(jsonNumber(covariance)).append(", \"models\": {");
+		for(int type = AnalysisLibrary.LINEAR; type <= AnalysisLibrary.EXPONENTIAL; type++)
+		{
+			RegressionResult result = models.getResult(type);
+			double[] args = result.getArguments();
+			json.append(type > AnalysisLibrary.LINEAR ? ",\n      \"" : "\n      \"").append(MODEL_NAMES[type]).append("\": {");
+			for(int i = 0; i < ARGUMENT_NAMES[type].length; i++)
+				json.append('"').append(ARGUMENT_NAMES[type][i]).append("\": ").append(jsonNumber(args[i])).append(", ");
+			json.append("\"r\": ").append(jsonNumber(result.getRFactor())).append(", \"r_squared\": ").append(jsonNumber(result.getRSquared()))
+				.append(", \"adjusted_r_squared\": ").append(jsonNumber(result.getAdjustedRSquared())).append(", \"aic\": ").append(jsonNumber(result.getAIC()))
+				.append('}');
+		}
+		json.append("},\n    \"best_model\": \"").append(MODEL_NAMES[models.getBest(ModelComparison.ADJUSTED_R_SQUARED).getRegressionType()]).append("\"}");
+		return json.toString();
+	}
+
+	/**
+	 * Lists the summary statistics of a variable in the order of <code>STATISTIC_NAMES</code>, where the variance and standard deviation are of a sample.
+	 * @param stats the summary of the variable
+	 * @return double[] - the summary statistics
+	 */
+	private static double[] statistics(DescriptiveStatistics stats)
+	{
+		return new double[] {stats.getMean(), stats.getMedian(), stats.getMin(), stats.getMax(), stats.getRange(), stats.getQ1(), stats.getQ3(),
+			stats.getInterquartileRange(), stats.getVariance(true), stats.getStDev(true)};
+	}
+
+	/**
+	 * Quotes text for the CSV format if it holds a comma, quote or line break, doubling any quotes.
+	 * @param text the text
+	 * @return String - the text as a CSV value
+	 */
+	private static String csvText(String text)
+	{
+		if(text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0)
+			return text;
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Quotes text as a JSON string, escaping quotes, backslashes and control characters.
+	 * @param text the text
+	 * @return String - the JSON string
+	 */
+	private static String jsonText(String text)
+	{
+		StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+		for(int i = 0; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if(c == '"' || c == '\\')
+				json.append('\\').append(c);
+			else if(c < ' ')
+				json.append(String.format("\\u%04x", (int)c));
+			else
+				json.append(c);
+		}
+		return json.append('"').toString();
+	}
+
+	/**
+	 * Writes a number for the JSON format.
+	 * @param value the number
+	 * @return String - the number, or "null" if it is not finite
+	 */
+	private static String jsonNumber(double value)
+	{
+		if(Double.isNaN(value) || Double.isInfinite(value))
+			return "null";
+		return Double.toString(value);
+	}
+
+	/**
+	 * Returns the path of the file
+	 * @return String - the path of the file, as it was found
+	 */
+	public String getFileName()
+	{
+		return fileName;
+	}
+
+	/**
+	 * Returns why the file could not be analyzed
+	 * @return String - the error, or <code>null</code> if the file was analyzed
+	 */
+	public String getError()
+	{
+		return error;
+	}
+
+	/**
+	 * Returns the number of values in the file that were not numbers, whose pairs were skipped (see <code>DataFileParser</code>)
+	 * @return long - the number of bad values
+	 */
+	public long getNumBadLines()
+	{
+		return numBadLines;
+	}
+
+	/**
+	 * Returns the names and units of the variables (see <code>DataFileParser.getAxisInfo()</code>)
+	 * @return String[] - {independent variable name, dependent variable name, unit of independent variable, unit of dependent variable}, or <code>null</code>
+	 * if the file could not be analyzed
+	 */
+	public String[] getAxisInfo()
+	{
+		return axisInfo == null ? null : axisInfo.clone();
+	}
+
+	/**
+	 * Returns the summary of the independent variable
+	 * @return DescriptiveStatistics - the summary of <i>x</i>, or <code>null</code> if the file could not be analyzed
+	 */
+	public DescriptiveStatistics getXStats()
+	{
+		return xStats;
+	}
+
+	/**
+	 * Returns the summary of the dependent variable
+	 * @return DescriptiveStatistics - the summary of <i>y</i>, or <code>null</code> if the file could not be analyzed
+	 */
+	public DescriptiveStatistics getYStats()
+	{
+		return yStats;
+	}
+
+	/**
+	 * Returns the sample covariance of the variables
+	 * @return double - the covariance, or <code>NaN</code> if the file could not be analyzed
+	 */
+	public double getCovariance()
+	{
+		return covariance;
+	}
+
+	/**
+	 * Returns every fitted regression model
+	 * @return ModelComparison - the fitted models, or <code>null</code> if the file could not be analyzed
+	 */
+	public ModelComparison getModels()
+	{
+		return models;
+	}
+}
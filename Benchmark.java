@@ -0,0 +1,366 @@
+package regressionAnalysisCalc;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+/**
+ * Benchmark times the numerical routines of the calculator without the interface, so that the timings given for them can be reproduced on any machine.
+ * It is run with the command
+ * <pre>java regressionAnalysisCalc.Benchmark [-max n] [-runs n] suite...</pre>
+ * where each suite is one of
+ * <ul><li><code>order</code>: <code>AnalysisLibrary.sorted()</code>, <code>median()</code> and <code>interquartileRange()</code> (see
+ * <code>OrderStatistics</code>) against <code>Arrays.sort()</code>, from 1000 values up to <code>-max</code> (10<sup>7</sup> by default) by powers of 10.</li>
+ * <li><code>kernels</code>: each loop of <code>VectorKernels</code> with the scalar implementation and with the implementation the calculator uses, in
+ * nanoseconds per element of arrays of 65536 values. The second is the SIMD implementation only if the program is compiled and run with the Vector API
+ * (see README.txt), for ex. <code>java --add-modules jdk.incubator.vector regressionAnalysisCalc.Benchmark kernels</code>.</li>
+ * <li><code>allocation</code>: the bytes allocated by each call of <code>AnalysisLibrary.rSquared()</code> and the regressions of <code>AnalysisLibrary</code> on
+ * 10000 points, without and with an <code>AnalysisWorkspace</code>, measured by the allocation counter of the thread. The methods with a workspace should
+ * allocate 0 bytes.</li>
+ * <li><code>theilsen</code>: the slope of <code>RobustRegression.theilSen()</code> against the median of a list of every pair of points, on 2000 random data sets
+ * of up to 60 or 300 small integers, where many slopes are tied. It prints the number of slopes that differ, which should be 0.</li></ul>
+ *
+ * <p>Each routine is run once to warm up and then <code>-runs</code> times (5 by default) on the same random data, and the fastest run is reported in
+ * milliseconds, as it is the least disturbed by garbage collection and other programs. The data is made with a fixed seed, so every run times the same
+ * values.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class Benchmark
+{
+	private static final String USAGE = "Usage: java regressionAnalysisCalc.Benchmark [-max n] [-runs n] order|kernels|allocation|theilsen...";
+	private static final String[] SUITES = {"order", "kernels", "allocation", "theilsen"}; //names of the suites
+	private static final long SEED = 42; //seed of the random data
+	private static final int KERNEL_LENGTH = 1 << 16; //length of the arrays passed to the kernels, which fit in the cache of the processor
+	private static final int KERNEL_ELEMENTS = 1 << 24; //number of elements processed by each timed run of a kernel
+	private static final int ALLOCATION_LENGTH = 10000; //number of points of the data fitted by the allocation suite
+	private static final int TIED_DATA_SETS = 2000; //number of data sets compared by the theilsen suite
+	private static final int[] MAX_TIED_LENGTHS = {60, 300}; //largest number of points of every other data set, for one or several rounds of sampling
+
+	private static double sink; //results of the timed routines, kept so that they are not optimized away
+
+	/**
+	 * A routine that is timed.
+	 */
+	private interface Timed
+	{
+		/**
+		 * Runs the routine once.
+		 * @return double - a value of the result, added to <code>sink</code>
+		 */
+		double run();
+	}
+
+	/**
+	 * This class is not meant to be instantiated.
+	 */
+	private Benchmark()
+	{
+	}
+
+	/**
+	 * Reads the options and runs each suite, printing a table of timings for each to standard output.
+	 * @param args the options and the names of the suites
+	 */
+	public static void main(String[] args)
+	{
+		int max = 10000000;
+		int runs = 5;
+		String[] suites = new String[args.length];
+		int numSuites = 0;
+
+		try
+		{
+			for(int i = 0; i < args.length; i++)
+			{
+				if(args[i].equals("-max") && i + 1 < args.length)
+					max = Integer.parseInt(args[++i]);
+				else if(args[i].equals("-runs") && i + 1 < args.length)
+					runs = Integer.parseInt(args[++i]);
+				else if(args[i].startsWith("-"))
+					throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+				else
+					suites[numSuites++] = args[i];
+			}
+			if(max < 1000 || runs < 1)
+				throw new IllegalArgumentException("-max must be at least 1000 and -runs at least 1.");
+			if(numSuites == 0)
+				throw new IllegalArgumentException("No suite was given.");
+			for(int i = 0; i < numSuites; i++)
+			{
+				if(!Arrays.asList(SUITES).contains(suites[i]))
+					throw new IllegalArgumentException("Unknown suite " + suites[i] + ".");
+			}
+		}
+		catch(IllegalArgumentException e) //includes NumberFormatException
+		{
+			System.err.println("ERROR: " + e.getMessage());
+			System.err.println(USAGE);
+			System.exit(2);
+		}
+
+		System.out.println("java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors() + " processors, best of " + runs
+			+ " runs");
+		for(int i = 0; i < numSuites; i++)
+		{
+			if(suites[i].equals("order"))
+				orderStatistics(max, runs);
+			else if(suites[i].equals("kernels"))
+				kernels(runs);
+			else if(suites[i].equals("allocation"))
+				allocation(runs);
+			else if(suites[i].equals("theilsen"))
+				theilSen();
+		}
+	}
+
+	/**
+	 * Times sorting and the order statistics of <code>AnalysisLibrary</code> for sizes from 1000 to <code>max</code> by powers of 10.
+	 * @param max the largest number of values
+	 * @param runs the number of timed runs of each routine
+	 */
+	private static void orderStatistics(int max, int runs)
+	{
+		System.out.println();
+		System.out.println("order statistics (ms per call)");
+		System.out.printf("%10s %12s %12s %12s %12s%n", "n", "sorted", "median", "iqr", "Arrays.sort");
+		for(int n = 1000; n <= max && n > 0; n *= 10)
+		{
+			double[] data = randomData(n);
+			System.out.printf("%10d %12.3f %12.3f %12.3f %12.3f%n", n,
+				time(runs, () -> AnalysisLibrary.sorted(data)[0]),
+				time(runs, () -> AnalysisLibrary.median(data, false)),
+				time(runs, () -> AnalysisLibrary.interquartileRange(data)[0]),
+				time(runs, () ->
+				{
+					double[] copy = data.clone();
+					Arrays.sort(copy);
+					return copy[0];
+				}));
+		}
+	}
+
+	/**
+	 * Times each kernel of <code>VectorKernels</code> with the scalar implementation and with the implementation used by its static methods.
+	 * @param runs the number of timed runs of each kernel
+	 */
+	private static void kernels(int runs)
+	{
+		double[] a = randomData(KERNEL_LENGTH);
+		double[] b = randomData(2 * KERNEL_LENGTH);
+		double[] sums = new double[6];
+		VectorKernels scalar = new VectorKernels();
+		VectorKernels used = VectorKernels.getKernels();
+
+		System.out.println();
+		if(VectorKernels.isSimd())
+			System.out.println("vector kernels (ns per element, n = " + KERNEL_LENGTH + ", " + used.getClass().getSimpleName() + ")");
+		else
+			System.out.println("vector kernels (ns per element, n = " + KERNEL_LENGTH + ", SIMD not available: both columns are scalar)");
+		System.out.printf("%-22s %10s %10s %10s%n", "kernel", "scalar", "used", "speed-up");
+		kernel("sum", runs, scalar, used, kernels -> kernels.sumKernel(a, 0, KERNEL_LENGTH));
+		kernel("dot", runs, scalar, used, kernels -> kernels.dotKernel(a, 0, b, KERNEL_LENGTH, KERNEL_LENGTH));
+		kernel("centered product sum", runs, scalar, used, kernels -> kernels.centeredProductSumKernel(a, 0, 0.5, b, KERNEL_LENGTH, 0.25, KERNEL_LENGTH));
+		kernel("central moment sums", runs, scalar, used, kernels ->
+		{
+			kernels.centralMomentSumsKernel(a, b, 0, KERNEL_LENGTH, 0.5, 0.25, sums);
+			return sums[0];
+		});
+	}
+
+	/**
+	 * Times one kernel with two implementations and prints a row of the table of kernels.
+	 * @param name the name of the kernel
+	 * @param runs the number of timed runs
+	 * @param scalar the scalar implementation
+	 * @param used the implementation used by the static methods of <code>VectorKernels</code>
+	 * @param kernel runs the kernel once on arrays of <code>KERNEL_LENGTH</code> values with an implementation
+	 */
+	private static void kernel(String name, int runs, VectorKernels scalar, VectorKernels used, ToDoubleFunction<VectorKernels> kernel)
+	{
+		int repeats = KERNEL_ELEMENTS / KERNEL_LENGTH;
+		double scalarTime = time(runs, () -> repeat(repeats, scalar, kernel)) * 1e6 / KERNEL_ELEMENTS;
+		double usedTime = time(runs, () -> repeat(repeats, used, kernel)) * 1e6 / KERNEL_ELEMENTS;
+		System.out.printf("%-22s %10.3f %10.3f %9.2fx%n", name, scalarTime, usedTime, scalarTime / usedTime);
+	}
+
+	/**
+	 * Runs a kernel a number of times.
+	 * @param repeats the number of times the kernel is run
+	 * @param kernels the implementation of the kernel
+	 * @param kernel runs the kernel once with an implementation
+	 * @return double - the sum of the results of the kernel
+	 */
+	private static double repeat(int repeats, VectorKernels kernels, ToDoubleFunction<VectorKernels> kernel)
+	{
+		double sum = 0.0;
+		for(int i = 0; i < repeats; i++)
+			sum += kernel.applyAsDouble(kernels);
+		return sum;
+	}
+
+	/**
+	 * Measures the bytes allocated by <code>AnalysisLibrary.rSquared()</code> and each regression, without and with a workspace, on the same data.
+	 * @param runs the number of measured calls of each method
+	 */
+	private static void allocation(int runs)
+	{
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		System.out.println();
+		if(!(threads instanceof com.sun.management.ThreadMXBean) || !((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported())
+		{
+			System.out.println("allocation: the allocated bytes of a thread cannot be measured on this virtual machine");
+			return;
+		}
+		com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean)threads;
+		counter.setThreadAllocatedMemoryEnabled(true);
+
+		//a noisy power curve with every x > 0, so that every model is defined
+		Random random = new Random(SEED);
+		double[] x = new double[ALLOCATION_LENGTH];
+		double[] y = new double[ALLOCATION_LENGTH];
+		for(int i = 0; i < ALLOCATION_LENGTH; i++)
+		{
+			x[i] = 1.0 + i * 0.01;
+			y[i] = 2.0 * Math.pow(x[i], 1.5) * (1.0 + 0.05 * random.nextGaussian());
+		}
+		double[] arguments = new double[3];
+		AnalysisWorkspace workspace = new AnalysisWorkspace();
+		String[] models = {"linear", "quadratic", "power", "exponential"};
+
+		System.out.println("allocation (bytes per call, n = " + ALLOCATION_LENGTH + ")");
+		System.out.printf("%-26s %12s %12s%n", "method", "default", "workspace");
+		for(int type = AnalysisLibrary.LINEAR; type <= AnalysisLibrary.EXPONENTIAL; type++)
+		{
+			int model = type;
+			System.out.printf("%-26s %12d %12d%n", "rSquared(" + models[type - 1] + ")",
+				allocated(counter, runs, () -> AnalysisLibrary.rSquared(x, y, model)),
+				allocated(counter, runs, () -> AnalysisLibrary.rSquared(x, y, model, workspace)));
+		}
+		System.out.printf("%-26s %12d %12d%n", "linearRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.linearRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.linearRegression(x, y, arguments)[0]));
+		System.out.printf("%-26s %12d %12d%n", "quadraticRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.quadraticRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.quadraticRegression(x, y, arguments, workspace)[0]));
+		System.out.printf("%-26s %12d %12d%n", "powerRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.powerRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.powerRegression(x, y, arguments, workspace)[0]));
+		System.out.printf("%-26s %12d %12d%n", "exponentialRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.exponentialRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.exponentialRegression(x, y, arguments, workspace)[0]));
+		System.out.printf("%-26s %12d %12d%n", "logPowerRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.logPowerRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.logPowerRegression(x, y, arguments, workspace)[0]));
+		System.out.printf("%-26s %12d %12d%n", "logExponentialRegression",
+			allocated(counter, runs, () -> AnalysisLibrary.logExponentialRegression(x, y)[0]),
+			allocated(counter, runs, () -> AnalysisLibrary.logExponentialRegression(x, y, arguments, workspace)[0]));
+	}
+
+	/**
+	 * Runs a routine once to warm up, which also creates the buffers of a workspace, and then measures the bytes allocated by <code>runs</code> calls.
+	 * @param counter the counter of the bytes allocated by each thread
+	 * @param runs the number of measured calls
+	 * @param routine the routine
+	 * @return long - the average number of bytes allocated by a call
+	 */
+	private static long allocated(com.sun.management.ThreadMXBean counter, int runs, Timed routine)
+	{
+		sink += routine.run();
+		long start = counter.getCurrentThreadAllocatedBytes();
+		for(int i = 0; i < runs; i++)
+			sink += routine.run();
+		return (counter.getCurrentThreadAllocatedBytes() - start)/runs;
+	}
+
+	/**
+	 * Compares the Theil-Sen slope with the median of every slope listed and sorted, on small integers whose slopes are often tied, including at the median.
+	 */
+	private static void theilSen()
+	{
+		Random random = new Random(SEED);
+		int mismatches = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < TIED_DATA_SETS; i++)
+		{
+			int n = 2 + random.nextInt(MAX_TIED_LENGTHS[i % 2] - 1);
+			int valuesX = 1 + random.nextInt(20);
+			int valuesY = 1 + random.nextInt(5);
+			double[] x = new double[n];
+			double[] y = new double[n];
+			for(int j = 0; j < n; j++)
+			{
+				x[j] = random.nextInt(valuesX);
+				y[j] = random.nextInt(valuesY);
+			}
+			double slope = RobustRegression.theilSen(x, y, i).getArguments()[0];
+			double expected = listedMedianSlope(x, y);
+			if(slope != expected && !(Double.isNaN(slope) && Double.isNaN(expected))) //0.0 and -0.0 are the same slope
+			{
+				if(mismatches < 10)
+					System.out.println("mismatch: n = " + n + ", seed " + i + ", slope " + slope + ", expected " + expected);
+				mismatches++;
+			}
+		}
+		System.out.println();
+		System.out.printf("theil-sen slopes of tied data: %d of %d differ from listing every pair (%.0f ms)%n", mismatches, TIED_DATA_SETS,
+			(System.nanoTime() - start)/1e6);
+	}
+
+	/**
+	 * Finds the median slope between every pair of points with different values of <i>x</i> by listing and sorting the slopes.
+	 * @param x the values of the independent variable
+	 * @param y the values of the dependent variable
+	 * @return double - the median slope, or <code>NaN</code> if every <i>x</i> is the same
+	 */
+	private static double listedMedianSlope(double[] x, double[] y)
+	{
+		double[] slopes = new double[x.length * (x.length - 1)/2];
+		int count = 0;
+		for(int i = 0; i < x.length; i++)
+		{
+			for(int j = i + 1; j < x.length; j++)
+			{
+				if(x[i] != x[j])
+					slopes[count++] = (y[j] - y[i])/(x[j] - x[i]);
+			}
+		}
+		if(count == 0)
+			return Double.NaN;
+		Arrays.sort(slopes, 0, count);
+		return (slopes[(count - 1)/2] + slopes[count/2])/2.0;
+	}
+
+	/**
+	 * Makes random data spread over several orders of magnitude, with negative values, so that no digit of the radix sort is constant.
+	 * @param n the number of values
+	 * @return double[] - the values, the same for every call with the same <code>n</code>
+	 */
+	private static double[] randomData(int n)
+	{
+		Random random = new Random(SEED);
+		double[] data = new double[n];
+		for(int i = 0; i < n; i++)
+			data[i] = (random.nextDouble() - 0.25) * Math.pow(10, random.nextInt(7));
+		return data;
+	}
+
+	/**
+	 * Runs a routine once to warm up and then <code>runs</code> times.
+	 * @param runs the number of timed runs
+	 * @param routine the routine
+	 * @return double - the time of the fastest run in milliseconds
+	 */
+	private static double time(int runs, Timed routine)
+	{
+		sink += routine.run();
+		long best = Long.MAX_VALUE;
+		for(int i = 0; i < runs; i++)
+		{
+			long start = System.nanoTime();
+			sink += routine.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best / 1e6;
+	}
+}
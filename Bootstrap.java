@@ -0,0 +1,343 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+/**
+ * Bootstrap estimates the uncertainty of the arguments of a regression model by refitting it to many resamples of the data, each drawn from the points
+ * with replacement, and reports the percentile confidence interval and the standard error of each argument.
+ *
+ * <p>A resample is never stored. Its points are drawn a block at a time into small buffers and added to a <code>MomentAccumulator</code>, from which the model
+ * is solved, so the memory used does not depend on the number of points or resamples, apart from the arguments of each resample. The logarithms of the data
+ * are found once and drawn along with the points, rather than found again for every resample. The resamples are split across the threads of a
+ * <code>ForkJoinPool</code> in the same way as <code>ParallelAnalysisLibrary</code>, and each range of resamples reuses one accumulator and set of buffers.
+ * Each half of a range takes its own <code>SplittableRandom</code>, split from its parent's, so the same seed always gives the same intervals, however many
+ * threads the pool has.</p>
+ *
+ * <p>The models are solved from the moments, the same as <code>MomentAccumulator.regression()</code>, so the power and exponential models are those of
+ * the log methods (see <code>AnalysisLibrary.logPowerRegression()</code>).</p>
+ *
+ * <p>A resample can have no fit even when the data has one, for ex. if every point drawn has the same <i>x</i> (or only 2 values of <i>x</i> for the quadratic
+ * model), which is likely for a few points. A resample with too few values of <i>x</i> or any argument that is not finite is left out of the intervals and standard errors, and the number left out is reported by
+ * <code>getDroppedResamples()</code>. Leaving them out is the same as drawing again until a resample has a fit.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class Bootstrap
+{
+	public static final int DEFAULT_RESAMPLES = 1000; //default number of resamples
+	public static final double DEFAULT_CONFIDENCE = 0.95; //default confidence level of the intervals
+
+	private static final int BLOCK_SIZE = 1024; //number of points drawn at a time
+	private static final int POINTS_PER_TASK = 1 << 16; //number of points resampled below which a range of resamples is not split
+
+	private final int regressionType; //1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	private final double confidence; //confidence level of the intervals
+	private final double[] estimates; //arguments fitted to the data itself
+	private final double[][] distributions; //arguments fitted to each resample with a fit, sorted, for each argument
+	private final int droppedResamples; //number of resamples left out because an argument was not finite
+	private final double[] lowerBounds; //low end of the interval of each argument
+	private final double[] upperBounds; //high end of the interval of each argument
+	private final double[] standardErrors; //standard deviation of each argument over the resamples
+
+	/**
+	 * Creates the confidence intervals of a model from the arguments of its resamples (see <code>run()</code>).
+	 * @param regressionType the regression model
+	 * @param confidence the confidence level of the intervals
+	 * @param estimates the arguments fitted to the data itself
+	 * @param distributions the arguments fitted to each resample, for each argument, from which the resamples without a fit are removed and which are sorted
+	 */
+	private Bootstrap(int regressionType, double confidence, double[] estimates, double[][] distributions)
+	{
+		this.regressionType = regressionType;
+		this.confidence = confidence;
+		this.estimates = estimates;
+		lowerBounds = new double[estimates.length];
+		upperBounds = new double[estimates.length];
+		standardErrors = new double[estimates.length];
+
+		//moves the arguments of each resample whose arguments are all finite ahead of the others, keeping them in the same order
+		int resamples = distributions[0].length;
+		int kept = 0;
+		for(int resample = 0; resample < resamples; resample++)
+		{
+			boolean isFinite = true;
+			for(int i = 0; i < distributions.length; i++)
+			{
+				isFinite = isFinite && Double.isFinite(distributions[i][resample]);
+			}
+			if(isFinite)
+			{
+				for(int i = 0; i < distributions.length; i++)
+				{
+					distributions[i][kept] = distributions[i][resample];
+				}
+				kept++;
+			}
+		}
+		droppedResamples = resamples - kept;
+		this.distributions = new double[distributions.length][];
+
+		for(int i = 0; i < estimates.length; i++)
+		{
+			double[] distribution = Arrays.copyOf(distributions[i], kept);
+			Arrays.sort(distribution);
+			this.distributions[i] = distribution;
+			lowerBounds[i] = percentile(distribution, (1.0 - confidence)/2.0);
+			upperBounds[i] = percentile(distribution, (1.0 + confidence)/2.0);
+			standardErrors[i] = kept > 1 ? AnalysisLibrary.stDev(distribution, true) : Double.NaN;
+		}
+	}
+
+	/**
+	 * Finds the confidence intervals of a regression model with the default number of resamples and confidence level, on the common <code>ForkJoinPool</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param seed the seed of the random generator that draws the resamples
+	 * @return Bootstrap - the confidence intervals of the arguments
+	 */
+	public static Bootstrap run(double[] dataX, double[] dataY, int regressionType, long seed)
+	{
+		return run(dataX, dataY, regressionType, DEFAULT_RESAMPLES, DEFAULT_CONFIDENCE, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds the confidence intervals of a regression model by resampling the data.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param resamples the number of resamples, which must be at least 2
+	 * @param confidence the confidence level of the intervals, which must be greater than 0 and less than 1 (for ex. 0.95 for 95% intervals)
+	 * @param seed the seed of the random generator that draws the resamples. The same seed and number of resamples always give the same intervals.
+	 * @param pool the <code>ForkJoinPool</code> that runs the resamples
+	 * @return Bootstrap - the confidence intervals of the arguments
+	 */
+	public static Bootstrap run(double[] dataX, double[] dataY, int regressionType, int resamples, double confidence, long seed, ForkJoinPool pool)
+	{
+		int length = dataX.length;
+		if(dataY.length != length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length.");
+		if(length == 0)
+			throw new IllegalArgumentException("There must be at least 1 point.");
+		if(regressionType < AnalysisLibrary.LINEAR || regressionType > AnalysisLibrary.EXPONENTIAL)
+			throw new IllegalArgumentException("Regression type must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential.");
+		if(resamples < 2)
+			throw new IllegalArgumentException("There must be at least 2 resamples.");
+		if(!(confidence > 0.0 && confidence < 1.0))
+			throw new IllegalArgumentException("Confidence must be greater than 0 and less than 1.");
+
+		//the power and exponential models carry their PCC after the coefficients, which is not resampled
+		int numArguments = 2;
+		if(regressionType == AnalysisLibrary.QUADRATIC)
+			numArguments = 3;
+		double[] estimates = Arrays.copyOf(AnalysisLibrary.moments(dataX, dataY).regression(regressionType), numArguments);
+
+		double[] logX = new double[length];
+		double[] logY = new double[length];
+		for(int i = 0; i < length; i++)
+		{
+			logX[i] = Math.log(dataX[i]);
+			logY[i] = Math.log(dataY[i]);
+		}
+
+		double[][] distributions = new double[numArguments][resamples];
+		int resamplesPerTask = Math.max(1, POINTS_PER_TASK/length);
+		pool.invoke(new ResampleTask(dataX, dataY, logX, logY, regressionType, distributions, 0, resamples, resamplesPerTask, new SplittableRandom(seed)));
+		return new Bootstrap(regressionType, confidence, estimates, distributions);
+	}
+
+	/**
+	 * Finds the value below which a fraction of a sorted array lies, interpolating between the two closest values.
+	 * @param sorted the values, in ascending order
+	 * @param fraction the fraction of the values, from 0 to 1
+	 * @return double - the percentile, or <code>NaN</code> if there are no values
+	 */
+	private static double percentile(double[] sorted, double fraction)
+	{
+		if(sorted.length == 0)
+			return Double.NaN;
+		double position = fraction * (sorted.length - 1);
+		int below = (int)Math.floor(position);
+		int above = Math.min(below + 1, sorted.length - 1);
+		return sorted[below] + (position - below) * (sorted[above] - sorted[below]);
+	}
+
+	/**
+	 * Returns the integer used to refer to the regression model
+	 * @return int - 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 */
+	public int getRegressionType()
+	{
+		return regressionType;
+	}
+
+	/**
+	 * Returns the confidence level of the intervals
+	 * @return double - the confidence level, for ex. 0.95
+	 */
+	public double getConfidence()
+	{
+		return confidence;
+	}
+
+	/**
+	 * Returns the number of resamples that had a fit, from which the intervals and standard errors are found
+	 * @return int - the number of resamples
+	 */
+	public int getResamples()
+	{
+		return distributions[0].length;
+	}
+
+	/**
+	 * Returns the number of resamples left out because they had no fit, for ex. because every point drawn had the same <i>x</i>
+	 * @return int - the number of resamples left out
+	 */
+	public int getDroppedResamples()
+	{
+		return droppedResamples;
+	}
+
+	/**
+	 * Returns the arguments of the model fitted to the data itself, in the same order as <code>MomentAccumulator.regression()</code>, without the PCC
+	 * @return double[] - the arguments
+	 */
+	public double[] getEstimates()
+	{
+		return estimates.clone();
+	}
+
+	/**
+	 * Returns the low end of the confidence interval of each argument
+	 * @return double[] - the low ends, in the same order as the arguments
+	 */
+	public double[] getLowerBounds()
+	{
+		return lowerBounds.clone();
+	}
+
+	/**
+	 * Returns the high end of the confidence interval of each argument
+	 * @return double[] - the high ends, in the same order as the arguments
+	 */
+	public double[] getUpperBounds()
+	{
+		return upperBounds.clone();
+	}
+
+	/**
+	 * Returns the standard error of each argument, the standard deviation of the argument over the resamples
+	 * @return double[] - the standard errors, in the same order as the arguments
+	 */
+	public double[] getStandardErrors()
+	{
+		return standardErrors.clone();
+	}
+
+	/**
+	 * Returns the values of one argument fitted to every resample that had a fit
+	 * @param index the index of the argument, in the same order as the arguments
+	 * @return double[] - the values, in ascending order
+	 */
+	public double[] getDistribution(int index)
+	{
+		return distributions[index].clone();
+	}
+
+	/**
+	 * Fits a range of resamples, storing the arguments of each.
+	 */
+	private static class ResampleTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[] dataX;
+		private final double[] dataY;
+		private final double[] logX;
+		private final double[] logY;
+		private final int regressionType;
+		private final double[][] distributions;
+		private final int from;
+		private final int to;
+		private final int resamplesPerTask;
+		private final SplittableRandom random;
+
+		ResampleTask(double[] dataX, double[] dataY, double[] logX, double[] logY, int regressionType, double[][] distributions, int from, int to,
+				int resamplesPerTask, SplittableRandom random)
+		{
+			this.dataX = dataX;
+			this.dataY = dataY;
+			this.logX = logX;
+			this.logY = logY;
+			this.regressionType = regressionType;
+			this.distributions = distributions;
+			this.from = from;
+			this.to = to;
+			this.resamplesPerTask = resamplesPerTask;
+			this.random = random;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if(to - from <= resamplesPerTask)
+			{
+				int length = dataX.length;
+				MomentAccumulator moments = new MomentAccumulator();
+				double[] blockX = new double[BLOCK_SIZE];
+				double[] blockY = new double[BLOCK_SIZE];
+				double[] blockLogs = new double[2 * BLOCK_SIZE];
+				double[] arguments = new double[3];
+				int needed = regressionType == AnalysisLibrary.QUADRATIC ? 3 : 2; //number of different values of x that the model needs
+
+				for(int resample = from; resample < to; resample++)
+				{
+					//draws the points of the resample a block at a time, until enough different values of x are drawn
+					moments.reset();
+					int distinct = 0;
+					double firstX = 0.0;
+					double secondX = 0.0;
+					for(int start = 0; start < length; start += BLOCK_SIZE)
+					{
+						int blockLength = Math.min(BLOCK_SIZE, length - start);
+						for(int i = 0; i < blockLength; i++)
+						{
+							int point = random.nextInt(length);
+							if(distinct < needed)
+							{
+								double x = dataX[point];
+								if(distinct == 0)
+									firstX = x;
+								else if(x != firstX && distinct == 1)
+									secondX = x;
+								if(distinct == 0 || (x != firstX && (distinct == 1 || x != secondX)))
+									distinct++;
+							}
+							blockX[i] = dataX[point];
+							blockY[i] = dataY[point];
+							blockLogs[i] = logX[point];
+							blockLogs[BLOCK_SIZE + i] = logY[point];
+						}
+						moments.addBlock(blockX, blockY, 0, blockLength, blockLogs, BLOCK_SIZE);
+					}
+
+					//with too few different values of x, the moments only give a fit through rounding error, so the resample is left out as having none
+					moments.regression(regressionType, arguments);
+					if(distinct < needed)
+						Arrays.fill(arguments, Double.NaN);
+					for(int i = 0; i < distributions.length; i++)
+					{
+						distributions[i][resample] = arguments[i];
+					}
+				}
+				return;
+			}
+
+			//splits a long range of resamples in half, giving the right half its own generator
+			int middle = (from + to) >>> 1;
+			ResampleTask left = new ResampleTask(dataX, dataY, logX, logY, regressionType, distributions, from, middle, resamplesPerTask, random);
+			ResampleTask right = new ResampleTask(dataX, dataY, logX, logY, regressionType, distributions, middle, to, resamplesPerTask, random.split());
+			invokeAll(left, right);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package regressionAnalysisCalc;
+/**
+ * Cholesky Decomposition factors a symmetric positive definite matrix <i>A</i> into <i>LL</i><sup>T</sup>, where <i>L</i> is lower triangular, and uses the
+ * factor to solve the linear system <i>Ax = b</i> by forward and back substitution. It is used to solve the normal equations of the least squares regressions
+ * (see <code>PolynomialRegression</code>), where <i>A</i> is the Gram matrix of the basis functions. Decomposing a <i>k</i> &times; <i>k</i> matrix takes
+ * <i>O(k</i><sup>3</sup><i>)</i> operations and each solve takes <i>O(k</i><sup>2</sup><i>)</i>.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class CholeskyDecomposition
+{
+	//pivots smaller than this fraction of the original diagonal value are treated as zero, as the matrix is then singular to working precision
+	private static final double PIVOT_TOLERANCE = 1e-13;
+
+	private final int size; //number of rows and columns of the matrix
+	private final double[][] lower; //lower triangle of L, where lower[i][j] is the value at row i and column j <= i
+	private final boolean isPositiveDefinite; //false if a pivot was not positive, in which case the system has no unique solution
+
+	/**
+	 * Decomposes a symmetric matrix. Only the lower triangle of the matrix is read, and the matrix is not changed.
+	 * @param matrix a square, symmetric array of type <code>double</code>
+	 */
+	public CholeskyDecomposition(double[][] matrix)
+	{
+		size = matrix.length;
+		lower = new double[size][];
+		boolean isPositiveDefinite = true;
+
+		for(int i = 0; i < size; i++)
+		{
+			if(matrix[i].length != size)
+				throw new IllegalArgumentException("matrix must be square");
+
+			double[] rowI = new double[i + 1];
+			lower[i] = rowI;
+			for(int j = 0; j <= i; j++)
+			{
+				double[] rowJ = lower[j];
+
+				//subtracts the products of the values already found in rows i and j
+				double sum = matrix[i][j];
+				for(int k = 0; k < j; k++)
+				{
+					sum = sum - rowI[k] * rowJ[k];
+				}
+
+				if(i == j)
+				{
+					if(!(sum > PIVOT_TOLERANCE * Math.abs(matrix[i][i])))
+					{
+						isPositiveDefinite = false;
+						sum = Double.NaN;
+					}
+					rowI[i] = Math.sqrt(sum);
+				}
+				else
+					rowI[j] = sum/rowJ[j];
+			}
+		}
+		this.isPositiveDefinite = isPositiveDefinite;
+	}
+
+	/**
+	 * Returns whether the matrix was positive definite. If it was not (for ex. the normal equations of a regression with fewer distinct points than
+	 * unknowns), every solution is <code>NaN</code>.
+	 * @return boolean - true if the matrix could be decomposed
+	 */
+	public boolean isPositiveDefinite()
+	{
+		return isPositiveDefinite;
+	}
+
+	/**
+	 * Returns the number of rows and columns of the matrix
+	 * @return int - the size of the matrix
+	 */
+	public int getSize()
+	{
+		return size;
+	}
+
+	/**
+	 * Solves <i>Ax = b</i>, first solving <i>Lz = b</i> by forward substitution and then <i>L</i><sup>T</sup><i>x = z</i> by back substitution.
+	 * @param b an array of type <code>double</code> with one value for each row of the matrix, which is not changed
+	 * @return double[] - the solution <i>x</i>, where every value is <code>NaN</code> if the matrix was not positive definite
+	 */
+	public double[] solve(double[] b)
+	{
+		if(b.length != size)
+			throw new IllegalArgumentException("b must have one value for each row of the matrix");
+
+		double[] x = b.clone();
+
+		//forward substitution with L
+		for(int i = 0; i < size; i++)
+		{
+			double[] row = lower[i];
+			double sum = x[i];
+			for(int k = 0; k < i; k++)
+			{
+				sum = sum - row[k] * x[k];
+			}
+			x[i] = sum/row[i];
+		}
+
+		//back substitution with the transpose of L, which is read down the columns of L
+		for(int i = size - 1; i >= 0; i--)
+		{
+			double sum = x[i];
+			for(int k = i + 1; k < size; k++)
+			{
+				sum = sum - lower[k][i] * x[k];
+			}
+			x[i] = sum/lower[i][i];
+		}
+		return x;
+	}
+
+	/**
+	 * Finds the inverse of the matrix by solving for each column of the identity matrix. For the normal equations of a regression, the inverse scaled by the
+	 * variance of the residuals is the covariance matrix of the coefficients.
+	 * @return double[][] - the inverse of the matrix, where every value is <code>NaN</code> if the matrix was not positive definite
+	 */
+	public double[][] inverse()
+	{
+		double[][] inverse = new double[size][];
+		double[] unit = new double[size];
+		for(int j = 0; j < size; j++)
+		{
+			unit[j] = 1.0;
+			inverse[j] = solve(unit);
+			unit[j] = 0.0;
+		}
+
+		//the inverse of a symmetric matrix is symmetric, so the column found for j is also row j
+		return inverse;
+	}
+}
@@ -0,0 +1,268 @@
+package regressionAnalysisCalc;
+import java.util.SplittableRandom;
+/**
+ * Cross Validation measures how well each regression model predicts points it was not fitted to, so that the models can be compared without favouring
+ * the ones that only follow the noise of the data more closely, as R<sup>2</sup> of the data itself does. The points are shuffled into <i>k</i> folds of
+ * (almost) equal size, and each fold is predicted by the models fitted to the other <i>k</i> - 1 folds.
+ *
+ * <p>Rather than fitting every model <i>k</i> times, the moments of each fold are collected once, and the moments of the points outside a fold are found by
+ * subtracting the fold from the moments of the whole data set (see <code>MomentAccumulator.subtract()</code>). The squared errors of every model on every
+ * point are then summed in a second pass, so the cost is two passes over the data however many folds there are. The models are solved from the moments,
+ * the same as <code>MomentAccumulator.regression()</code>, so the power and exponential models are those of the log methods, but every error is
+ * measured against <i>y</i> itself.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class CrossValidation
+{
+	public static final int DEFAULT_FOLDS = 10; //default number of folds
+	public static final long DEFAULT_SEED = 0L; //default seed of the shuffle
+
+	private static final int BLOCK_SIZE = 1024; //number of points of a fold added to its moments at a time
+	private static final int[] MODELS = {AnalysisLibrary.LINEAR, AnalysisLibrary.QUADRATIC, AnalysisLibrary.POWER, AnalysisLibrary.EXPONENTIAL};
+
+	private final int folds; //number of folds
+	private final long count; //number of points
+	private final double[][] foldErrors; //mean squared error of each model on each fold, in the order of MODELS
+	private final double[] meanSquaredErrors; //mean squared error of each model over every point
+	private final double[] rSquared; //1 minus the summation of the squared errors divided by the summation of the squared deviations of y
+
+	/**
+	 * Creates the results of a cross validation (see <code>run()</code>).
+	 * @param folds the number of folds
+	 * @param count the number of points
+	 * @param foldErrors the mean squared error of each model on each fold
+	 * @param meanSquaredErrors the mean squared error of each model over every point
+	 * @param rSquared the out-of-sample R<sup>2</sup> of each model
+	 */
+	private CrossValidation(int folds, long count, double[][] foldErrors, double[] meanSquaredErrors, double[] rSquared)
+	{
+		this.folds = folds;
+		this.count = count;
+		this.foldErrors = foldErrors;
+		this.meanSquaredErrors = meanSquaredErrors;
+		this.rSquared = rSquared;
+	}
+
+	/**
+	 * Cross validates every regression model with the default number of folds and seed.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return CrossValidation - the out-of-sample errors of every model
+	 */
+	public static CrossValidation run(double[] dataX, double[] dataY)
+	{
+		return run(dataX, dataY, DEFAULT_FOLDS, DEFAULT_SEED);
+	}
+
+	/**
+	 * Cross validates every regression model.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param folds the number of folds, which must be at least 2 and no more than the number of points
+	 * @param seed the seed of the random generator that shuffles the points into folds. The same seed always gives the same folds.
+	 * @return CrossValidation - the out-of-sample errors of every model
+	 */
+	public static CrossValidation run(double[] dataX, double[] dataY, int folds, long seed)
+	{
+		int length = dataX.length;
+		if(dataY.length != length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length.");
+		if(folds < 2 || folds > length)
+			throw new IllegalArgumentException("Folds must be at least 2 and no more than the number of points.");
+
+		//shuffles the points, then deals them into the folds in turn so that the folds differ in size by at most 1
+		int[] shuffled = new int[length];
+		for(int i = 0; i < length; i++)
+		{
+			shuffled[i] = i;
+		}
+		SplittableRandom random = new SplittableRandom(seed);
+		for(int i = length - 1; i > 0; i--)
+		{
+			int j = random.nextInt(i + 1);
+			int swap = shuffled[i];
+			shuffled[i] = shuffled[j];
+			shuffled[j] = swap;
+		}
+		int[] foldOf = new int[length];
+		for(int i = 0; i < length; i++)
+		{
+			foldOf[shuffled[i]] = i % folds;
+		}
+
+		//collects the moments of each fold, gathering its points into a block before adding them. A fold smaller than a block only needs a buffer of its
+		//size, and the logarithms of every block are found in one buffer, so many small folds (for ex. leaving one point out) take little memory.
+		int blockSize = Math.min(BLOCK_SIZE, (length + folds - 1)/folds);
+		MomentAccumulator[] foldMoments = new MomentAccumulator[folds];
+		double[][] blockX = new double[folds][blockSize];
+		double[][] blockY = new double[folds][blockSize];
+		double[] logs = new double[2 * blockSize];
+		int[] blockLength = new int[folds];
+		for(int f = 0; f < folds; f++)
+		{
+			foldMoments[f] = new MomentAccumulator();
+		}
+		for(int i = 0; i < length; i++)
+		{
+			int f = foldOf[i];
+			blockX[f][blockLength[f]] = dataX[i];
+			blockY[f][blockLength[f]] = dataY[i];
+			blockLength[f]++;
+			if(blockLength[f] == blockSize)
+			{
+				addBlock(foldMoments[f], blockX[f], blockY[f], blockSize, logs);
+				blockLength[f] = 0;
+			}
+		}
+		MomentAccumulator total = new MomentAccumulator();
+		for(int f = 0; f < folds; f++)
+		{
+			addBlock(foldMoments[f], blockX[f], blockY[f], blockLength[f], logs);
+			total.merge(foldMoments[f]);
+		}
+
+		//fits every model to the points outside each fold by subtracting the fold from the whole data set
+		double[][][] arguments = new double[folds][MODELS.length][];
+		MomentAccumulator training = new MomentAccumulator();
+		for(int f = 0; f < folds; f++)
+		{
+			training.reset();
+			training.merge(total);
+			training.subtract(foldMoments[f]);
+			for(int m = 0; m < MODELS.length; m++)
+			{
+				arguments[f][m] = training.regression(MODELS[m]);
+			}
+		}
+
+		//sums the squared error of every model on each point, predicted by the models fitted without its fold
+		double[][] sumSquaredErrors = new double[MODELS.length][folds];
+		for(int i = 0; i < length; i++)
+		{
+			int f = foldOf[i];
+			for(int m = 0; m < MODELS.length; m++)
+			{
+				double error = dataY[i] - AnalysisLibrary.computeFunction(arguments[f][m], MODELS[m], true, dataX[i]);
+				sumSquaredErrors[m][f] = sumSquaredErrors[m][f] + error * error;
+			}
+		}
+
+		double sumSquaredDeviations = total.varianceY(false) * length;
+		double[][] foldErrors = new double[MODELS.length][folds];
+		double[] meanSquaredErrors = new double[MODELS.length];
+		double[] rSquared = new double[MODELS.length];
+		for(int m = 0; m < MODELS.length; m++)
+		{
+			double sumSquaredError = 0.0;
+			for(int f = 0; f < folds; f++)
+			{
+				foldErrors[m][f] = sumSquaredErrors[m][f]/foldMoments[f].getCount();
+				sumSquaredError = sumSquaredError + sumSquaredErrors[m][f];
+			}
+			meanSquaredErrors[m] = sumSquaredError/length;
+			rSquared[m] = 1.0 - sumSquaredError/sumSquaredDeviations;
+		}
+		return new CrossValidation(folds, length, foldErrors, meanSquaredErrors, rSquared);
+	}
+
+	/**
+	 * Adds a block of the points of a fold to its moments, finding their logarithms in a buffer shared by every fold (see <code>MomentAccumulator.addBlock()</code>).
+	 * @param moments the moments of the fold
+	 * @param blockX the values of the independent variable of the block
+	 * @param blockY the values of the dependent variable of the block
+	 * @param length the number of points in the block, which may be 0
+	 * @param logs a buffer of at least twice <code>length</code> values, which is filled with ln<i>x</i> and then ln<i>y</i> of each point
+	 */
+	private static void addBlock(MomentAccumulator moments, double[] blockX, double[] blockY, int length, double[] logs)
+	{
+		if(length == 0)
+			return;
+		for(int i = 0; i < length; i++)
+		{
+			logs[i] = Math.log(blockX[i]);
+			logs[length + i] = Math.log(blockY[i]);
+		}
+		moments.addBlock(blockX, blockY, 0, length, logs, length);
+	}
+
+	/**
+	 * Finds the position of a regression model in the list of models.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return int - the index of the model
+	 */
+	private static int indexOf(int regressionType)
+	{
+		for(int m = 0; m < MODELS.length; m++)
+		{
+			if(MODELS[m] == regressionType)
+				return m;
+		}
+		throw new IllegalArgumentException("Regression type must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential.");
+	}
+
+	/**
+	 * Returns the mean squared error of a model on the points it was not fitted to
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double - the mean squared error over every point
+	 */
+	public double getMeanSquaredError(int regressionType)
+	{
+		return meanSquaredErrors[indexOf(regressionType)];
+	}
+
+	/**
+	 * Returns the out-of-sample R<sup>2</sup> of a model, 1 minus the summation of its squared errors on the points it was not fitted to divided by the
+	 * summation of the squared deviations of <i>y</i>. Unlike R<sup>2</sup> of the data itself, it can be negative if the model predicts worse than the mean.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double - the out-of-sample R<sup>2</sup>
+	 */
+	public double getRSquared(int regressionType)
+	{
+		return rSquared[indexOf(regressionType)];
+	}
+
+	/**
+	 * Returns the mean squared error of a model on each fold, predicted by the model fitted to the other folds
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double[] - the mean squared error of each fold
+	 */
+	public double[] getFoldErrors(int regressionType)
+	{
+		return foldErrors[indexOf(regressionType)].clone();
+	}
+
+	/**
+	 * Returns the regression model with the lowest mean squared error. Models whose error is <code>NaN</code> (for ex. the power model when some <i>x</i> &le; 0)
+	 * are never chosen unless every error is <code>NaN</code>.
+	 * @return int - the best model, 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 */
+	public int getBest()
+	{
+		int best = 0;
+		for(int m = 1; m < MODELS.length; m++)
+		{
+			if(meanSquaredErrors[m] < meanSquaredErrors[best] || Double.isNaN(meanSquaredErrors[best]))
+				best = m;
+		}
+		return MODELS[best];
+	}
+
+	/**
+	 * Returns the number of folds
+	 * @return int - the number of folds
+	 */
+	public int getFolds()
+	{
+		return folds;
+	}
+
+	/**
+	 * Returns the number of points that were cross validated
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+}
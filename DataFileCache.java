@@ -0,0 +1,525 @@
+package regressionAnalysisCalc;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+/**
+ * Data File Cache keeps a binary copy of a parsed data file next to it (the cache file, named after the data file with ".cache" added), so that the file can be
+ * opened again without parsing its text. The cache file holds, in little-endian order:
+ * <ul><li>a header with the size and last-modified time of the data file it was made from, the number of pairs, the number of decimal places of each variable
+ * (see <code>AnalysisLibrary.maxNumDecimalPlaces()</code>), the summary of each variable (see <code>AnalysisLibrary.describe()</code>) and the covariance</li>
+ * <li>the header line of the data file, the line numbers of its bad values and its partial statistics: their moments and the levels of their quantile sketches,
+ * written field by field rather than serialized, so reading a cache file never creates any object it names (see <code>PartialStatistics.put()</code>)</li>
+ * <li>the independent values and then the dependent values, each as a column of doubles starting on a multiple of 8 bytes.</li></ul>
+ *
+ * <p>A cache file is only used if the size and last-modified time of the data file are the same as when it was made, so editing the data file makes its cache
+ * file stale and it is made again. The columns are memory-mapped rather than read, so opening a cache file only reads its header, however many values it holds,
+ * and the columns can be read in place with <code>getIndependentBuffer()</code>. <code>getIndependentValues()</code> copies a column into memory the first time
+ * it is called, with one bulk copy. The cache file is written to a temporary file that is then moved over it, so a cache file that is being written is never
+ * read. If it cannot be written, for ex. in a read-only directory, the data file is still read as usual. A cache file that cannot be read or is not valid is
+ * treated the same as a stale one.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class DataFileCache
+{
+	public static final String EXTENSION = ".cache"; //added to the name of a data file to name its cache file
+
+	private static final long MAGIC = 0x3145484341434152L; //"RACACHE1" in little-endian order
+	private static final int VERSION = 2; //version of the format of the cache file
+	private static final int FIXED_LENGTH = 64; //number of bytes of the header before the summaries
+	private static final int NUM_SUMMARY_VALUES = 7; //number of values stored for the summary of each variable
+	private static final int BLOCK_SIZE = 1 << 20; //number of bytes of a column written at a time
+	private static final long MAX_COLUMN_BYTES = Integer.MAX_VALUE; //largest column that can be mapped at once
+
+	//the data file the values were read from
+	private final long sourceSize; //size of the data file in bytes
+	private final long sourceModified; //last-modified time of the data file in milliseconds
+	private final boolean cached; //whether the values were read from the cache file rather than parsed
+
+	//contents of the data file
+	private final String header; //first line of the data file, or null if it is empty
+	private final long count; //number of pairs
+	private final long numBadLines; //number of values that were not numbers
+	private final long[] badLines; //line numbers of the first bad values
+	private final int dpX; //number of decimal places of the independent variable
+	private final int dpY; //number of decimal places of the dependent variable
+	private final DescriptiveStatistics xStats; //summary of the independent variable
+	private final DescriptiveStatistics yStats; //summary of the dependent variable
+	private final double covariance; //sample covariance of the variables
+	private final PartialStatistics statistics; //moments and quantile sketches of the data
+	private final DoubleBuffer independentBuffer; //independent values, mapped from the cache file or wrapping an array
+	private final DoubleBuffer dependentBuffer; //dependent values, mapped from the cache file or wrapping an array
+	private DoubleColumn independentValues; //independent values in memory, copied from the cache file when first needed
+	private DoubleColumn dependentValues; //dependent values in memory, copied from the cache file when first needed
+
+	/**
+	 * Creates the contents of a data file (see <code>read()</code>).
+	 * @param sourceSize the size of the data file in bytes
+	 * @param sourceModified the last-modified time of the data file in milliseconds
+	 * @param cached whether the values were read from the cache file
+	 * @param header the first line of the data file, or <code>null</code>
+	 * @param count the number of pairs
+	 * @param numBadLines the number of values that were not numbers
+	 * @param badLines the line numbers of the first bad values
+	 * @param dpX the number of decimal places of the independent variable
+	 * @param dpY the number of decimal places of the dependent variable
+	 * @param xStats the summary of the independent variable
+	 * @param yStats the summary of the dependent variable
+	 * @param covariance the sample covariance of the variables
+	 * @param statistics the moments and quantile sketches of the data
+	 * @param independentBuffer the independent values
+	 * @param dependentBuffer the dependent values
+	 */
+	private DataFileCache(long sourceSize, long sourceModified, boolean cached, String header, long count, long numBadLines, long[] badLines, int dpX, int dpY,
+		DescriptiveStatistics xStats, DescriptiveStatistics yStats, double covariance, PartialStatistics statistics, DoubleBuffer independentBuffer,
+		DoubleBuffer dependentBuffer)
+	{
+		this.sourceSize = sourceSize;
+		this.sourceModified = sourceModified;
+		this.cached = cached;
+		this.header = header;
+		this.count = count;
+		this.numBadLines = numBadLines;
+		this.badLines = badLines;
+		this.dpX = dpX;
+		this.dpY = dpY;
+		this.xStats = xStats;
+		this.yStats = yStats;
+		this.covariance = covariance;
+		this.statistics = statistics;
+		this.independentBuffer = independentBuffer;
+		this.dependentBuffer = dependentBuffer;
+	}
+
+	/**
+	 * Returns the path of the cache file of a data file
+	 * @param file the path of the data file
+	 * @return Path - the path of its cache file, in the same directory
+	 */
+	public static Path sidecarOf(Path file)
+	{
+		return file.resolveSibling(file.getFileName().toString() + EXTENSION);
+	}
+
+	/**
+	 * Reads a data file from its cache file if it has a valid one, or otherwise parses it (see <code>DataFileParser</code>) and writes its cache file.
+	 * A cache file is only written if the header of the data file is formatted correctly and it has at least one pair of values.
+	 * @param file the path of the data file
+	 * @return DataFileCache - the contents of the data file
+	 * @throws IOException if the data file cannot be opened or read
+	 */
+	public static DataFileCache read(Path file) throws IOException
+	{
+		DataFileCache cache = open(file);
+		if(cache != null)
+			return cache;
+
+		//the size and time are found before the file is parsed, so a change made while it is parsed makes the cache file stale
+		long size = Files.size(file);
+		long modified = Files.getLastModifiedTime(file).toMillis();
+		cache = of(DataFileParser.parse(file), size, modified);
+
+		if(cache.getAxisInfo() != null && cache.count > 0 && 8 * cache.count <= MAX_COLUMN_BYTES)
+		{
+			try
+			{
+				cache.save(sidecarOf(file));
+			}
+			catch(IOException e) //the values are still used if the cache file cannot be written
+			{
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Finds the contents of a data file that has just been parsed: its decimal places, summaries and partial statistics.
+	 * @param parser the parser that read the data file
+	 * @param size the size of the data file in bytes
+	 * @param modified the last-modified time of the data file in milliseconds
+	 * @return DataFileCache - the contents of the data file, whose values are the columns of <code>parser</code>
+	 */
+	private static DataFileCache of(DataFileParser parser, long size, long modified)
+	{
+		DoubleColumn columnX = parser.getIndependentValues();
+		DoubleColumn columnY = parser.getDependentValues();
+		double[] dataX = columnX.array();
+		double[] dataY = columnY.array();
+		AnalysisWorkspace workspace = AnalysisWorkspace.forCurrentThread();
+
+		DataFileCache cache = new DataFileCache(size, modified, false, parser.getHeader(), parser.getCount(), parser.getNumBadLines(), parser.getBadLines(),
+			AnalysisLibrary.maxNumDecimalPlaces(dataX), AnalysisLibrary.maxNumDecimalPlaces(dataY), AnalysisLibrary.describe(dataX, workspace),
+			AnalysisLibrary.describe(dataY, workspace), AnalysisLibrary.covariance(dataX, dataY), PartialStatistics.of(dataX, dataY),
+			DoubleBuffer.wrap(dataX), DoubleBuffer.wrap(dataY));
+		cache.independentValues = columnX;
+		cache.dependentValues = columnY;
+		return cache;
+	}
+
+	/**
+	 * Opens the cache file of a data file, mapping its columns into memory without reading them.
+	 * @param file the path of the data file
+	 * @return DataFileCache - the contents of the data file, or <code>null</code> if it has no cache file, or its cache file is stale, not valid or cannot be read
+	 * @throws IOException if the size or last-modified time of the data file cannot be read
+	 */
+	public static DataFileCache open(Path file) throws IOException
+	{
+		Path sidecar = sidecarOf(file);
+		if(!Files.isRegularFile(sidecar))
+			return null;
+		long size = Files.size(file);
+		long modified = Files.getLastModifiedTime(file).toMillis();
+
+		try(FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			if(length < FIXED_LENGTH)
+				return null;
+
+			//checks that the cache file was made from the data file as it is now, and that its length matches its header
+			ByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+			if(fixed.getLong() != MAGIC || fixed.getInt() != VERSION)
+				return null;
+			int metadataLength = fixed.getInt();
+			if(fixed.getLong() != size || fixed.getLong() != modified)
+				return null;
+			long count = fixed.getLong();
+			long columnBytes = 8 * count;
+			if(metadataLength < FIXED_LENGTH || count < 0 || columnBytes > MAX_COLUMN_BYTES || length != metadataLength + 2 * columnBytes)
+				return null;
+			long numBadLines = fixed.getLong();
+			int dpX = fixed.getInt();
+			int dpY = fixed.getInt();
+			double covariance = fixed.getDouble();
+
+			ByteBuffer metadata = channel.map(FileChannel.MapMode.READ_ONLY, 0, metadataLength).order(ByteOrder.LITTLE_ENDIAN);
+			metadata.position(FIXED_LENGTH);
+			DescriptiveStatistics xStats = getSummary(metadata, count);
+			DescriptiveStatistics yStats = getSummary(metadata, count);
+			//checks each length against the bytes left in the header before allocating, so a damaged length cannot exhaust the heap
+			byte[] headerBytes = getBytes(metadata);
+			if(headerBytes == null)
+				return null;
+			String header = new String(headerBytes, StandardCharsets.UTF_8);
+			int numListedLines = metadata.getInt();
+			if(numListedLines < 0 || numListedLines > metadata.remaining()/8)
+				return null;
+			long[] badLines = new long[numListedLines];
+			for(int i = 0; i < badLines.length; i++)
+				badLines[i] = metadata.getLong();
+			ByteBuffer statisticsBytes = metadata.slice().order(ByteOrder.LITTLE_ENDIAN);
+			int statisticsLength = metadata.getInt();
+			if(statisticsLength < 0 || statisticsLength > metadata.remaining())
+				return null;
+			statisticsBytes.limit(statisticsLength + 4).position(4);
+			PartialStatistics statistics = PartialStatistics.get(statisticsBytes);
+			if(statisticsBytes.hasRemaining()) //the partial statistics are shorter than their length
+				return null;
+
+			DoubleBuffer independentBuffer = channel.map(FileChannel.MapMode.READ_ONLY, metadataLength, columnBytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+			DoubleBuffer dependentBuffer = channel.map(FileChannel.MapMode.READ_ONLY, metadataLength + columnBytes, columnBytes).order(ByteOrder.LITTLE_ENDIAN)
+				.asDoubleBuffer();
+			return new DataFileCache(size, modified, true, header, count, numBadLines, badLines, dpX, dpY, xStats, yStats, covariance, statistics,
+				independentBuffer, dependentBuffer);
+		}
+		catch(BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) //the header does not match its length
+		{
+			return null;
+		}
+		catch(IOException e) //the cache file cannot be read, so the data file is parsed instead
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the cache file, replacing any cache file that is already there.
+	 * @param sidecar the path of the cache file (see <code>sidecarOf()</code>)
+	 * @throws IOException if the cache file cannot be written
+	 */
+	public void save(Path sidecar) throws IOException
+	{
+		if(header == null)
+			throw new IllegalStateException("A data file with no header cannot be cached.");
+
+		byte[] headerBytes = header.getBytes(StandardCharsets.UTF_8);
+		int statisticsLength = statistics.byteLength();
+
+		//the header is padded so that the columns start on a multiple of 8 bytes
+		int metadataLength = FIXED_LENGTH + 2 * 8 * NUM_SUMMARY_VALUES + 4 + headerBytes.length + 4 + 8 * badLines.length + 4 + statisticsLength;
+		metadataLength = (metadataLength + 7) & ~7;
+		ByteBuffer metadata = ByteBuffer.allocate(metadataLength).order(ByteOrder.LITTLE_ENDIAN);
+		metadata.putLong(MAGIC).putInt(VERSION).putInt(metadataLength).putLong(sourceSize).putLong(sourceModified).putLong(count).putLong(numBadLines)
+			.putInt(dpX).putInt(dpY).putDouble(covariance);
+		putSummary(metadata, xStats);
+		putSummary(metadata, yStats);
+		metadata.putInt(headerBytes.length).put(headerBytes);
+		metadata.putInt(badLines.length);
+		for(long line : badLines)
+			metadata.putLong(line);
+		metadata.putInt(statisticsLength);
+		statistics.put(metadata);
+		metadata.rewind();
+
+		Path absolute = sidecar.toAbsolutePath();
+		Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+		try
+		{
+			try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				while(metadata.hasRemaining())
+					channel.write(metadata);
+				ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				writeColumn(channel, independentBuffer, block);
+				writeColumn(channel, dependentBuffer, block);
+			}
+			try
+			{
+				Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException e)
+			{
+				Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Writes a column of values to a channel a block at a time, in little-endian order.
+	 * @param channel the channel of the cache file
+	 * @param column the values
+	 * @param block a direct buffer in little-endian order that the values are copied through
+	 * @throws IOException if the channel cannot be written to
+	 */
+	private static void writeColumn(FileChannel channel, DoubleBuffer column, ByteBuffer block) throws IOException
+	{
+		DoubleBuffer values = column.duplicate();
+		values.rewind();
+		while(values.hasRemaining())
+		{
+			int length = Math.min(values.remaining(), block.capacity()/8);
+			DoubleBuffer part = values.duplicate();
+			part.limit(part.position() + length);
+			block.clear();
+			block.asDoubleBuffer().put(part);
+			block.limit(8 * length);
+			while(block.hasRemaining())
+				channel.write(block);
+			values.position(values.position() + length);
+		}
+	}
+
+	/**
+	 * Writes the summary of a variable to the header of the cache file.
+	 * @param metadata the header
+	 * @param stats the summary of the variable
+	 */
+	private static void putSummary(ByteBuffer metadata, DescriptiveStatistics stats)
+	{
+		metadata.putDouble(stats.getMean()).putDouble(stats.getSumSquaredDeviations()).putDouble(stats.getMin()).putDouble(stats.getMax())
+			.putDouble(stats.getMedian()).putDouble(stats.getQ1()).putDouble(stats.getQ3());
+	}
+
+	/**
+	 * Reads the summary of a variable from the header of the cache file.
+	 * @param metadata the header
+	 * @param count the number of values of the variable
+	 * @return DescriptiveStatistics - the summary of the variable
+	 */
+	private static DescriptiveStatistics getSummary(ByteBuffer metadata, long count)
+	{
+		return new DescriptiveStatistics(count, metadata.getDouble(), metadata.getDouble(), metadata.getDouble(), metadata.getDouble(), metadata.getDouble(),
+			metadata.getDouble(), metadata.getDouble());
+	}
+
+	/**
+	 * Reads an array of bytes, preceded by its length, from the header of the cache file.
+	 * @param metadata the header
+	 * @return byte[] - the bytes, or <code>null</code> if the length is negative or longer than the rest of the header
+	 */
+	private static byte[] getBytes(ByteBuffer metadata)
+	{
+		int length = metadata.getInt();
+		if(length < 0 || length > metadata.remaining())
+			return null;
+		byte[] bytes = new byte[length];
+		metadata.get(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Returns whether the values were read from the cache file rather than parsed from the data file
+	 * @return boolean - <code>true</code> if the cache file was used, otherwise <code>false</code>
+	 */
+	public boolean isCached()
+	{
+		return cached;
+	}
+
+	/**
+	 * Returns the first line of the data file
+	 * @return String - the header, or <code>null</code> if the data file is empty
+	 */
+	public String getHeader()
+	{
+		return header;
+	}
+
+	/**
+	 * Returns the names and units of the variables (see <code>DataFileParser.getAxisInfo()</code>)
+	 * @return String[] - {independent variable name, dependent variable name, unit of independent variable, unit of dependent variable}, or <code>null</code>
+	 * if the data file is empty or its header is not formatted correctly
+	 */
+	public String[] getAxisInfo()
+	{
+		return DataFileParser.splitHeader(header);
+	}
+
+	/**
+	 * Returns the number of pairs
+	 * @return long - the number of pairs
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the number of values that were not numbers (see <code>DataFileParser.getNumBadLines()</code>)
+	 * @return long - the number of bad values
+	 */
+	public long getNumBadLines()
+	{
+		return numBadLines;
+	}
+
+	/**
+	 * Returns the line numbers of the first bad values (see <code>DataFileParser.getBadLines()</code>)
+	 * @return long[] - the line numbers of the bad values
+	 */
+	public long[] getBadLines()
+	{
+		return badLines.clone();
+	}
+
+	/**
+	 * Returns the greatest number of decimal places of any independent value (see <code>AnalysisLibrary.maxNumDecimalPlaces()</code>)
+	 * @return int - the number of decimal places of <i>x</i>
+	 */
+	public int getIndependentDecimalPlaces()
+	{
+		return dpX;
+	}
+
+	/**
+	 * Returns the greatest number of decimal places of any dependent value (see <code>AnalysisLibrary.maxNumDecimalPlaces()</code>)
+	 * @return int - the number of decimal places of <i>y</i>
+	 */
+	public int getDependentDecimalPlaces()
+	{
+		return dpY;
+	}
+
+	/**
+	 * Returns the summary of the independent variable, the same as <code>AnalysisLibrary.describe()</code>
+	 * @return DescriptiveStatistics - the summary of <i>x</i>
+	 */
+	public DescriptiveStatistics getXStats()
+	{
+		return xStats;
+	}
+
+	/**
+	 * Returns the summary of the dependent variable, the same as <code>AnalysisLibrary.describe()</code>
+	 * @return DescriptiveStatistics - the summary of <i>y</i>
+	 */
+	public DescriptiveStatistics getYStats()
+	{
+		return yStats;
+	}
+
+	/**
+	 * Returns the sample covariance of the variables
+	 * @return double - the covariance of <i>x</i> and <i>y</i>
+	 */
+	public double getCovariance()
+	{
+		return covariance;
+	}
+
+	/**
+	 * Returns the moments and quantile sketches of the data (see <code>PartialStatistics</code>)
+	 * @return PartialStatistics - the partial statistics of the data
+	 */
+	public PartialStatistics getStatistics()
+	{
+		return statistics;
+	}
+
+	/**
+	 * Returns the independent values without copying them. If they were read from the cache file, they are read from it in place as they are used.
+	 * @return DoubleBuffer - a read-only buffer of the independent values
+	 */
+	public DoubleBuffer getIndependentBuffer()
+	{
+		return independentBuffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the dependent values without copying them (see <code>getIndependentBuffer()</code>).
+	 * @return DoubleBuffer - a read-only buffer of the dependent values
+	 */
+	public DoubleBuffer getDependentBuffer()
+	{
+		return dependentBuffer.asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the independent values in memory, copying them from the cache file the first time if they were read from it
+	 * @return DoubleColumn - the independent values, whose array is exactly as long as the column
+	 */
+	public DoubleColumn getIndependentValues()
+	{
+		if(independentValues == null)
+			independentValues = copyOf(independentBuffer);
+		return independentValues;
+	}
+
+	/**
+	 * Returns the dependent values in memory (see <code>getIndependentValues()</code>)
+	 * @return DoubleColumn - the dependent values, whose array is exactly as long as the column
+	 */
+	public DoubleColumn getDependentValues()
+	{
+		if(dependentValues == null)
+			dependentValues = copyOf(dependentBuffer);
+		return dependentValues;
+	}
+
+	/**
+	 * Copies a column of values into memory with one bulk copy.
+	 * @param buffer the values
+	 * @return DoubleColumn - a column of the values
+	 */
+	private static DoubleColumn copyOf(DoubleBuffer buffer)
+	{
+		double[] values = new double[buffer.capacity()];
+		DoubleBuffer source = buffer.duplicate();
+		source.rewind();
+		source.get(values);
+		return DoubleColumn.wrap(values);
+	}
+}
@@ -0,0 +1,523 @@
+package regressionAnalysisCalc;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+/**
+ * Data File Parser reads a data file in the format of the Regression Analysis Calculator (see README.txt), a header <code>xName@yName@xUnit@yUnit</code> on
+ * the first line followed by the values of the independent and dependent variable in pairs, separated by whitespace.
+ *
+ * <p>The file is read a block at a time through a <code>FileChannel</code> into a direct buffer, and each value is parsed from its bytes and stored straight into
+ * a <code>DoubleColumn</code>, without creating a <code>String</code> or <code>Double</code> for it. The values are read in the same way as
+ * <code>Scanner.nextDouble()</code>: the first value of each pair is the independent value and the second is the dependent value, whether or not they are on the
+ * same line. A value that is not a number is skipped along with the rest of its line, and the pair it belongs to is dropped; the line it was on is recorded so that
+ * it can be reported. A value left without a partner at the end of the file is dropped.</p>
+ *
+ * <p>A file that is too large to hold in memory can be streamed with <code>stream()</code> instead, where the pairs are not stored but passed a chunk at a
+ * time to a <code>ChunkHandler</code>, such as the accumulators of <code>StreamingAnalysis</code>. Only one chunk and one block of the file are held at once,
+ * so the memory used does not depend on the size of the file.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class DataFileParser
+{
+	private static final int BUFFER_SIZE = 1 << 16; //number of bytes read from the file at a time
+	private static final int INITIAL_CAPACITY = 1024; //number of points the columns can first hold
+	private static final int MAX_BAD_LINES = 1000; //most line numbers of bad values that are recorded
+	private static final int MAX_DIGITS = 18; //most significant digits that always fit in a long
+	private static final long MAX_EXACT = 1L << 53; //largest integer below which every integer is exactly a double
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+		1e17, 1e18, 1e19, 1e20, 1e21, 1e22}; //powers of ten that are exactly a double
+
+	//state of the file while it is read
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private byte[] bytes = new byte[BUFFER_SIZE]; //bytes of the file that have been read and not yet parsed, starting at index 0
+	private int limit = 0; //number of bytes held in bytes
+
+	//where the pairs are passed when the file is streamed, with the chunk they are gathered in
+	private final ChunkHandler handler; //null if the pairs are stored
+	private final double[] chunkX;
+	private final double[] chunkY;
+	private int chunkLength = 0; //number of pairs in the chunk
+
+	//contents of the file
+	private String header; //first line of the file, or null if the file is empty
+	private final DoubleColumn independentValues;
+	private final DoubleColumn dependentValues;
+	private long count = 0; //number of pairs read
+	private long[] badLines = new long[0]; //line numbers of the first MAX_BAD_LINES values that are not numbers
+	private long numBadLines = 0;
+
+	/**
+	 * Receives the pairs of a file that is streamed (see <code>stream()</code>), a chunk at a time.
+	 */
+	public interface ChunkHandler
+	{
+		/**
+		 * Receives the next chunk of pairs. The arrays are reused for the next chunk, so their values must not be kept.
+		 * @param dataX the independent values of the chunk, followed by unused space
+		 * @param dataY the dependent values of the chunk, followed by unused space
+		 * @param length the number of pairs in the chunk
+		 */
+		void accept(double[] dataX, double[] dataY, int length);
+	}
+
+	/**
+	 * Creates a parser that reads from an open file (see <code>parse()</code> and <code>stream()</code>).
+	 * @param channel the channel of the file
+	 * @param handler where each chunk of pairs is passed, or <code>null</code> if the pairs are stored
+	 * @param chunkSize the number of pairs in each chunk, if the pairs are passed to a handler
+	 */
+	private DataFileParser(FileChannel channel, ChunkHandler handler, int chunkSize)
+	{
+		this.channel = channel;
+		this.handler = handler;
+		if(handler == null)
+		{
+			chunkX = null;
+			chunkY = null;
+			independentValues = new DoubleColumn(INITIAL_CAPACITY);
+			dependentValues = new DoubleColumn(INITIAL_CAPACITY);
+		}
+		else
+		{
+			chunkX = new double[chunkSize];
+			chunkY = new double[chunkSize];
+			independentValues = new DoubleColumn(0);
+			dependentValues = new DoubleColumn(0);
+		}
+	}
+
+	/**
+	 * Reads a data file.
+	 * @param file the data file
+	 * @return DataFileParser - the header, values and bad lines of the file
+	 * @throws IOException if the file cannot be opened or read
+	 */
+	public static DataFileParser parse(File file) throws IOException
+	{
+		return parse(file.toPath());
+	}
+
+	/**
+	 * Reads a data file.
+	 * @param path the path of the data file
+	 * @return DataFileParser - the header, values and bad lines of the file
+	 * @throws IOException if the file cannot be opened or read
+	 */
+	public static DataFileParser parse(Path path) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			DataFileParser parser = new DataFileParser(channel, null, 0);
+			parser.read();
+			return parser;
+		}
+	}
+
+	/**
+	 * Reads a data file without storing its pairs, passing them to a handler in chunks instead, in the order they are read. The values of the returned parser
+	 * are empty, but its header, count and bad lines are those of the file.
+	 * @param path the path of the data file
+	 * @param chunkSize the number of pairs in each chunk, apart from the last
+	 * @param handler where each chunk of pairs is passed
+	 * @return DataFileParser - the header, count and bad lines of the file
+	 * @throws IOException if the file cannot be opened or read
+	 */
+	public static DataFileParser stream(Path path, int chunkSize, ChunkHandler handler) throws IOException
+	{
+		if(chunkSize < 1)
+			throw new IllegalArgumentException("chunkSize must be at least 1.");
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			DataFileParser parser = new DataFileParser(channel, handler, chunkSize);
+			parser.read();
+			return parser;
+		}
+	}
+
+	/**
+	 * Reads the header line and then every value of the file.
+	 * @throws IOException if the file cannot be read
+	 */
+	private void read() throws IOException
+	{
+		int position = 0; //index of the next byte to parse
+		boolean moreBytes = fill(0);
+
+		//finds the end of the first line, reading more of the file until it is found
+		while(true)
+		{
+			while(position < limit && bytes[position] != '\n')
+				position++;
+			if(position < limit || !moreBytes)
+				break;
+			moreBytes = fill(0);
+		}
+		if(limit == 0)
+			return;
+		int end = position > 0 && bytes[position - 1] == '\r' ? position - 1 : position;
+		header = new String(bytes, 0, end, Charset.defaultCharset());
+
+		long line = 1; //line number of the byte at position
+		boolean hasIndependent = false; //whether the independent value of the next pair has been read
+		double independent = 0.0;
+
+		while(true)
+		{
+			//skips whitespace, counting the lines passed
+			if(position == limit)
+			{
+				if(!moreBytes)
+					break;
+				moreBytes = fill(position);
+				position = 0;
+				continue;
+			}
+			byte b = bytes[position];
+			if(isWhitespace(b))
+			{
+				if(b == '\n')
+					line++;
+				position++;
+				continue;
+			}
+
+			//finds the end of the value, reading more of the file if it is cut off by the end of the bytes read
+			int start = position;
+			while(true)
+			{
+				while(position < limit && !isWhitespace(bytes[position]))
+					position++;
+				if(position < limit || !moreBytes)
+					break;
+				position -= start;
+				moreBytes = fill(start);
+				start = 0;
+			}
+
+			try
+			{
+				double value = parseDouble(bytes, start, position);
+				if(hasIndependent)
+					add(independent, value);
+				else
+					independent = value;
+				hasIndependent = !hasIndependent;
+			}
+			catch(NumberFormatException e) //drops the pair and skips to the end of the line, where the next value is read as an independent value
+			{
+				addBadLine(line);
+				hasIndependent = false;
+				while(true)
+				{
+					while(position < limit && bytes[position] != '\n')
+						position++;
+					if(position < limit || !moreBytes)
+						break;
+					moreBytes = fill(position);
+					position = 0;
+				}
+			}
+		}
+
+		if(chunkLength > 0)
+			handler.accept(chunkX, chunkY, chunkLength);
+		independentValues.trimToSize();
+		dependentValues.trimToSize();
+		badLines = Arrays.copyOf(badLines, (int)Math.min(numBadLines, MAX_BAD_LINES));
+	}
+
+	/**
+	 * Stores a pair, or adds it to the chunk if the file is streamed, passing the chunk to the handler once it is full.
+	 * @param x value of the independent variable
+	 * @param y value of the dependent variable
+	 */
+	private void add(double x, double y)
+	{
+		count++;
+		if(handler == null)
+		{
+			independentValues.add(x);
+			dependentValues.add(y);
+			return;
+		}
+		chunkX[chunkLength] = x;
+		chunkY[chunkLength] = y;
+		if(++chunkLength == chunkX.length)
+		{
+			handler.accept(chunkX, chunkY, chunkLength);
+			chunkLength = 0;
+		}
+	}
+
+	/**
+	 * Moves the bytes from <code>start</code> onwards to the beginning of the array, and reads more of the file after them. The array is doubled in length if
+	 * it is already full.
+	 * @param start index of the first byte to keep
+	 * @return boolean - <code>false</code> if the end of the file has been reached, otherwise <code>true</code>
+	 * @throws IOException if the file cannot be read
+	 */
+	private boolean fill(int start) throws IOException
+	{
+		int kept = limit - start;
+		if(kept == bytes.length)
+			bytes = Arrays.copyOf(bytes, 2*bytes.length);
+		else
+			System.arraycopy(bytes, start, bytes, 0, kept);
+		limit = kept;
+
+		buffer.clear();
+		buffer.limit(Math.min(BUFFER_SIZE, bytes.length - kept));
+		int read = channel.read(buffer);
+		if(read < 0)
+			return false;
+		buffer.flip();
+		buffer.get(bytes, kept, read);
+		limit += read;
+		return true;
+	}
+
+	/**
+	 * Counts a value that is not a number, recording its line number if fewer than <code>MAX_BAD_LINES</code> have been recorded.
+	 * @param line the line number, where the header is line 1
+	 */
+	private void addBadLine(long line)
+	{
+		if(numBadLines < MAX_BAD_LINES)
+		{
+			if(numBadLines == badLines.length)
+				badLines = Arrays.copyOf(badLines, (int)Math.max(16, 2*numBadLines));
+			badLines[(int)numBadLines] = line;
+		}
+		numBadLines++;
+	}
+
+	/**
+	 * Returns whether a byte is whitespace, which separates the values. Every ASCII control character and the space are whitespace.
+	 * @param b the byte
+	 * @return boolean - <code>true</code> if the byte is whitespace, otherwise <code>false</code>
+	 */
+	private static boolean isWhitespace(byte b)
+	{
+		return b >= 0 && b <= ' ';
+	}
+
+	/**
+	 * Parses a decimal number from ASCII bytes, in the form accepted by <code>Scanner.nextDouble()</code>: an optional sign, digits with an optional decimal
+	 * point, and an optional exponent, or <code>NaN</code> or <code>Infinity</code>. The result is the closest double to the number, the same as
+	 * <code>Double.parseDouble()</code>. A number with no more than 15 significant digits and an exponent of at most 22 in size, such as any value
+	 * written to a fixed number of decimal places, is found directly from its digits with one exact multiplication or division, and any other number is passed
+	 * to <code>Double.parseDouble()</code>.
+	 * @param bytes an array of type <code>byte</code> holding the number
+	 * @param from index of the first byte of the number
+	 * @param to index after the last byte of the number
+	 * @return double - the value of the number
+	 * @throws NumberFormatException if the bytes are not a number
+	 */
+	public static double parseDouble(byte[] bytes, int from, int to)
+	{
+		int i = from;
+		boolean negative = false;
+		if(i < to && (bytes[i] == '-' || bytes[i] == '+'))
+		{
+			negative = bytes[i] == '-';
+			i++;
+		}
+		if(matches(bytes, i, to, "NaN"))
+			return Double.NaN;
+		if(matches(bytes, i, to, "Infinity"))
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+
+		long mantissa = 0; //the first significant digits
+		int numDigits = 0; //number of significant digits in the mantissa
+		int exponent = 0; //power of ten the mantissa is multiplied by
+		boolean hasDigits = false;
+		boolean truncated = false; //whether any non-zero digit did not fit in the mantissa
+
+		//digits before the decimal point
+		for(; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++)
+		{
+			int digit = bytes[i] - '0';
+			hasDigits = true;
+			if(numDigits < MAX_DIGITS)
+			{
+				mantissa = 10*mantissa + digit;
+				if(mantissa > 0)
+					numDigits++;
+			}
+			else
+			{
+				exponent++;
+				truncated |= digit != 0;
+			}
+		}
+
+		//digits after the decimal point
+		if(i < to && bytes[i] == '.')
+		{
+			for(i++; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++)
+			{
+				int digit = bytes[i] - '0';
+				hasDigits = true;
+				if(numDigits < MAX_DIGITS)
+				{
+					mantissa = 10*mantissa + digit;
+					if(mantissa > 0)
+						numDigits++;
+					exponent--;
+				}
+				else
+					truncated |= digit != 0;
+			}
+		}
+		if(!hasDigits)
+			throw new NumberFormatException("Not a number: " + new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+
+		//exponent, which is limited so that it cannot overflow
+		if(i < to && (bytes[i] == 'e' || bytes[i] == 'E'))
+		{
+			i++;
+			boolean negativeExponent = false;
+			if(i < to && (bytes[i] == '-' || bytes[i] == '+'))
+			{
+				negativeExponent = bytes[i] == '-';
+				i++;
+			}
+			int start = i;
+			int value = 0;
+			for(; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++)
+				value = Math.min(10*value + (bytes[i] - '0'), 100000);
+			if(i == start)
+				throw new NumberFormatException("Not a number: " + new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+			exponent += negativeExponent ? -value : value;
+		}
+		if(i != to)
+			throw new NumberFormatException("Not a number: " + new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+
+		//a mantissa and power of ten that are both exact give the correctly rounded result with one operation
+		double result;
+		if(mantissa == 0)
+			result = 0.0;
+		else if(!truncated && mantissa < MAX_EXACT && exponent >= -22 && exponent <= 22)
+			result = exponent < 0 ? mantissa/POWERS_OF_TEN[-exponent] : mantissa*POWERS_OF_TEN[exponent];
+		else
+			return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.ISO_8859_1));
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Returns whether the bytes from <code>from</code> to <code>to</code> are exactly a word.
+	 * @param bytes an array of type <code>byte</code>
+	 * @param from index of the first byte
+	 * @param to index after the last byte
+	 * @param word the ASCII word
+	 * @return boolean - <code>true</code> if the bytes are the word, otherwise <code>false</code>
+	 */
+	private static boolean matches(byte[] bytes, int from, int to, String word)
+	{
+		if(to - from != word.length())
+			return false;
+		for(int i = 0; i < word.length(); i++)
+		{
+			if(bytes[from + i] != word.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the first line of the file, which holds the names and units of the variables, without its line separator
+	 * @return String - the header, or <code>null</code> if the file is empty
+	 */
+	public String getHeader()
+	{
+		return header;
+	}
+
+	/**
+	 * Returns the names and units of the variables in the header, which are separated by the first three "@" characters. Any "@" after the third is part of
+	 * the unit of the dependent variable.
+	 * @return String[] - {independent variable name, dependent variable name, unit of independent variable, unit of dependent variable}, or <code>null</code> if
+	 * the file is empty or the header has fewer than three "@" characters
+	 */
+	public String[] getAxisInfo()
+	{
+		return splitHeader(header);
+	}
+
+	/**
+	 * Splits a header into the names and units of the variables (see <code>getAxisInfo()</code>).
+	 * @param header the first line of a data file, or <code>null</code>
+	 * @return String[] - {independent variable name, dependent variable name, unit of independent variable, unit of dependent variable}, or <code>null</code> if
+	 * the header is <code>null</code> or has fewer than three "@" characters
+	 */
+	static String[] splitHeader(String header)
+	{
+		if(header == null)
+			return null;
+		String[] axisInfo = new String[4];
+		int start = 0;
+		for(int i = 0; i < 3; i++)
+		{
+			int end = header.indexOf('@', start);
+			if(end < 0)
+				return null;
+			axisInfo[i] = header.substring(start, end);
+			start = end + 1;
+		}
+		axisInfo[3] = header.substring(start);
+		return axisInfo;
+	}
+
+	/**
+	 * Returns the values of the independent variable, whose array is exactly as long as the column. The column is empty if the file was streamed.
+	 * @return DoubleColumn - the independent value of each pair read
+	 */
+	public DoubleColumn getIndependentValues()
+	{
+		return independentValues;
+	}
+
+	/**
+	 * Returns the values of the dependent variable, whose array is exactly as long as the column. The column is empty if the file was streamed.
+	 * @return DoubleColumn - the dependent value of each pair read
+	 */
+	public DoubleColumn getDependentValues()
+	{
+		return dependentValues;
+	}
+
+	/**
+	 * Returns the number of pairs read
+	 * @return long - the number of pairs
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the line number of each value that was not a number, in the order they were found, up to the first 1000. The header is line 1.
+	 * @return long[] - the line numbers of the bad values
+	 */
+	public long[] getBadLines()
+	{
+		return badLines.clone();
+	}
+
+	/**
+	 * Returns the number of values that were not numbers, including those whose line numbers were not recorded
+	 * @return long - the number of bad values
+	 */
+	public long getNumBadLines()
+	{
+		return numBadLines;
+	}
+}
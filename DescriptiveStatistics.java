@@ -0,0 +1,154 @@
+package regressionAnalysisCalc;
+/**
+ * Descriptive Statistics holds a summary of a single set of data: the number of values, arithmetic mean, variance, standard deviation, extrema, range, median
+ * and quartiles. A summary is created with <code>AnalysisLibrary.describe()</code>, which finds every value in a constant number of passes over the data, so
+ * it can be used in place of calling each method of <code>AnalysisLibrary</code> separately. All values are unrounded.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class DescriptiveStatistics
+{
+	private final long count; //number of values in the data set
+	private final double mean; //arithmetic mean
+	private final double sumSquaredDeviations; //summation of the squares of the deviations from the mean
+	private final double min; //lowest value
+	private final double max; //highest value
+	private final double median; //median
+	private final double q1; //median of the first half of the data
+	private final double q3; //median of the second half of the data
+
+	/**
+	 * Creates a summary from values that have already been calculated (see <code>AnalysisLibrary.describe()</code>).
+	 * @param count the number of values in the data set
+	 * @param mean the arithmetic mean
+	 * @param sumSquaredDeviations the summation of the squares of the deviations from the mean
+	 * @param min the lowest value
+	 * @param max the highest value
+	 * @param median the median
+	 * @param q1 the median of the first half of the data
+	 * @param q3 the median of the second half of the data
+	 */
+	DescriptiveStatistics(long count, double mean, double sumSquaredDeviations, double min, double max, double median, double q1, double q3)
+	{
+		this.count = count;
+		this.mean = mean;
+		this.sumSquaredDeviations = sumSquaredDeviations;
+		this.min = min;
+		this.max = max;
+		this.median = median;
+		this.q1 = q1;
+		this.q3 = q3;
+	}
+
+	/**
+	 * Returns the number of values in the data set
+	 * @return long - the number of values
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the arithmetic mean (average) of the data set
+	 * @return double - the value of the arithmetic mean
+	 */
+	public double getMean()
+	{
+		return mean;
+	}
+
+	/**
+	 * Returns the variance of the data set (see <code>AnalysisLibrary.variance()</code>).
+	 * @param isSample true if data represents a sample, false if data represents a census
+	 * @return double - the variance of the data set
+	 */
+	public double getVariance(boolean isSample)
+	{
+		if(isSample)
+			return sumSquaredDeviations/(count - 1);
+		return sumSquaredDeviations/count;
+	}
+
+	/**
+	 * Returns the standard deviation of the data set (see <code>AnalysisLibrary.stDev()</code>).
+	 * @param isSample true if data represents a sample, false if data represents a census
+	 * @return double - the standard deviation of the data set
+	 */
+	public double getStDev(boolean isSample)
+	{
+		return Math.sqrt(getVariance(isSample));
+	}
+
+	/**
+	 * Returns the summation of the squares of the deviations from the arithmetic mean
+	 * @return double - the summation of the squared deviations
+	 */
+	public double getSumSquaredDeviations()
+	{
+		return sumSquaredDeviations;
+	}
+
+	/**
+	 * Returns the lowest value of the data set
+	 * @return double - the minimum value
+	 */
+	public double getMin()
+	{
+		return min;
+	}
+
+	/**
+	 * Returns the highest value of the data set
+	 * @return double - the maximum value
+	 */
+	public double getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * Returns the range (difference between highest and lowest values) of the data set
+	 * @return double - the range of the data set
+	 */
+	public double getRange()
+	{
+		return max - min;
+	}
+
+	/**
+	 * Returns the median of the data set
+	 * @return double - the median
+	 */
+	public double getMedian()
+	{
+		return median;
+	}
+
+	/**
+	 * Returns Q1, the median of the first half of the data set. <code>NaN</code> if there are fewer than 2 values.
+	 * @return double - the first quartile
+	 */
+	public double getQ1()
+	{
+		return q1;
+	}
+
+	/**
+	 * Returns Q3, the median of the second half of the data set. <code>NaN</code> if there are fewer than 2 values.
+	 * @return double - the third quartile
+	 */
+	public double getQ3()
+	{
+		return q3;
+	}
+
+	/**
+	 * Returns the interquartile range (Q3 - Q1) of the data set
+	 * @return double - the interquartile range
+	 */
+	public double getInterquartileRange()
+	{
+		return q3 - q1;
+	}
+}
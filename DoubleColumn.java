@@ -0,0 +1,140 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+/**
+ * Double Column is a growable list of values of type <code>double</code>, stored in a primitive array rather than as <code>Double</code> objects, so that each value
+ * takes 8 bytes and can be read without unboxing. It holds the values of one variable of a data set as it is read (see <code>DataFileParser</code>) and as it is
+ * graphed (see <code>GraphingTool</code>).
+ *
+ * <p>The array the values are stored in is returned by <code>array()</code> without being copied, so that the values can be passed straight to the methods of
+ * <code>AnalysisLibrary</code>, which take an array of type <code>double</code>. After <code>trimToSize()</code>, the array is exactly as long as the column.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class DoubleColumn
+{
+	private static final int DEFAULT_CAPACITY = 16; //number of values an empty column can first hold
+
+	private double[] values; //the values, followed by unused space
+	private int size = 0; //number of values in the column
+
+	/**
+	 * Creates an empty column.
+	 */
+	public DoubleColumn()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty column that can hold a number of values before it has to grow.
+	 * @param capacity the number of values the column can first hold
+	 */
+	public DoubleColumn(int capacity)
+	{
+		if(capacity < 0)
+			throw new IllegalArgumentException("capacity must not be negative.");
+		values = new double[capacity];
+	}
+
+	/**
+	 * Creates a column that holds the values of an array. The array is not copied, and becomes the array of the column until it grows.
+	 * @param values an array of type <code>double</code>
+	 * @return DoubleColumn - a column of the values
+	 */
+	public static DoubleColumn wrap(double[] values)
+	{
+		DoubleColumn column = new DoubleColumn(0);
+		column.values = values;
+		column.size = values.length;
+		return column;
+	}
+
+	/**
+	 * Adds a value to the end of the column, doubling its capacity if it is full.
+	 * @param value the value
+	 */
+	public void add(double value)
+	{
+		if(size == values.length)
+			values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, 2*size));
+		values[size++] = value;
+	}
+
+	/**
+	 * Returns a value of the column
+	 * @param index the index of the value, from 0 to <code>size() - 1</code>
+	 * @return double - the value
+	 */
+	public double get(int index)
+	{
+		if(index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a column of " + size + " values.");
+		return values[index];
+	}
+
+	/**
+	 * Replaces a value of the column.
+	 * @param index the index of the value, from 0 to <code>size() - 1</code>
+	 * @param value the new value
+	 */
+	public void set(int index, double value)
+	{
+		if(index >= size)
+			throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for a column of " + size + " values.");
+		values[index] = value;
+	}
+
+	/**
+	 * Returns the number of values in the column
+	 * @return int - the number of values
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Returns whether the column has no values
+	 * @return boolean - <code>true</code> if the column is empty, otherwise <code>false</code>
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Removes every value of the column. Its capacity is kept, so that it can be refilled without growing.
+	 */
+	public void clear()
+	{
+		size = 0;
+	}
+
+	/**
+	 * Shrinks the array of the column to exactly the number of values, copying it only if it has unused space.
+	 */
+	public void trimToSize()
+	{
+		if(values.length != size)
+			values = Arrays.copyOf(values, size);
+	}
+
+	/**
+	 * Returns the array the values are stored in, which is not copied. Its first <code>size()</code> values are those of the column, and it is exactly
+	 * <code>size()</code> long after <code>trimToSize()</code>. The array is replaced when the column grows.
+	 * @return double[] - the array of the column
+	 */
+	public double[] array()
+	{
+		return values;
+	}
+
+	/**
+	 * Returns a copy of the values of the column
+	 * @return double[] - an array of the <code>size()</code> values
+	 */
+	public double[] toArray()
+	{
+		return Arrays.copyOf(values, size);
+	}
+}
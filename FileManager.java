@@ -4,12 +4,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.StringIndexOutOfBoundsException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Scanner;
 import java.util.NoSuchElementException;
-import java.util.InputMismatchException;
 import javax.imageio.ImageIO;
 import javax.swing.JOptionPane;
 import javax.swing.JFileChooser;
@@ -17,7 +13,7 @@ import javax.swing.JFrame;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 /** 
- * A class for opening and reading (.txt) text files using <code>Scanner</code> for the Regression Analysis Calculator, following a specified format (see README.txt), and writing image files (.png) or (.jpg).
+ * A class for opening and reading (.txt) text files using <code>DataFileParser</code> and <code>DataFileCache</code> for the Regression Analysis Calculator, following a specified format (see README.txt), and writing image files (.png) or (.jpg).
  * This class is not meant to be instantiated.
  * @version Jan 2021
  * @author Katelyn Lam
@@ -27,17 +23,22 @@ public class FileManager
 {
 	//initializes Scanner for reading files
 	private static Scanner inputReader = new Scanner(System.in); 
-	private static Scanner fileReader;
 	
 	private static String fileName; //name of the file
-	private static int lineCount = 0; //the number of lines in the file, used for tracking locations of errors
 	private static boolean fileOpened = false; //state of whether a file has been opened successfully (meaning data has been recorded and heading is correctly formatted)
 	private static File selectedFile; //file selected by JFileChooser
 	
-	/*creates two ArrayLists to represent the independent and dependent values. An ArrayList is used because the size of the data set is 
-	unknown, but calculations done in the AnalysisLibrary uses double[]*/
-	private static List<Double> independentValues = new ArrayList<Double>();
-	private static List<Double> dependentValues = new ArrayList<Double>();
+	/*creates two DoubleColumns to represent the independent and dependent values. A DoubleColumn is used because the size of the data set is 
+	unknown, and its array can be used for calculations done in the AnalysisLibrary. Each file read replaces the columns rather than clearing them,
+	so the columns of a previous file can still be used*/
+	private static DoubleColumn independentValues = new DoubleColumn();
+	private static DoubleColumn dependentValues = new DoubleColumn();
+	
+	//moments and quantile sketches of the data set, fed as each pair of values is read
+	private static PartialStatistics partialStatistics = new PartialStatistics();
+	
+	//contents of the last file read, including its summary statistics, read from its cache file if it has a valid one (see DataFileCache)
+	private static DataFileCache dataFile;
 	
 	//values of the names of the independent and dependent variable and their units
 	private static String independentVariable = "";
@@ -62,15 +63,6 @@ public class FileManager
         if (result == JFileChooser.APPROVE_OPTION)
         {
             selectedFile = fileOpener.getSelectedFile();
-			
-			try
-			{
-				fileReader = new Scanner(selectedFile);
-			}
-			catch(FileNotFoundException e)
-			{
-				JOptionPane.showMessageDialog(openFrame, "ERROR: Cannot find file.");
-			}
 			fileName = selectedFile.getName();
 			fileReader();
             saveDirectory(selectedFile.getParent()); //saves most recent directory
@@ -78,103 +70,104 @@ public class FileManager
 	}
 	
 	/**
-	 * Reads from a text file and sets the file name, values and units of independent and dependent variable. Each value of the 
+	 * Reads from the selected text file and sets the values and units of independent and dependent variable. Each value of the 
 	 * independent and dependent variables are stored as data points.
 	 */
 	public static void fileReader()
 	{
 		JFrame errorDialog = new JFrame();
-		boolean isValid = false;
-		boolean endOfFileReached = false;
-		String categories = " ";
-		double currentElement = 0.0;
-		lineCount = 0;
+		DataFileCache contents;
 		
 		//re-initialize data set
-		independentValues.clear();
-		dependentValues.clear();
+		independentValues = new DoubleColumn();
+		dependentValues = new DoubleColumn();
+		partialStatistics = new PartialStatistics();
+		dataFile = null;
 		
-		//reads every line of the file until end is reached
-		while(!endOfFileReached)
+		//a file that has been read before is reopened from its cache file without being parsed again
+		try
 		{
-			try
-			{
-				/*On the first line, looks for "@" character and stores values of variables before it.
-				Attempts to initialize values and units of independent and dependent variable. */
-				if(lineCount < 1)
-				{
-					categories = fileReader.nextLine();
-					int[] sentinelLocations = new int[3];
-					int index = 0;
-					
-					for(int i = 0; i < categories.length(); i++)
-					{
-						if(categories.substring(i,i+1).equals("@"))
-						{
-							sentinelLocations[index] = i;
-							index++;
-						}
-					}
-					
-					//Displays error message if header is not formatted correctly with 3 "@" characters separating the values
-					try
-					{
-						independentVariable = categories.substring(0,sentinelLocations[0]);
-						dependentVariable = categories.substring(sentinelLocations[0] + 1, sentinelLocations[1]);
-						independentUnit =categories.substring(sentinelLocations[1] + 1, sentinelLocations[2]);
-						dependentUnit = categories.substring(sentinelLocations[2] + 1, categories.length());
-					}
-					catch(StringIndexOutOfBoundsException e)
-					{
-						JOptionPane.showMessageDialog(errorDialog, "ERROR: Cannot format title. Please reformat. See Help(?) for details.");
-						endOfFileReached = true;
-					}
-				}
-				
-				//attempts to store values of independent and dependent variables for subsequent lines
-				else
-					readData();
-					
-				lineCount++;
-			}
-			catch(NoSuchElementException e) //stops reading the file once it reaches the end, returns to caller
-			{
-				endOfFileReached = true;
-				
-				if(independentValues.size() > 0)
-					fileOpened = true;
-				else
-					JOptionPane.showMessageDialog(errorDialog, "ERROR: File is formatted incorrectly. Please see Help(?) for details.");
-			}
+			contents = DataFileCache.read(selectedFile.toPath());
+		}
+		catch(IOException e)
+		{
+			JOptionPane.showMessageDialog(errorDialog, "ERROR: Cannot find file.");
+			return;
+		}
+		
+		if(contents.getHeader() == null)
+		{
+			JOptionPane.showMessageDialog(errorDialog, "ERROR: File is formatted incorrectly. Please see Help(?) for details.");
+			return;
 		}
+		
+		/*On the first line, the values and units of independent and dependent variable are separated by "@" characters.
+		Displays error message if header is not formatted correctly with 3 "@" characters separating the values */
+		String[] categories = contents.getAxisInfo();
+		if(categories == null)
+		{
+			JOptionPane.showMessageDialog(errorDialog, "ERROR: Cannot format title. Please reformat. See Help(?) for details.");
+			return;
+		}
+		independentVariable = categories[0];
+		dependentVariable = categories[1];
+		independentUnit = categories[2];
+		dependentUnit = categories[3];
+		
+		//if a value is not a double, its line is skipped and an error message is displayed
+		for(long line : contents.getBadLines())
+			JOptionPane.showMessageDialog(errorDialog, "ERROR: Bad data on line " + line + " See Help(?) for details.");
+		
+		//stores the values of independent and dependent variables for subsequent lines
+		independentValues = contents.getIndependentValues();
+		dependentValues = contents.getDependentValues();
+		partialStatistics = contents.getStatistics();
+		
+		if(independentValues.size() > 0)
+		{
+			dataFile = contents;
+			fileOpened = true;
+		}
+		else
+			JOptionPane.showMessageDialog(errorDialog, "ERROR: File is formatted incorrectly. Please see Help(?) for details.");
 	}
 	
 	/**
-	 * Reads the data values (as doubles) for the independent and dependent variable, and adds them to their corresponding list
+	 * Returns the contents of the last file read, whose decimal places and summary statistics were found when it was first parsed (see <code>DataFileCache</code>)
+	 * @return DataFileCache - the contents of the file, or <code>null</code> if it could not be read
 	 */
-	private static void readData()
+	public static DataFileCache getDataFile()
 	{
-		//reads the next double input on each line, assigns it either as a dependent (if is even element) or independent (if is odd element)
-		try
-		{
-			double currentElement = fileReader.nextDouble();
-						
-			if(lineCount % 2 == 0)
-				dependentValues.add(currentElement);
-			else
-				independentValues.add(currentElement);
-		}
-		catch(InputMismatchException e) //if input is not a double, the line is skipped and an error message is displayed
-		{
-			JFrame errorFrame = new JFrame();
-			JOptionPane.showMessageDialog(errorFrame, "ERROR: Bad data on line " + (lineCount + 3)/2 + " See Help(?) for details.");
-			fileReader.nextLine();
-			
-			if(lineCount % 2 == 0)
-				independentValues.remove(independentValues.size() - 1);
-			else
-				lineCount++;
-		}
+		return dataFile;
+	}
+	
+	/**
+	 * Returns a quantile sketch of the independent values of the last file read, which estimates their median, quartiles and percentiles
+	 * without sorting them (see <code>QuantileSketch</code>).
+	 * @return QuantileSketch - the sketch of the independent values
+	 */
+	public static QuantileSketch getIndependentSketch()
+	{
+		return partialStatistics.getIndependentSketch();
+	}
+	
+	/**
+	 * Returns a quantile sketch of the dependent values of the last file read (see <code>getIndependentSketch()</code>).
+	 * @return QuantileSketch - the sketch of the dependent values
+	 */
+	public static QuantileSketch getDependentSketch()
+	{
+		return partialStatistics.getDependentSketch();
+	}
+	
+	/**
+	 * Returns the partial statistics of the last file read, which can be merged with those of other files to analyze them together
+	 * without reading all of their values into memory (see <code>PartialStatistics</code>).
+	 * @return PartialStatistics - the moments and quantile sketches of the last file read
+	 */
+	public static PartialStatistics getPartialStatistics()
+	{
+		return partialStatistics;
 	}
 	
 	/**
@@ -322,9 +315,9 @@ public class FileManager
 	
 	/**
 	 * Returns the values of the independent variables of the data set
-	 * @return List<Double> a list of the independent values of the set of data read from the file
+	 * @return DoubleColumn a column of the independent values of the set of data read from the file, whose array is exactly as long as the column
 	 */
-	public static List<Double> getIndependentValues()
+	public static DoubleColumn getIndependentValues()
 	{
 		return independentValues;
 	}
@@ -332,9 +325,9 @@ public class FileManager
 	
 	/**
 	 * Returns the values of the dependent variables of the data set
-	 * @return List<Double> a list of the dependent values of the set of data read from the file
+	 * @return DoubleColumn a column of the dependent values of the set of data read from the file, whose array is exactly as long as the column
 	 */
-	public static List<Double> getDependentValues()
+	public static DoubleColumn getDependentValues()
 	{
 		return dependentValues;
 	}
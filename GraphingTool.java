@@ -14,9 +14,9 @@ import java.awt.RenderingHints;
 import java.awt.Stroke;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
-import java.util.LinkedList;
 import javax.swing.AbstractButton;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
@@ -143,35 +143,45 @@ import java.lang.Math;
 	private static String[] regressionLabels = {"N/A","Linear Regression", "Quadratic Regression", "Power Regression", "Exponential Regression"}; //formal representation of the names of each regression model
 	private static int accessorIndex = 0; //index of regressionLabels array (0 - 4)
 	private static double[] regArgs; //arguments for a chosen regression model
+	private static AnalysisCache analysis; //statistics, regression models and labels of the data set, found once for each version of the data set
+	private static long dataVersion = 0; //increased each time the data set is replaced
 	
 	//data set of independent and dependent variable values
-	private static List<Double> xData; //independent variable values
-    private static List<Double> yData; //dependent variable values
-	private static double[] xDataArray; //array form of xDataArray
-	private static double[] yDataArray; //array form of y-DataArra
+	private static DoubleColumn xData; //independent variable values
+    private static DoubleColumn yData; //dependent variable values
+	private static double[] xDataArray; //array of xData, which is not a copy
+	private static double[] yDataArray; //array of yData, which is not a copy
 	private static String[] variableInfo; //names and units of independent and dependent variables
 	
-	//Points for the graphed set of data
-	private static List<Double> graphX;
-	private static List<Double> graphY;
+	//Points for the graphed function
+	private static DoubleColumn graphX;
+	private static DoubleColumn graphY;
+	
+	//values of x and y of the graphed function, reused each time it is drawn
+	private static double[] functionX = new double[0];
+	private static double[] functionY = new double[0];
 	
 	//maximum number of decimal places for a given amount
 	private static int dpX;
 	private static int dpY;
 	
+	//summaries of the data set found when its file was first parsed (see DataFileCache), or null if they are found with the analysis
+	private static DescriptiveStatistics xStats;
+	private static DescriptiveStatistics yStats;
+	
 	/**
 	 * Constructor for interface. Initializes all buttons, combo boxes, and data lists 
 	 */
 	public GraphingTool() 
 	{
-		/*initializes lists that hold all independent and dependent values. A value
+		/*initializes columns that hold all independent and dependent values. A value
 		in xData corresponds to a value in yData with the same index*/
-		xData = new LinkedList<Double>();
-		yData = new LinkedList<Double>();
+		xData = new DoubleColumn();
+		yData = new DoubleColumn();
 		
-		//initializes lists for points displayed on the graph
-		graphX = new LinkedList<Double>();
-		graphY = new LinkedList<Double>();
+		//initializes columns for points of the function displayed on the graph, which are reused each time it is drawn
+		graphX = new DoubleColumn();
+		graphY = new DoubleColumn();
 
 		//creates open, save, and view data buttons and places on the window
 	    openButton = new JButton(openIcon);
@@ -243,53 +253,53 @@ import java.lang.Math;
 		
 		if(fileSelected)
 		{
-			//initializes values and draws a scatterplot
-			deepCopy(xData,graphX);
-			deepCopy(yData, graphY);
+			//draws a scatterplot of the data set
 			regressionList.setVisible(true);
 			drawAxes(minXValue, maxXValue, minYValue, maxYValue,g2);
 			drawAxesLabels(g2);
 			
-			List<Point> scatterPoints = determinePoints();
-			List<Point> linePoints = new LinkedList<Point>();
+			List<Point> scatterPoints = determinePoints(xData, yData);
+			List<Point> linePoints = new ArrayList<Point>();
 			drawGraph(false,scatterPoints,g2);
+			AnalysisCache analysis = getAnalysis();
+			ModelComparison models = analysis.getModels();
 		
 			//creates a linear regression
 			if(isLinearRegression)
 			{	
-				regArgs = AnalysisLibrary.linearRegression(xDataArray,yDataArray);
+				regArgs = models.getResult(1).getArguments();
 				createFunction(regArgs,1,20);
-				linePoints = determinePoints();
+				linePoints = determinePoints(graphX, graphY);
 				
 			}
 			
 			//creates a quadratic regression
 			else if(isQuadraticRegression)
 			{
-				regArgs = AnalysisLibrary.quadraticRegression(xDataArray,yDataArray);
+				regArgs = models.getResult(2).getArguments();
 				createFunction(regArgs,2,2000);
-				linePoints = determinePoints();
+				linePoints = determinePoints(graphX, graphY);
 			}
 			
 			//creates a power regression
 			else if(isPowerRegression)
 			{
-				regArgs = AnalysisLibrary.powerRegression(xDataArray,yDataArray);
+				regArgs = models.getResult(3).getArguments();
 				createFunction(regArgs,3,2000);
-				linePoints = determinePoints();
+				linePoints = determinePoints(graphX, graphY);
 			}
 			
 			//creates an exponential regression
 			else if(isExponentialRegression)
 			{
-				regArgs = AnalysisLibrary.exponentialRegression(xDataArray,yDataArray);
+				regArgs = models.getResult(4).getArguments();
 				createFunction(regArgs,4,2000);
-				linePoints = determinePoints();
+				linePoints = determinePoints(graphX, graphY);
 			}
 			
 			drawGraph(true,linePoints,g2); //draws a continuous function representing the selected regression model (none is drawn for no regression)
 		
-			//adds analysis of data on the right side (see AnalysisLibrary)
+			//adds analysis of data on the right side (see AnalysisCache), which is only found again when the data set changes
 			g2.setColor(Color.BLACK);
 			String fileName = "File: " + FileManager.getFileName();
 			String meanLabel = "Mean";
@@ -323,36 +333,40 @@ import java.lang.Math;
 			g2.drawString(fileName, width + hInfoPadding, vInfoPadding);
 			g2.drawString(meanLabel, width + hInfoPadding, vInfoPadding + wordPadding);
 			g2.drawString(xDataLabel, width + hInfoPadding + 10, vInfoPadding + 2*wordPadding);
-			int yMeanSpacing = drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.mean(xDataArray),dpX), width + hInfoPadding + 25,vInfoPadding +2*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			int yMeanSpacing = drawLabel(analysis.getLabel(AnalysisCache.MEAN_X), width + hInfoPadding + 25,vInfoPadding +2*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(yDataLabel, width + 2*hInfoPadding + yMeanSpacing + 35, vInfoPadding + 2*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.mean(yDataArray),dpY), width + 2*hInfoPadding + yMeanSpacing + 50,vInfoPadding +2*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.MEAN_Y), width + 2*hInfoPadding + yMeanSpacing + 50,vInfoPadding +2*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(medianLabel, width + hInfoPadding, vInfoPadding + 3*wordPadding);
 			g2.drawString(xDataLabel, width + hInfoPadding + 10, vInfoPadding + 4*wordPadding);
-			int yMedianSpacing = drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.median(xDataArray,false),dpX), width + hInfoPadding + 25,vInfoPadding +4*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			int yMedianSpacing = drawLabel(analysis.getLabel(AnalysisCache.MEDIAN_X), width + hInfoPadding + 25,vInfoPadding +4*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(yDataLabel, width + 2*hInfoPadding + yMedianSpacing + 35, vInfoPadding + 4*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.median(yDataArray,false),dpY), width + 2*hInfoPadding + yMedianSpacing + 50,vInfoPadding +4*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.MEDIAN_Y), width + 2*hInfoPadding + yMedianSpacing + 50,vInfoPadding +4*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(rangeLabel, width + 2*hInfoPadding + yMedianSpacing + 35, vInfoPadding + 5*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.range(yDataArray),dpY), width + 2*hInfoPadding + yMedianSpacing + 35 + rangeWidth,vInfoPadding +5*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.RANGE_Y), width + 2*hInfoPadding + yMedianSpacing + 35 + rangeWidth,vInfoPadding +5*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(q1Label, width + 2*hInfoPadding + yMedianSpacing + 35, vInfoPadding + 6*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.interquartileRange(yDataArray)[0],dpY), width + 2*hInfoPadding + yMedianSpacing + 35 + q1Width,vInfoPadding +6*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.Q1_Y), width + 2*hInfoPadding + yMedianSpacing + 35 + q1Width,vInfoPadding +6*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(q3Label, width + 2*hInfoPadding + yMedianSpacing + 35, vInfoPadding + 7*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.interquartileRange(yDataArray)[1],dpY), width + 2*hInfoPadding + yMedianSpacing + 35+ q3Width,vInfoPadding +7*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.Q3_Y), width + 2*hInfoPadding + yMedianSpacing + 35+ q3Width,vInfoPadding +7*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(interquartileRangeLabel, width + 2*hInfoPadding + yMedianSpacing + 35, vInfoPadding + 8*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.interquartileRange(yDataArray)[2],dpY), width + 2*hInfoPadding + yMedianSpacing + 35 + iqrWidth,vInfoPadding +8*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.IQR_Y), width + 2*hInfoPadding + yMedianSpacing + 35 + iqrWidth,vInfoPadding +8*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(varianceLabel, width + hInfoPadding, vInfoPadding + 9*wordPadding);
 			g2.drawString(xDataLabel, width + hInfoPadding + 10, vInfoPadding + 10*wordPadding);
-			int yVarSpacing = drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.variance(xDataArray,true),dpX), width + hInfoPadding + 25,vInfoPadding +10*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			int yVarSpacing = drawLabel(analysis.getLabel(AnalysisCache.VARIANCE_X), width + hInfoPadding + 25,vInfoPadding +10*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(yDataLabel, width + 2*hInfoPadding + yVarSpacing + 35, vInfoPadding + 10*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.variance(yDataArray,true),dpY), width + 2*hInfoPadding + yVarSpacing + 50,vInfoPadding +10*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.VARIANCE_Y), width + 2*hInfoPadding + yVarSpacing + 50,vInfoPadding +10*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(stDevLabel, width + hInfoPadding, vInfoPadding + 11*wordPadding);
 			g2.drawString(xDataLabel, width + hInfoPadding + 10, vInfoPadding + 12*wordPadding);
-			int yStDevSpacing = drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.stDev(xDataArray,true),dpX), width + hInfoPadding + 25,vInfoPadding +12*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			int yStDevSpacing = drawLabel(analysis.getLabel(AnalysisCache.STDEV_X), width + hInfoPadding + 25,vInfoPadding +12*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(yDataLabel, width + 2*hInfoPadding + yStDevSpacing + 35, vInfoPadding + 12*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.stDev(yDataArray,true),dpY), width + 2*hInfoPadding + yStDevSpacing + 50,vInfoPadding +12*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.STDEV_Y), width + 2*hInfoPadding + yStDevSpacing + 50,vInfoPadding +12*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(covarianceLabel, width + hInfoPadding, vInfoPadding + 13*wordPadding);
-			drawLabel(AnalysisLibrary.roundDecimal(AnalysisLibrary.covariance(xDataArray,yDataArray),dpY), width + hInfoPadding + covWidth,vInfoPadding +13*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
+			drawLabel(analysis.getLabel(AnalysisCache.COVARIANCE), width + hInfoPadding + covWidth,vInfoPadding +13*wordPadding + 1, Color.WHITE, Color.BLACK, g2);
 			g2.drawString(regressionLabel, width + hInfoPadding, vInfoPadding + 14*wordPadding);
 			
+			//shows which model has the highest adjusted R-squared next to the drop-down menu, the same model BatchAnalyzer reports as the best
+			String bestLabel = "(best: " + regressionTypes[models.getBest(ModelComparison.ADJUSTED_R_SQUARED).getRegressionType()] + ")";
+			g2.drawString(bestLabel, width + hInfoPadding + regWidth, vInfoPadding + 14*wordPadding);
+			
 			//adds extra labels about the selected regression model (r-value, rSquared, equation)
 			if(regressionSelected)
 			{
@@ -363,15 +377,7 @@ import java.lang.Math;
 				String exp = "";
 				int expLocation = 0;
 			
-				String terms[] = new String[regArgs.length];
-					
-				for(int i = 0; i < terms.length; i++)
-				{
-					if(regArgs[i] >= 0 && i > 0 && !isPowerRegression && !isExponentialRegression)
-						terms[i] = "+ " + AnalysisLibrary.roundDecimal(regArgs[i],3);
-					else 
-						terms[i] = AnalysisLibrary.roundDecimal(regArgs[i],3);
-				}
+				String terms[] = analysis.getTerms(accessorIndex);
 				
 				g2.drawString(equationLabel, width + hInfoPadding + 20, vInfoPadding + 16*wordPadding + 10);
 				g2.drawString(rFactorLabel, width + hInfoPadding + 20, vInfoPadding + 18*wordPadding + 10);
@@ -381,9 +387,9 @@ import java.lang.Math;
 				if(isLinearRegression)
 				{
 					equation = "y = " + terms[0]+"x " + terms[1];
-					rFactor = AnalysisLibrary.roundDecimal(AnalysisLibrary.rFactor(xDataArray,yDataArray),3);
-					String corrType = AnalysisLibrary.correlationType(Double.parseDouble(rFactor));
-					dRSquared = AnalysisLibrary.rSquared(xDataArray,yDataArray,1);
+					rFactor = analysis.getRFactorLabel(1);
+					String corrType = analysis.getCorrelationType();
+					dRSquared = models.getResult(1).getRSquared();
 					g2.drawString(corrTypeLabel, width + hInfoPadding + 20, vInfoPadding + 20*wordPadding + 10);
 					drawLabel(corrType, width + hInfoPadding + 25,vInfoPadding +20*wordPadding + 30, Color.WHITE, Color.BLACK, g2);
 					drawLabel(equation, width + hInfoPadding + 25,vInfoPadding +16*wordPadding + 30, Color.WHITE, Color.BLACK, g2);
@@ -396,7 +402,7 @@ import java.lang.Math;
 					expLocation = equation.length();
 					equation = equation + "x " + terms[1] + "x " + terms[2];
 					drawLabel(equation,exp, width + 10,vInfoPadding +16*wordPadding + 30, Color.WHITE, Color.BLACK, expLocation,g2);
-					dRSquared = AnalysisLibrary.rSquared(xDataArray,yDataArray,2);
+					dRSquared = models.getResult(2).getRSquared();
 				}
 				
 				else if(isPowerRegression)
@@ -406,7 +412,7 @@ import java.lang.Math;
 				    expLocation = equation.length() - exp.length() - 2;
 					drawLabel(equation,exp, width + hInfoPadding + 25,vInfoPadding +16*wordPadding + 30, Color.WHITE, Color.BLACK, expLocation,g2);
 					rFactor = terms[2];
-					dRSquared = AnalysisLibrary.rSquared(xDataArray,yDataArray,3);
+					dRSquared = models.getResult(3).getRSquared();
 				}
 				
 				else if(isExponentialRegression)
@@ -416,12 +422,12 @@ import java.lang.Math;
 					expLocation = equation.length() - 1;
 					drawLabel(equation,exp, width + hInfoPadding + 25,vInfoPadding +16*wordPadding + 30, Color.WHITE, Color.BLACK, expLocation,g2);
 					rFactor = terms[2];
-					dRSquared = AnalysisLibrary.rSquared(xDataArray,yDataArray,4);
+					dRSquared = models.getResult(4).getRSquared();
 				}
 				
 				
 				drawLabel(rFactor, width + hInfoPadding + 20 + rWidth,vInfoPadding +18*wordPadding + 10, Color.WHITE, Color.BLACK, g2);
-				rSquared = AnalysisLibrary.roundDecimal(dRSquared,3);
+				rSquared = analysis.getRSquaredLabel(accessorIndex);
 				drawLabel(rSquared, width + hInfoPadding + 20 + rSquaredWidth,vInfoPadding +19*wordPadding + 10, Color.WHITE, Color.BLACK, g2);
 				imageCopy = drawImageFile(scatterPoints,linePoints,equation,dRSquared,exp,expLocation); //creates a copy of the graph with regression model
 			}
@@ -441,18 +447,35 @@ import java.lang.Math;
 
 	/**
 	 * Resets the values of the independent and dependent variables in the data set
-	 * @param dataX a list of independent variable values
-	 * @param dataY a list of independent variable values
+	 * @param dataX a column of independent variable values, which must not be changed afterwards
+	 * @param dataY a column of dependent variable values, which must not be changed afterwards
+	 */
+    public void initializeData(DoubleColumn dataX, DoubleColumn dataY) 
+	{
+		initializeData(dataX, dataY, null);
+	}
+	
+	/**
+	 * Resets the values of the independent and dependent variables in the data set, using the decimal places and summaries found when their file was
+	 * first parsed rather than finding them again
+	 * @param dataX a column of independent variable values, which must not be changed afterwards
+	 * @param dataY a column of dependent variable values, which must not be changed afterwards
+	 * @param summary the contents of the file the values were read from (see <code>DataFileCache</code>), or <code>null</code> to find them from the values
 	 */
-    public void initializeData(List<Double> dataX, List<Double> dataY) 
+    public void initializeData(DoubleColumn dataX, DoubleColumn dataY, DataFileCache summary) 
 	{
-		//ensures that the values of xData and yData are copies of dataX and dataY, not just the same reference
-        deepCopy(dataX,xData);
-		deepCopy(dataY,yData);
+		//uses the same columns as dataX and dataY rather than copies, as FileManager replaces its columns for each file instead of changing them
+        xData = dataX;
+		yData = dataY;
+		
+		//uses the arrays of xData and yData to perform calculations, which are only copied if they have unused space
+		dataX.trimToSize();
+		dataY.trimToSize();
+		xDataArray = dataX.array();
+		yDataArray = dataY.array();
 		
-		//creates copies of xData and yData as arrays to perform calculations
-		xDataArray = dataStructureConversion(dataX);
-		yDataArray = dataStructureConversion(dataY);
+		//the analysis of the previous data set is found again the next time it is displayed
+		dataVersion++;
 		
 		//determines max and min values for each data set
 		minXValue = 0.0;
@@ -461,11 +484,43 @@ import java.lang.Math;
 		maxYValue = 0.0;
 		determineExtrema();
 		
+		//determines the maximum number of decimal places for each data set (to account for significant digits)
+		if(summary == null)
+		{
+			dpX = AnalysisLibrary.maxNumDecimalPlaces(xDataArray);
+			dpY = AnalysisLibrary.maxNumDecimalPlaces(yDataArray);
+			xStats = null;
+			yStats = null;
+		}
+		else
+		{
+			dpX = summary.getIndependentDecimalPlaces();
+			dpY = summary.getDependentDecimalPlaces();
+			xStats = summary.getXStats();
+			yStats = summary.getYStats();
+		}
+		
 		//resets the graph
         invalidate();
         this.repaint();
     }
 	
+	/**
+	 * Returns the analysis of the current data set, finding it again only if the data set has changed since it was last found.
+	 * @return AnalysisCache - the statistics, regression models and labels of the current data set
+	 */
+	private static AnalysisCache getAnalysis()
+	{
+		if(analysis == null || analysis.getVersion() != dataVersion)
+		{
+			if(xStats == null)
+				analysis = new AnalysisCache(dataVersion, xDataArray, yDataArray, dpX, dpY);
+			else
+				analysis = new AnalysisCache(dataVersion, xDataArray, yDataArray, dpX, dpY, xStats, yStats);
+		}
+		return analysis;
+	}
+	
 	/**
 	 * Determines the maximum and minimum values of the independent and dependent variables
 	 */
@@ -475,45 +530,45 @@ import java.lang.Math;
 		double yWidth; //range of y-axis
 		
 		//determines max and min values for the data set
-		for(int i = 0; i < xData.size(); i++)
+		for(int i = 0; i < xDataArray.length; i++)
 		{
-			if(xData.get(i) < minXValue || i == 0)
-				minXValue = xData.get(i);
+			if(xDataArray[i] < minXValue || i == 0)
+				minXValue = xDataArray[i];
 			
-			else if(xData.get(i) > maxXValue || i == 0)
-				maxXValue = xData.get(i);
+			else if(xDataArray[i] > maxXValue || i == 0)
+				maxXValue = xDataArray[i];
 			
-			if(yData.get(i) < minYValue || i == 0)
-				minYValue = yData.get(i);
+			if(yDataArray[i] < minYValue || i == 0)
+				minYValue = yDataArray[i];
 			
-			else if(yData.get(i) > maxYValue || i == 0)
-				maxYValue = yData.get(i);
+			else if(yDataArray[i] > maxYValue || i == 0)
+				maxYValue = yDataArray[i];
         }
 		
 		//determines buffer for the scale (extrema +/- 5%(minValue))
 		yBorder = 0.05 * minYValue;
 		xBorder = 0.05 * minXValue;
-		
-		//determines the maximum number of decimal places for each data set (to account for significant digits)
-		dpX = AnalysisLibrary.maxNumDecimalPlaces(xDataArray);
-		dpY = AnalysisLibrary.maxNumDecimalPlaces(yDataArray);
 	}
 	
 	/**
 	 * Determines a list of points drawn on the graph, expressed in terms of the scale of the interface.
-	 * The list of points is determined using <code>graphX</code> and <code>graphY</code>, which does not
-	 * necessarily have to equal the number of data points.
+	 * The list of points is determined using either the data set (<code>xData</code> and <code>yData</code>) or the graphed function
+	 * (<code>graphX</code> and <code>graphY</code>), which does not necessarily have to equal the number of data points.
+	 * @param pointsX - the values of <i>x</i> of the points
+	 * @param pointsY - the values of <i>y</i> of the points, the same size as <code>pointsX</code>
 	 * @return List<Point> - list of all points on the graph
 	 */
-	 private static List<Point> determinePoints()
+	 private static List<Point> determinePoints(DoubleColumn pointsX, DoubleColumn pointsY)
 	 {
-		 LinkedList<Point> graphPoints = new LinkedList<Point>();
+		 double[] valuesX = pointsX.array();
+		 double[] valuesY = pointsY.array();
+		 ArrayList<Point> graphPoints = new ArrayList<Point>(pointsX.size());
 		
-		//creates a list of points to be graphed with coordinate (xData value, yData value)
-        for (int i = 0; i < graphX.size(); i++) 
+		//creates a list of points to be graphed with coordinate (x value, y value)
+        for (int i = 0; i < pointsX.size(); i++) 
 		{
-            int x1 = Integer.parseInt(AnalysisLibrary.roundDecimal(((graphX.get(i)  - absLowestX)/xSectionWidth)* xScale + padding + labelPadding,0));
-            int y1 = Integer.parseInt(AnalysisLibrary.roundDecimal(((absMaxY - graphY.get(i))/ySectionWidth) * yScale + padding,0));
+            int x1 = (int)AnalysisLibrary.roundHalfUp(((valuesX[i]  - absLowestX)/xSectionWidth)* xScale + padding + labelPadding);
+            int y1 = (int)AnalysisLibrary.roundHalfUp(((absMaxY - valuesY[i])/ySectionWidth) * yScale + padding);
             graphPoints.add(new Point(x1,y1));
         }
 		return graphPoints;
@@ -880,54 +935,31 @@ import java.lang.Math;
 		double startXValue = absLowestX;
 		double finalXValue = absMaxX;
 		double xIncrement = (finalXValue - startXValue)/(double)numPoints; //amount x is increased by
-		double currentXValue;
-		double currentYValue;
 		
-		//adds each value of (x,y) as long as they are witbin the range of the set of axes. y is expressed as a function of x
+		//solves every value of y at once, as a function of x
+		if(functionX.length != numPoints + 1)
+		{
+			functionX = new double[numPoints + 1];
+			functionY = new double[numPoints + 1];
+		}
+		for(int i = 0; i <( numPoints + 1); i++)
+		{
+			functionX[i] = startXValue + i *xIncrement;
+		}
+		AnalysisLibrary.predict(args, regIndex, functionX, functionY);
+		
+		//adds each value of (x,y) as long as they are witbin the range of the set of axes. Values outside the domain of the function are NaN and never added
 		for(int i = 0; i <( numPoints + 1); i++)
 		{	
-			currentXValue = startXValue + i *xIncrement;
-			currentYValue = AnalysisLibrary.computeFunction(args,regIndex,true,currentXValue);
-			
-			if(currentYValue > absLowestY && currentYValue < absMaxY)
+			if(functionY[i] > absLowestY && functionY[i] < absMaxY)
 			{
-				graphX.add(currentXValue);
-				graphY.add(currentYValue);
+				graphX.add(functionX[i]);
+				graphY.add(functionY[i]);
 			}
 		}
 	 }
 
 	
-	/**
-	 * converts a List <Double> to a primitive double[]
-	 * @param list - list from which Double values are converted
-	 * @return double[] - contents of list as a primitive type double
-	 */
-	private static double[] dataStructureConversion(List<Double> list)
-   {
-		 double[] converted = new double[list.size()];
-		 for(int i = 0; i < list.size(); i++)
-		 {
-			converted[i] = list.get(i);
-		 }
-		 return converted;
-	 }
-	
-	/**
-	 * Copies all data from a source list to another list. This ensures that both the actual list and the source have 
-	 * the same values but different object references (hence a deep copy)
-	 * @param source - a list of type <code>Double</code> where the data is copied from
-	 * @param ref - The list where the data from <code>source</code> is copied to. Will be the same length as <code>source</code>
-	 */
-	private static void deepCopy(List<Double>source, List<Double>ref)
-	{
-		ref.clear();
-		for(int i = 0; i < source.size(); i++)
-		{
-			ref.add(i,source.get(i));
-		}
-	}
-	
 	/**
 	 * Event-handler for if a <code>JButton</code> is pressed or <code>JComboBox</code> is selected
 	 * @param e a recorded event when a user clicks on a <code>JComponent</code> with an <code>ActionListener</code>
@@ -944,7 +976,7 @@ import java.lang.Math;
 			while(FileManager.getFileName() == null);
 			
 			variableInfo = FileManager.getAxisInfo();
-			this.initializeData(FileManager.getIndependentValues(),FileManager.getDependentValues());
+			this.initializeData(FileManager.getIndependentValues(),FileManager.getDependentValues(),FileManager.getDataFile());
 			
 			if(FileManager.isFileOpened())
 				fileSelected = true;
@@ -0,0 +1,63 @@
+package regressionAnalysisCalc;
+/**
+ * Incremental Regression fits a regression model to a data set that grows one point at a time. Each call to <code>add()</code> updates the moments of the
+ * data (see <code>MomentAccumulator</code>) and solves the model again from them, so the arguments, <i>r</i> and R<sup>2</sup> are updated in constant time
+ * per point, however many points have been added. As the moments are updated with Welford's method, the results stay accurate over millions of points,
+ * including data far from the origin.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class IncrementalRegression
+{
+	private final MomentAccumulator moments = new MomentAccumulator(); //moments of every point added so far
+	private final int regressionType; //the regression model returned by add()
+
+	/**
+	 * Creates an empty incremental regression.
+	 * @param regressionType the regression model returned by <code>add()</code>. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 */
+	public IncrementalRegression(int regressionType)
+	{
+		this.regressionType = regressionType;
+	}
+
+	/**
+	 * Adds a point to the data set and refits the model.
+	 * @param x value of the independent variable
+	 * @param y value of the dependent variable
+	 * @return RegressionResult - the model fitted to every point added so far
+	 */
+	public RegressionResult add(double x, double y)
+	{
+		moments.add(x, y);
+		return moments.fit(regressionType);
+	}
+
+	/**
+	 * Returns the model fitted to every point added so far.
+	 * @return RegressionResult - the fitted model
+	 */
+	public RegressionResult getResult()
+	{
+		return moments.fit(regressionType);
+	}
+
+	/**
+	 * Returns another regression model fitted to every point added so far, which costs no more than the model chosen for <code>add()</code>.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return RegressionResult - the fitted model
+	 */
+	public RegressionResult getResult(int regressionType)
+	{
+		return moments.fit(regressionType);
+	}
+
+	/**
+	 * Returns the number of points that have been added
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return moments.getCount();
+	}
+}
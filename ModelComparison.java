@@ -0,0 +1,153 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+/**
+ * Model Comparison fits every regression model to the same data set at once and ranks them, so the best model is known immediately and switching between
+ * models does not require another fit. Every model is solved from the same <code>MomentAccumulator</code>, which takes a single pass over the data, and a model
+ * added to <code>MomentAccumulator.fit()</code> only needs to be added to the list of models here to be compared with the others. When the data itself is given,
+ * the power and exponential models are then refined into least squares fits of <i>y</i> (see <code>NonlinearRegression</code>). Only models whose scores are
+ * measured against <i>y</i> are ranked, as the scores of the log methods measure the fit of ln<i>y</i> instead.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class ModelComparison
+{
+	//integers used to refer to each way of ranking the models
+	public static final int R_SQUARED = 1;
+	public static final int ADJUSTED_R_SQUARED = 2;
+	public static final int AIC = 3;
+
+	//every regression model that is compared
+	private static final int[] MODELS = {AnalysisLibrary.LINEAR, AnalysisLibrary.QUADRATIC, AnalysisLibrary.POWER, AnalysisLibrary.EXPONENTIAL};
+
+	private final RegressionResult[] results; //fitted models in the order of MODELS
+
+	/**
+	 * Fits every regression model from the moments of a data set. The power and exponential models are solved by their log methods, so their R<sup>2</sup>,
+	 * adjusted R<sup>2</sup> and AIC are those of the transformed linear model, which measure the fit of ln<i>y</i> rather than <i>y</i>. These cannot be compared
+	 * with the scores of the linear and quadratic models, so only the linear and quadratic models are ranked (see <code>rank()</code>). The power and exponential
+	 * models are still available from <code>getResult()</code>.
+	 * @param moments the moments of the data set, which are not changed
+	 */
+	public ModelComparison(MomentAccumulator moments)
+	{
+		results = new RegressionResult[MODELS.length];
+		for(int i = 0; i < MODELS.length; i++)
+		{
+			results[i] = moments.fit(MODELS[i]);
+		}
+	}
+
+	/**
+	 * Fits every regression model from the moments of a data set, then replaces the models that were measured against <i>y</i> separately, so that they
+	 * are ranked with the others (for ex. the power and exponential models of a file too large for memory, see <code>StreamingAnalysis</code>).
+	 * @param moments the moments of the data set, which are not changed
+	 * @param measured the models whose R<sup>2</sup> is measured against <i>y</i>, each replacing the model of the same regression type
+	 */
+	ModelComparison(MomentAccumulator moments, RegressionResult[] measured)
+	{
+		this(moments);
+		for(int i = 0; i < MODELS.length; i++)
+		{
+			for(int j = 0; j < measured.length; j++)
+			{
+				if(MODELS[i] == measured[j].getRegressionType())
+					results[i] = measured[j];
+			}
+		}
+	}
+
+	/**
+	 * Fits every regression model to a data set. The linear and quadratic models are solved from the moments of the data, and the power and exponential
+	 * models are fitted by least squares starting from their log methods, so every R<sup>2</sup> is measured against <i>y</i> itself.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 */
+	public ModelComparison(double[] dataX, double[] dataY)
+	{
+		this(AnalysisLibrary.moments(dataX, dataY));
+		for(int i = 0; i < MODELS.length; i++)
+		{
+			if(MODELS[i] == AnalysisLibrary.POWER || MODELS[i] == AnalysisLibrary.EXPONENTIAL)
+			{
+				double[] start = results[i].getArguments();
+				results[i] = NonlinearRegression.fit(dataX, dataY, MODELS[i], start, NonlinearRegression.DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE).toResult();
+			}
+		}
+	}
+
+	/**
+	 * Returns one of the fitted models
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return RegressionResult - the fitted model, or null if the model is not supported
+	 */
+	public RegressionResult getResult(int regressionType)
+	{
+		for(int i = 0; i < MODELS.length; i++)
+		{
+			if(MODELS[i] == regressionType)
+				return results[i];
+		}
+		return null;
+	}
+
+	/**
+	 * Ranks the fitted models from best to worst. Models whose score is <code>NaN</code> (for ex. the power model when some <i>x</i> &le; 0) are ranked last,
+	 * and models with the same score keep the order of their regression type. Models solved by a log method (see <code>RegressionResult.isLogMethod()</code>)
+	 * are left out, as their scores measure the fit of ln<i>y</i>, so the linear and quadratic models are always ranked.
+	 * @param criterion the score used to rank the models. Must be 1 - R<sup>2</sup>, 2 - adjusted R<sup>2</sup>, 3 - AIC
+	 * @return RegressionResult[] - the fitted models whose scores are measured against <i>y</i>, from best to worst
+	 */
+	public RegressionResult[] rank(int criterion)
+	{
+		if(criterion < R_SQUARED || criterion > AIC)
+			throw new IllegalArgumentException("Criterion must be 1 - R-squared, 2 - adjusted R-squared, 3 - AIC.");
+
+		int numRanked = 0;
+		for(int i = 0; i < results.length; i++)
+		{
+			if(!results[i].isLogMethod())
+				numRanked++;
+		}
+		RegressionResult[] ranking = new RegressionResult[numRanked];
+		numRanked = 0;
+		for(int i = 0; i < results.length; i++)
+		{
+			if(!results[i].isLogMethod())
+				ranking[numRanked++] = results[i];
+		}
+		Arrays.sort(ranking, (a, b) -> Double.compare(score(b, criterion), score(a, criterion)));
+		return ranking;
+	}
+
+	/**
+	 * Returns the best fitted model
+	 * @param criterion the score used to rank the models. Must be 1 - R<sup>2</sup>, 2 - adjusted R<sup>2</sup>, 3 - AIC
+	 * @return RegressionResult - the model ranked first by <code>rank()</code>
+	 */
+	public RegressionResult getBest(int criterion)
+	{
+		return rank(criterion)[0];
+	}
+
+	/**
+	 * Finds the score of a fitted model, where a higher score is a better model. The AIC is negated, as a lower AIC is better.
+	 * @param result the fitted model
+	 * @param criterion the score used to rank the models. Must be 1 - R<sup>2</sup>, 2 - adjusted R<sup>2</sup>, 3 - AIC
+	 * @return double - the score, or negative infinity if the score is <code>NaN</code>
+	 */
+	private static double score(RegressionResult result, int criterion)
+	{
+		double score = 0.0;
+
+		if(criterion == R_SQUARED)
+			score = result.getRSquared();
+		else if(criterion == ADJUSTED_R_SQUARED)
+			score = result.getAdjustedRSquared();
+		else if(criterion == AIC)
+			score = -result.getAIC();
+
+		if(Double.isNaN(score))
+			return Double.NEGATIVE_INFINITY;
+		return score;
+	}
+}
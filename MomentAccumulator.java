@@ -0,0 +1,662 @@
+package regressionAnalysisCalc;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+/**
+ * Moment Accumulator collects the sufficient statistics of a two-variable data set in one pass, so that every regression model in <code>AnalysisLibrary</code>
+ * (linear, quadratic, power and exponential), along with <i>r</i> and R<sup>2</sup>, can be solved from it without another pass over the data.
+ *
+ * <p>Instead of raw power sums such as &Sigma;<i>x</i><sup>4</sup>, which lose most of their precision to cancellation when the mean is large compared to the spread,
+ * the accumulator keeps the means and the central moments (sums of products of deviations from the mean) of <i>x</i>, <i>y</i>, ln<i>x</i> and ln<i>y</i>.
+ * These are updated with each point using Welford's method, extended to the third and fourth order moments needed for the quadratic regression.
+ * Points with <i>x</i> &le; 0 or <i>y</i> &le; 0 make the power and/or exponential models <code>NaN</code>, as the logarithm is undefined.
+ * An accumulator reuses internal buffers, so it must not be used by more than one thread at a time.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class MomentAccumulator implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+	private static final int BLOCK_SIZE = 1024; //number of points whose moments are found together by addAll()
+	static final int BYTE_LENGTH = 8 * 15; //number of bytes written by put(), the count and 14 means and central moments
+
+	private long count; //number of points added
+
+	//arithmetic means of x, y, ln x and ln y
+	private double meanX;
+	private double meanY;
+	private double meanLnX;
+	private double meanLnY;
+
+	//central moments of x and y, where for ex. mXXY is the summation of (x - meanX)^2 * (y - meanY)
+	private double mXX;
+	private double mXY;
+	private double mYY;
+	private double mXXX;
+	private double mXXXX;
+	private double mXXY;
+
+	//central moments of the transformed variables used in the power (ln y vs ln x) and exponential (ln y vs x) models
+	private double mLnXLnX;
+	private double mLnXLnY;
+	private double mLnYLnY;
+	private double mXLnY;
+
+	//buffers reused by addAll() and the allocation-free methods, created when first needed
+	private transient MomentAccumulator block; //moments of the current block
+	private transient double[] logs; //ln x of the block at the start, ln y of the block from index BLOCK_SIZE
+	private transient double[] sums; //central moment sums of the block, also used to hold intermediate arguments
+
+	/**
+	 * Adds a point to the data set and updates every moment.
+	 * @param x value of the independent variable
+	 * @param y value of the dependent variable
+	 */
+	public void add(double x, double y)
+	{
+		double previousCount = count;
+		count++;
+		double n = count;
+		double lnX = Math.log(x);
+		double lnY = Math.log(y);
+
+		//deviations of the new point from the previous means
+		double dx = x - meanX;
+		double dy = y - meanY;
+		double dLnX = lnX - meanLnX;
+		double dLnY = lnY - meanLnY;
+		double dxn = dx/n;
+		double dyn = dy/n;
+		double weight = previousCount/n;
+		double term = dx * dxn * previousCount;
+
+		//higher order moments are updated first, as they depend on the previous values of the lower order moments
+		mXXXX = mXXXX + term * dxn * dxn * (n * n - 3 * n + 3) + 6 * dxn * dxn * mXX - 4 * dxn * mXXX;
+		mXXX = mXXX + term * dxn * (n - 2) - 3 * dxn * mXX;
+		mXXY = mXXY + term * dyn * (previousCount - 1) - dyn * mXX - 2 * dxn * mXY;
+
+		mXX = mXX + term;
+		mXY = mXY + dx * dy * weight;
+		mYY = mYY + dy * dy * weight;
+		mLnXLnX = mLnXLnX + dLnX * dLnX * weight;
+		mLnXLnY = mLnXLnY + dLnX * dLnY * weight;
+		mLnYLnY = mLnYLnY + dLnY * dLnY * weight;
+		mXLnY = mXLnY + dx * dLnY * weight;
+
+		meanX = meanX + dxn;
+		meanY = meanY + dyn;
+		meanLnX = meanLnX + dLnX/n;
+		meanLnY = meanLnY + dLnY/n;
+	}
+
+	/**
+	 * Adds every point of a two-variable data set.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 */
+	public void addAll(double[] dataX, double[] dataY)
+	{
+		addAll(dataX, dataY, 0, dataX.length);
+	}
+
+	/**
+	 * Adds the points in a range of a two-variable data set. Rather than updating the moments with each point, the range is split into blocks whose
+	 * moments are found with two passes through <code>VectorKernels</code> (the means, then the sums of the products of deviations from them), and each
+	 * block is then combined into this accumulator with <code>merge()</code>. Each block is small enough to stay in the cache between its two passes.
+	 * The buffers for a block are kept by the accumulator, so adding more points to the same accumulator does not allocate.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive)
+	 */
+	public void addAll(double[] dataX, double[] dataY, int from, int to)
+	{
+		if(logs == null)
+			logs = new double[2 * BLOCK_SIZE];
+
+		for(int start = from; start < to; start += BLOCK_SIZE)
+		{
+			int length = Math.min(BLOCK_SIZE, to - start);
+			for(int i = 0; i < length; i++)
+			{
+				logs[i] = Math.log(dataX[start + i]);
+				logs[BLOCK_SIZE + i] = Math.log(dataY[start + i]);
+			}
+			addBlock(dataX, dataY, start, length, logs, BLOCK_SIZE);
+		}
+	}
+
+	/**
+	 * Adds a block of points whose logarithms are already known, so that a caller adding the same points many times (see <code>Bootstrap</code>) only finds them once.
+	 * The block should be short enough to stay in the cache between the passes over it, such as the blocks of <code>addAll()</code>.
+	 * @param dataX the values of the independent variable
+	 * @param dataY the values of the dependent variable
+	 * @param start the index of the first point of the block in <code>dataX</code> and <code>dataY</code>
+	 * @param length the number of points in the block
+	 * @param logs ln<i>x</i> of each point of the block from index 0, and ln<i>y</i> of each point from index <code>lnYFrom</code>
+	 * @param lnYFrom the index of ln<i>y</i> of the first point in <code>logs</code>
+	 */
+	void addBlock(double[] dataX, double[] dataY, int start, int length, double[] logs, int lnYFrom)
+	{
+		if(block == null)
+			block = new MomentAccumulator();
+		double[] sums = sums();
+
+		//finds the means of the block, then its central moments
+		block.count = length;
+		block.meanX = VectorKernels.sum(dataX, start, length)/length;
+		block.meanY = VectorKernels.sum(dataY, start, length)/length;
+		block.meanLnX = VectorKernels.sum(logs, 0, length)/length;
+		block.meanLnY = VectorKernels.sum(logs, lnYFrom, length)/length;
+
+		VectorKernels.centralMomentSums(dataX, dataY, start, length, block.meanX, block.meanY, sums);
+		block.mXX = sums[0];
+		block.mXXX = sums[1];
+		block.mXXXX = sums[2];
+		block.mXY = sums[3];
+		block.mXXY = sums[4];
+		block.mYY = sums[5];
+		block.mLnXLnX = VectorKernels.centeredProductSum(logs, 0, block.meanLnX, logs, 0, block.meanLnX, length);
+		block.mLnXLnY = VectorKernels.centeredProductSum(logs, 0, block.meanLnX, logs, lnYFrom, block.meanLnY, length);
+		block.mLnYLnY = VectorKernels.centeredProductSum(logs, lnYFrom, block.meanLnY, logs, lnYFrom, block.meanLnY, length);
+		block.mXLnY = VectorKernels.centeredProductSum(dataX, start, block.meanX, logs, lnYFrom, block.meanLnY, length);
+
+		merge(block);
+	}
+
+	/**
+	 * Combines the moments of another data set into this one, so that this accumulator holds the moments of both data sets together, the same as
+	 * if every point of <code>other</code> had been added. The moments are combined with the pairwise formulas of Chan et al., extended to the third and
+	 * fourth order (P&eacute;bay), which depend only on the counts, means and moments of each set.
+	 * @param other the moments of another data set, which is not changed
+	 */
+	public void merge(MomentAccumulator other)
+	{
+		if(other.count == 0)
+			return;
+
+		double countA = count;
+		double countB = other.count;
+		double n = countA + countB;
+
+		//differences between the means of the two data sets
+		double dx = other.meanX - meanX;
+		double dy = other.meanY - meanY;
+		double dLnX = other.meanLnX - meanLnX;
+		double dLnY = other.meanLnY - meanLnY;
+		double weight = countA * countB/n;
+		double skew = weight * (countA - countB)/n;
+
+		//higher order moments are combined first, as they depend on the lower order moments of each set
+		mXXXX = mXXXX + other.mXXXX + dx * dx * dx * dx * weight * (countA * countA - countA * countB + countB * countB)/(n * n)
+				+ 6 * dx * dx * (countA * countA * other.mXX + countB * countB * mXX)/(n * n) + 4 * dx * (countA * other.mXXX - countB * mXXX)/n;
+		mXXX = mXXX + other.mXXX + dx * dx * dx * skew + 3 * dx * (countA * other.mXX - countB * mXX)/n;
+		mXXY = mXXY + other.mXXY + dx * dx * dy * skew + dy * (countA * other.mXX - countB * mXX)/n + 2 * dx * (countA * other.mXY - countB * mXY)/n;
+
+		mXX = mXX + other.mXX + dx * dx * weight;
+		mXY = mXY + other.mXY + dx * dy * weight;
+		mYY = mYY + other.mYY + dy * dy * weight;
+		mLnXLnX = mLnXLnX + other.mLnXLnX + dLnX * dLnX * weight;
+		mLnXLnY = mLnXLnY + other.mLnXLnY + dLnX * dLnY * weight;
+		mLnYLnY = mLnYLnY + other.mLnYLnY + dLnY * dLnY * weight;
+		mXLnY = mXLnY + other.mXLnY + dx * dLnY * weight;
+
+		meanX = meanX + dx * countB/n;
+		meanY = meanY + dy * countB/n;
+		meanLnX = meanLnX + dLnX * countB/n;
+		meanLnY = meanLnY + dLnY * countB/n;
+		count = count + other.count;
+	}
+
+	/**
+	 * Removes the moments of a data set that was previously merged or added to this one, so that this accumulator holds the moments of the remaining points
+	 * (downdating), the reverse of <code>merge()</code>. The means of the remaining points are found first, then the formulas of <code>merge()</code> are solved
+	 * for the moments of the remaining points from the lowest order up. As with <code>remove()</code>, precision is lost if the remaining points have a much
+	 * smaller spread than the removed ones, which is not the case when the removed points are a random part of the data set (see <code>CrossValidation</code>).
+	 * @param other the moments of a data set whose points are all included in this one, which is not changed
+	 */
+	public void subtract(MomentAccumulator other)
+	{
+		if(other.count == 0)
+			return;
+		if(other.count >= count)
+		{
+			reset();
+			return;
+		}
+
+		double n = count;
+		double countB = other.count;
+		double countA = n - countB;
+
+		//means of the remaining points, and their differences from the means of the removed points
+		double remainingMeanX = (n * meanX - countB * other.meanX)/countA;
+		double remainingMeanY = (n * meanY - countB * other.meanY)/countA;
+		double remainingMeanLnX = (n * meanLnX - countB * other.meanLnX)/countA;
+		double remainingMeanLnY = (n * meanLnY - countB * other.meanLnY)/countA;
+		double dx = other.meanX - remainingMeanX;
+		double dy = other.meanY - remainingMeanY;
+		double dLnX = other.meanLnX - remainingMeanLnX;
+		double dLnY = other.meanLnY - remainingMeanLnY;
+		double weight = countA * countB/n;
+		double skew = weight * (countA - countB)/n;
+
+		//lower order moments are restored first, as the higher order moments depend on the lower order moments of the remaining points
+		mXX = mXX - other.mXX - dx * dx * weight;
+		mXY = mXY - other.mXY - dx * dy * weight;
+		mYY = mYY - other.mYY - dy * dy * weight;
+		mLnXLnX = mLnXLnX - other.mLnXLnX - dLnX * dLnX * weight;
+		mLnXLnY = mLnXLnY - other.mLnXLnY - dLnX * dLnY * weight;
+		mLnYLnY = mLnYLnY - other.mLnYLnY - dLnY * dLnY * weight;
+		mXLnY = mXLnY - other.mXLnY - dx * dLnY * weight;
+
+		mXXX = mXXX - other.mXXX - dx * dx * dx * skew - 3 * dx * (countA * other.mXX - countB * mXX)/n;
+		mXXY = mXXY - other.mXXY - dx * dx * dy * skew - dy * (countA * other.mXX - countB * mXX)/n - 2 * dx * (countA * other.mXY - countB * mXY)/n;
+		mXXXX = mXXXX - other.mXXXX - dx * dx * dx * dx * weight * (countA * countA - countA * countB + countB * countB)/(n * n)
+				- 6 * dx * dx * (countA * countA * other.mXX + countB * countB * mXX)/(n * n) - 4 * dx * (countA * other.mXXX - countB * mXXX)/n;
+
+		meanX = remainingMeanX;
+		meanY = remainingMeanY;
+		meanLnX = remainingMeanLnX;
+		meanLnY = remainingMeanLnY;
+		count = count - other.count;
+	}
+
+	/**
+	 * Removes a point that was previously added, updating every moment as if the point had never been added (downdating). The update is exact in
+	 * theory, but subtracting moments can lose precision when the remaining points have a much smaller spread than the removed ones, so a caller removing
+	 * points over a long run should periodically rebuild the moments from the remaining points (see <code>WindowedRegression</code>).
+	 * @param x value of the independent variable of the removed point
+	 * @param y value of the dependent variable of the removed point
+	 */
+	public void remove(double x, double y)
+	{
+		if(count <= 1)
+		{
+			reset();
+			return;
+		}
+
+		double n = count;
+		count--;
+		double remainingCount = count;
+		double lnX = Math.log(x);
+		double lnY = Math.log(y);
+
+		//restores the means of the remaining points, then finds the deviations of the removed point from them
+		meanX = meanX + (meanX - x)/remainingCount;
+		meanY = meanY + (meanY - y)/remainingCount;
+		meanLnX = meanLnX + (meanLnX - lnX)/remainingCount;
+		meanLnY = meanLnY + (meanLnY - lnY)/remainingCount;
+		double dx = x - meanX;
+		double dy = y - meanY;
+		double dLnX = lnX - meanLnX;
+		double dLnY = lnY - meanLnY;
+		double dxn = dx/n;
+		double dyn = dy/n;
+		double weight = remainingCount/n;
+		double term = dx * dxn * remainingCount;
+
+		//reverses add(), where lower order moments are restored first as the higher order moments depend on them
+		mXX = mXX - term;
+		mXY = mXY - dx * dy * weight;
+		mYY = mYY - dy * dy * weight;
+		mLnXLnX = mLnXLnX - dLnX * dLnX * weight;
+		mLnXLnY = mLnXLnY - dLnX * dLnY * weight;
+		mLnYLnY = mLnYLnY - dLnY * dLnY * weight;
+		mXLnY = mXLnY - dx * dLnY * weight;
+
+		mXXX = mXXX - term * dxn * (n - 2) + 3 * dxn * mXX;
+		mXXY = mXXY - term * dyn * (remainingCount - 1) + dyn * mXX + 2 * dxn * mXY;
+		mXXXX = mXXXX - term * dxn * dxn * (n * n - 3 * n + 3) - 6 * dxn * dxn * mXX + 4 * dxn * mXXX;
+	}
+
+	/**
+	 * Returns the buffer of 6 values used by <code>addAll()</code> and to hold intermediate arguments, creating it the first time it is needed.
+	 * @return double[] - the buffer
+	 */
+	private double[] sums()
+	{
+		if(sums == null)
+			sums = new double[6];
+		return sums;
+	}
+
+	/**
+	 * Removes every point, returning the accumulator to its initial state. The buffers used by <code>addAll()</code> are kept.
+	 */
+	public void reset()
+	{
+		count = 0;
+		meanX = 0.0;
+		meanY = 0.0;
+		meanLnX = 0.0;
+		meanLnY = 0.0;
+		mXX = 0.0;
+		mXY = 0.0;
+		mYY = 0.0;
+		mXXX = 0.0;
+		mXXXX = 0.0;
+		mXXY = 0.0;
+		mLnXLnX = 0.0;
+		mLnXLnY = 0.0;
+		mLnYLnY = 0.0;
+		mXLnY = 0.0;
+	}
+
+	/**
+	 * Writes the count, means and central moments to a buffer in the order they are declared, so that they can be stored without serialization (see
+	 * <code>DataFileCache</code>). The buffers used by <code>addAll()</code> are not written.
+	 * @param buffer the buffer, which must have <code>BYTE_LENGTH</code> bytes remaining
+	 */
+	void put(ByteBuffer buffer)
+	{
+		buffer.putLong(count).putDouble(meanX).putDouble(meanY).putDouble(meanLnX).putDouble(meanLnY);
+		buffer.putDouble(mXX).putDouble(mXY).putDouble(mYY).putDouble(mXXX).putDouble(mXXXX).putDouble(mXXY);
+		buffer.putDouble(mLnXLnX).putDouble(mLnXLnY).putDouble(mLnYLnY).putDouble(mXLnY);
+	}
+
+	/**
+	 * Reads an accumulator written by <code>put()</code> from a buffer.
+	 * @param buffer the buffer, in the same byte order it was written in
+	 * @return MomentAccumulator - the accumulator that was written
+	 * @throws IllegalArgumentException if the count is negative
+	 */
+	static MomentAccumulator get(ByteBuffer buffer)
+	{
+		MomentAccumulator moments = new MomentAccumulator();
+		moments.count = buffer.getLong();
+		if(moments.count < 0)
+			throw new IllegalArgumentException("The number of points must not be negative.");
+		moments.meanX = buffer.getDouble();
+		moments.meanY = buffer.getDouble();
+		moments.meanLnX = buffer.getDouble();
+		moments.meanLnY = buffer.getDouble();
+		moments.mXX = buffer.getDouble();
+		moments.mXY = buffer.getDouble();
+		moments.mYY = buffer.getDouble();
+		moments.mXXX = buffer.getDouble();
+		moments.mXXXX = buffer.getDouble();
+		moments.mXXY = buffer.getDouble();
+		moments.mLnXLnX = buffer.getDouble();
+		moments.mLnXLnY = buffer.getDouble();
+		moments.mLnYLnY = buffer.getDouble();
+		moments.mXLnY = buffer.getDouble();
+		return moments;
+	}
+
+	/**
+	 * Returns the number of points that have been added
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the arithmetic mean of the independent variable
+	 * @return double - the mean of <i>x</i>
+	 */
+	public double getMeanX()
+	{
+		return meanX;
+	}
+
+	/**
+	 * Returns the arithmetic mean of the dependent variable
+	 * @return double - the mean of <i>y</i>
+	 */
+	public double getMeanY()
+	{
+		return meanY;
+	}
+
+	/**
+	 * Returns the variance of the independent variable (see <code>AnalysisLibrary.variance()</code>)
+	 * @param isSample true if the data represents a sample, false if the data represents a census
+	 * @return double - the variance of <i>x</i>
+	 */
+	public double varianceX(boolean isSample)
+	{
+		if(isSample)
+			return mXX/(count - 1);
+		return mXX/count;
+	}
+
+	/**
+	 * Returns the variance of the dependent variable (see <code>AnalysisLibrary.variance()</code>)
+	 * @param isSample true if the data represents a sample, false if the data represents a census
+	 * @return double - the variance of <i>y</i>
+	 */
+	public double varianceY(boolean isSample)
+	{
+		if(isSample)
+			return mYY/(count - 1);
+		return mYY/count;
+	}
+
+	/**
+	 * Returns the sample covariance of the independent and dependent variables (see <code>AnalysisLibrary.covariance()</code>)
+	 * @return double - the covariance of <i>x</i> and <i>y</i>
+	 */
+	public double covariance()
+	{
+		return mXY/(count - 1);
+	}
+
+	/**
+	 * Returns the Pearson Correlation Coefficient (<i>r</i>) of the linear regression (see <code>AnalysisLibrary.rFactor()</code>)
+	 * @return double - the PCC of <i>x</i> and <i>y</i>
+	 */
+	public double rFactor()
+	{
+		return mXY/Math.sqrt(mXX * mYY);
+	}
+
+	/**
+	 * Solves the line of best fit <i>y = mx + b</i> (see <code>AnalysisLibrary.linearRegression()</code>)
+	 * @return double[] - an array of arguments for the line of best fit, represented as {slope(<i>m</i>), y-intercept(<i>b</i>)}
+	 */
+	public double[] linearRegression()
+	{
+		double[] linearArguments = new double[2];
+		return linearRegression(linearArguments);
+	}
+
+	/**
+	 * Solves the line of best fit <i>y = mx + b</i> into an array supplied by the caller (see <code>linearRegression()</code>)
+	 * @param arguments an array of at least 2 values, which is filled with {slope(<i>m</i>), y-intercept(<i>b</i>)}
+	 * @return double[] - <code>arguments</code>
+	 */
+	public double[] linearRegression(double[] arguments)
+	{
+		double slope = mXY/mXX;
+		arguments[0] = slope;
+		arguments[1] = meanY - slope * meanX;
+		return arguments;
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ax<sup>2</sup>+ bx + c</i> (see <code>AnalysisLibrary.quadraticRegression()</code>). The normal equations are solved for
+	 * the centered variable <i>t = x - </i>mean(<i>x</i>), where they reduce to a 2 &times; 2 system in the moments, and the arguments are then converted back to <i>x</i>.
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>c</i>}
+	 */
+	public double[] quadraticRegression()
+	{
+		double[] quadraticArguments = new double[3];
+		return quadraticRegression(quadraticArguments);
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ax<sup>2</sup>+ bx + c</i> into an array supplied by the caller (see <code>quadraticRegression()</code>)
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>c</i>}
+	 * @return double[] - <code>arguments</code>
+	 */
+	public double[] quadraticRegression(double[] arguments)
+	{
+		centeredQuadratic(arguments);
+		double alpha = arguments[0];
+		double beta = arguments[1];
+		double gamma = arguments[2];
+
+		//expands alpha(x - meanX)^2 + beta(x - meanX) + gamma into ax^2 + bx + c
+		arguments[0] = alpha;
+		arguments[1] = beta - 2 * alpha * meanX;
+		arguments[2] = (alpha * meanX - beta) * meanX + gamma;
+		return arguments;
+	}
+
+	/**
+	 * Solves the curve of best fit for the centered variable <i>t = x - </i>mean(<i>x</i>), represented as <i>y</i> = &alpha;<i>t</i><sup>2</sup> + &beta;<i>t</i> + &gamma;.
+	 * With <i>u = t</i><sup>2</sup> - mean(<i>t</i><sup>2</sup>), the normal equations for &alpha; and &beta; only involve the central moments of <i>t</i>, <i>u</i> and <i>y</i>.
+	 * @param centered an array of at least 3 values, which is filled with {&alpha;, &beta;, &gamma;}
+	 */
+	private void centeredQuadratic(double[] centered)
+	{
+		double sTT = mXX;
+		double sTU = mXXX;
+		double sUU = mXXXX - mXX * mXX/count;
+		double determinant = sTT * sUU - sTU * sTU;
+		double alpha = (sTT * mXXY - sTU * mXY)/determinant;
+		double beta = (mXY * sUU - sTU * mXXY)/determinant;
+		centered[0] = alpha;
+		centered[1] = beta;
+		centered[2] = meanY - alpha * mXX/count;
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ax<sup>b</sup></i> using the log-log method (see <code>AnalysisLibrary.logPowerRegression()</code>)
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>PCC</i>}. The PCC is for the linear regression of ln<i>y</i> vs ln<i>x</i>
+	 */
+	public double[] powerRegression()
+	{
+		double[] powArgs = new double[3];
+		return powerRegression(powArgs);
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ax<sup>b</sup></i> into an array supplied by the caller (see <code>powerRegression()</code>)
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>PCC</i>}
+	 * @return double[] - <code>arguments</code>
+	 */
+	public double[] powerRegression(double[] arguments)
+	{
+		double b = mLnXLnY/mLnXLnX;
+		double lnA = meanLnY - b * meanLnX;
+		arguments[0] = Math.exp(lnA);
+		arguments[1] = b;
+		arguments[2] = mLnXLnY/Math.sqrt(mLnXLnX * mLnYLnY);
+		return arguments;
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ab<sup>x</sup></i> using the log method (see <code>AnalysisLibrary.logExponentialRegression()</code>)
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>PCC</i>}. The PCC is for the linear regression of ln<i>y</i> vs <i>x</i>
+	 */
+	public double[] exponentialRegression()
+	{
+		double[] expArgs = new double[3];
+		return exponentialRegression(expArgs);
+	}
+
+	/**
+	 * Solves the curve of best fit <i>y = ab<sup>x</sup></i> into an array supplied by the caller (see <code>exponentialRegression()</code>)
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>PCC</i>}
+	 * @return double[] - <code>arguments</code>
+	 */
+	public double[] exponentialRegression(double[] arguments)
+	{
+		double lnB = mXLnY/mXX;
+		double lnA = meanLnY - lnB * meanX;
+		arguments[0] = Math.exp(lnA);
+		arguments[1] = Math.exp(lnB);
+		arguments[2] = mXLnY/Math.sqrt(mXX * mLnYLnY);
+		return arguments;
+	}
+
+	/**
+	 * Solves the arguments of a regression model.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double[] - the arguments of the model, in the same form as the corresponding method of <code>AnalysisLibrary</code>
+	 */
+	public double[] regression(int regressionType)
+	{
+		if(regressionType == AnalysisLibrary.LINEAR)
+			return linearRegression();
+		else if(regressionType == AnalysisLibrary.QUADRATIC)
+			return quadraticRegression();
+		else if(regressionType == AnalysisLibrary.POWER)
+			return powerRegression();
+		else if(regressionType == AnalysisLibrary.EXPONENTIAL)
+			return exponentialRegression();
+		return null;
+	}
+
+	/**
+	 * Solves the arguments of a regression model into an array supplied by the caller, without allocating.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param arguments an array of at least 3 values (2 for the linear model), which is filled with the arguments of the model
+	 * @return double[] - <code>arguments</code>, or null if the model is not supported
+	 */
+	public double[] regression(int regressionType, double[] arguments)
+	{
+		if(regressionType == AnalysisLibrary.LINEAR)
+			return linearRegression(arguments);
+		else if(regressionType == AnalysisLibrary.QUADRATIC)
+			return quadraticRegression(arguments);
+		else if(regressionType == AnalysisLibrary.POWER)
+			return powerRegression(arguments);
+		else if(regressionType == AnalysisLibrary.EXPONENTIAL)
+			return exponentialRegression(arguments);
+		return null;
+	}
+
+	/**
+	 * Determines the coefficient of determination, or R<sup>2</sup>, of a regression model (see <code>AnalysisLibrary.rSquared()</code>). For the quadratic model,
+	 * R<sup>2</sup> is the summation of the squares of the estimated deviations divided by the summation of the squares of the actual deviations, which is
+	 * (&alpha; &Sigma;<i>uy</i> + &beta; &Sigma;<i>ty</i>) / &Sigma;<i>yy</i> in terms of the centered moments.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double rSquared(int regressionType)
+	{
+		double rSquared = 0.0;
+
+		if(regressionType == AnalysisLibrary.LINEAR)
+		{
+			double rFactor = rFactor();
+			rSquared = rFactor * rFactor;
+		}
+		else if(regressionType == AnalysisLibrary.QUADRATIC)
+		{
+			double[] centered = sums();
+			centeredQuadratic(centered);
+			rSquared = (centered[0] * mXXY + centered[1] * mXY)/mYY;
+		}
+		else if(regressionType == AnalysisLibrary.POWER || regressionType == AnalysisLibrary.EXPONENTIAL)
+		{
+			double rFactor = regression(regressionType, sums())[2];
+			rSquared = rFactor * rFactor;
+		}
+		return rSquared;
+	}
+
+	/**
+	 * Fits a regression model, solving its arguments, PCC and R<sup>2</sup> from the moments. The PCC and R<sup>2</sup> of the power and exponential models are
+	 * those of their log methods (see <code>RegressionResult.isLogMethod()</code>).
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return RegressionResult - the fitted model
+	 */
+	public RegressionResult fit(int regressionType)
+	{
+		double[] arguments = regression(regressionType);
+		double rFactor = Double.NaN;
+
+		if(regressionType == AnalysisLibrary.LINEAR)
+			rFactor = rFactor();
+		else if(regressionType == AnalysisLibrary.POWER || regressionType == AnalysisLibrary.EXPONENTIAL)
+			rFactor = arguments[2];
+		boolean logMethod = regressionType == AnalysisLibrary.POWER || regressionType == AnalysisLibrary.EXPONENTIAL;
+		return new RegressionResult(regressionType, arguments, rFactor, rSquared(regressionType), count, logMethod);
+	}
+}
@@ -0,0 +1,405 @@
+package regressionAnalysisCalc;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+ * Multiple Regression fits a linear model with any number of independent variables, <i>y = b<sub>1</sub>x<sub>1</sub> + ... + b<sub>p</sub>x<sub>p</sub> + b<sub>0</sub></i>,
+ * by ordinary least squares, along with the standard error of each coefficient, R<sup>2</sup> and adjusted R<sup>2</sup>.
+ *
+ * <p>The data is given in column-major form, one array of values for each independent variable, so each variable is read sequentially. The variables are
+ * centered on their means and the normal equations <i>X</i><sup>T</sup><i>Xb = X</i><sup>T</sup><i>y</i> are built from the sums of the products of deviations,
+ * which are solved with a Cholesky decomposition. The sums are collected in blocks of rows small enough that the block of every variable stays in the cache
+ * while each pair of variables is multiplied, and the rows are split across the threads of a <code>ForkJoinPool</code> in the same way as
+ * <code>ParallelAnalysisLibrary</code>, so the results do not depend on the number of threads. Apart from the data itself, the memory used only depends on
+ * the number of variables, not the number of rows.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class MultipleRegression
+{
+	//number of values of all variables together in a block of rows, which is about the size of the L2 cache
+	private static final int BLOCK_VALUES = 32768;
+
+	private final double[] coefficients; //{b1, ..., bp, b0}
+	private final double[] standardErrors; //standard error of each coefficient, in the same order
+	private final double rSquared; //coefficient of determination
+	private final double adjustedRSquared; //R^2 adjusted for the number of independent variables
+	private final long count; //number of rows fitted
+
+	/**
+	 * Creates a fitted model (see <code>fit()</code>).
+	 * @param coefficients the coefficients, represented as {<i>b</i><sub>1</sub>, ..., <i>b<sub>p</sub></i>, <i>b</i><sub>0</sub>}
+	 * @param standardErrors the standard error of each coefficient, in the same order
+	 * @param rSquared the coefficient of determination
+	 * @param adjustedRSquared R<sup>2</sup> adjusted for the number of independent variables
+	 * @param count the number of rows fitted
+	 */
+	private MultipleRegression(double[] coefficients, double[] standardErrors, double rSquared, double adjustedRSquared, long count)
+	{
+		this.coefficients = coefficients;
+		this.standardErrors = standardErrors;
+		this.rSquared = rSquared;
+		this.adjustedRSquared = adjustedRSquared;
+		this.count = count;
+	}
+
+	/**
+	 * Fits a linear model on the common <code>ForkJoinPool</code>, splitting the rows with the default threshold of <code>ParallelAnalysisLibrary</code>.
+	 * @param columns an array with one array of type <code>double</code> for each independent variable, all the same length as <code>dataY</code>
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return MultipleRegression - the fitted model
+	 */
+	public static MultipleRegression fit(double[][] columns, double[] dataY)
+	{
+		return fit(columns, dataY, ForkJoinPool.commonPool(), ParallelAnalysisLibrary.DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Fits a linear model. If the independent variables are linearly dependent (for ex. one variable is a multiple of another), the coefficients are
+	 * not unique and every coefficient is <code>NaN</code>.
+	 * @param columns an array with one array of type <code>double</code> for each independent variable, all the same length as <code>dataY</code>
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param pool the <code>ForkJoinPool</code> that runs the summations
+	 * @param threshold the number of rows below which a summation is not split, which must be greater than 0
+	 * @return MultipleRegression - the fitted model
+	 */
+	public static MultipleRegression fit(double[][] columns, double[] dataY, ForkJoinPool pool, int threshold)
+	{
+		int predictors = columns.length;
+		int length = dataY.length;
+		if(predictors == 0)
+			throw new IllegalArgumentException("There must be at least 1 independent variable.");
+		for(int j = 0; j < predictors; j++)
+		{
+			if(columns[j].length != length)
+				throw new IllegalArgumentException("Every independent variable must have the same length as dataY.");
+		}
+		if(length <= predictors + 1)
+			throw new IllegalArgumentException("There must be more rows than coefficients.");
+		if(threshold <= 0)
+			throw new IllegalArgumentException("Threshold must be greater than 0.");
+
+		//the dependent variable is treated as one more column after the independent variables
+		double[][] data = new double[predictors + 1][];
+		System.arraycopy(columns, 0, data, 0, predictors);
+		data[predictors] = dataY;
+
+		double[] means = pool.invoke(new SumTask(data, 0, length, threshold));
+		for(int j = 0; j <= predictors; j++)
+		{
+			means[j] = means[j]/length;
+		}
+
+		//solves the centered normal equations, where the last row of the packed matrix holds X^T y and y^T y
+		double[] packed = pool.invoke(new GramTask(data, means, 0, length, threshold));
+		double[][] gram = new double[predictors][predictors];
+		double[] productsY = new double[predictors];
+		for(int i = 0; i < predictors; i++)
+		{
+			for(int j = 0; j <= i; j++)
+			{
+				gram[i][j] = packed[index(i, j)];
+				gram[j][i] = packed[index(i, j)];
+			}
+			productsY[i] = packed[index(predictors, i)];
+		}
+		double sumSquaredDeviations = packed[index(predictors, predictors)];
+		CholeskyDecomposition decomposition = new CholeskyDecomposition(gram);
+		double[] slopes = decomposition.solve(productsY);
+
+		//finds R^2 from the residuals rather than from the sums, which would lose precision to cancellation when the fit is close
+		double sumSquaredResiduals = pool.invoke(new ResidualTask(data, means, slopes, 0, length, threshold));
+		double rSquared = 1.0 - sumSquaredResiduals/sumSquaredDeviations;
+		double degreesOfFreedom = length - predictors - 1;
+		double adjustedRSquared = 1.0 - (1.0 - rSquared) * (length - 1)/degreesOfFreedom;
+
+		//the covariance matrix of the slopes is the residual variance times the inverse of the centered normal equations
+		double residualVariance = sumSquaredResiduals/degreesOfFreedom;
+		double[][] inverse = decomposition.inverse();
+		double[] coefficients = new double[predictors + 1];
+		double[] standardErrors = new double[predictors + 1];
+		double intercept = means[predictors];
+		double interceptVariance = 1.0/length;
+		for(int i = 0; i < predictors; i++)
+		{
+			coefficients[i] = slopes[i];
+			standardErrors[i] = Math.sqrt(residualVariance * inverse[i][i]);
+			intercept = intercept - slopes[i] * means[i];
+			for(int j = 0; j < predictors; j++)
+			{
+				interceptVariance = interceptVariance + means[i] * inverse[i][j] * means[j];
+			}
+		}
+		coefficients[predictors] = intercept;
+		standardErrors[predictors] = Math.sqrt(residualVariance * interceptVariance);
+		return new MultipleRegression(coefficients, standardErrors, rSquared, adjustedRSquared, length);
+	}
+
+	/**
+	 * Returns the index of row <code>i</code> and column <code>j <= i</code> in a lower triangular matrix packed row by row.
+	 * @param i the row
+	 * @param j the column, which must not be greater than <code>i</code>
+	 * @return int - the index in the packed array
+	 */
+	private static int index(int i, int j)
+	{
+		return i * (i + 1)/2 + j;
+	}
+
+	/**
+	 * Returns the number of rows in a block, so that the block of every column fits in the cache together.
+	 * @param columns the number of columns
+	 * @return int - the number of rows in a block
+	 */
+	private static int blockRows(int columns)
+	{
+		return Math.max(64, BLOCK_VALUES/columns);
+	}
+
+	/**
+	 * Estimates the dependent variable for the given values of the independent variables.
+	 * @param values the value of each independent variable, in the same order as the columns that were fitted
+	 * @return double - the estimated value of the dependent variable
+	 */
+	public double predict(double... values)
+	{
+		int predictors = coefficients.length - 1;
+		if(values.length != predictors)
+			throw new IllegalArgumentException("There must be one value for each independent variable.");
+
+		double estimate = coefficients[predictors];
+		for(int j = 0; j < predictors; j++)
+		{
+			estimate = estimate + coefficients[j] * values[j];
+		}
+		return estimate;
+	}
+
+	/**
+	 * Returns the coefficients of the model. The slope of each independent variable comes first, followed by the constant, which is the same order as the
+	 * arguments of <code>AnalysisLibrary.linearRegression()</code>.
+	 * @return double[] - an array of coefficients, represented as {<i>b</i><sub>1</sub>, ..., <i>b<sub>p</sub></i>, <i>b</i><sub>0</sub>}
+	 */
+	public double[] getCoefficients()
+	{
+		return coefficients.clone();
+	}
+
+	/**
+	 * Returns the standard error of each coefficient, which is the estimated standard deviation of the coefficient if the model were fitted to other samples.
+	 * @return double[] - an array of standard errors, in the same order as <code>getCoefficients()</code>
+	 */
+	public double[] getStandardErrors()
+	{
+		return standardErrors.clone();
+	}
+
+	/**
+	 * Returns the coefficient of determination (R<sup>2</sup>) of the model
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double getRSquared()
+	{
+		return rSquared;
+	}
+
+	/**
+	 * Returns R<sup>2</sup> adjusted for the number of independent variables, 1 - (1 - R<sup>2</sup>)(<i>n</i> - 1)/(<i>n - p</i> - 1), which only increases when
+	 * an added variable improves the fit more than would be expected by chance.
+	 * @return double - the adjusted value of R<sup>2</sup>
+	 */
+	public double getAdjustedRSquared()
+	{
+		return adjustedRSquared;
+	}
+
+	/**
+	 * Returns the number of independent variables
+	 * @return int - the number of independent variables
+	 */
+	public int getNumPredictors()
+	{
+		return coefficients.length - 1;
+	}
+
+	/**
+	 * Returns the number of rows that were fitted
+	 * @return long - the number of rows
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Sums each column over a range of rows.
+	 */
+	private static class SumTask extends RecursiveTask<double[]>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[][] data;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		SumTask(double[][] data, int from, int to, int threshold)
+		{
+			this.data = data;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		protected double[] compute()
+		{
+			//sums a short range sequentially
+			if(to - from <= threshold)
+			{
+				double[] sums = new double[data.length];
+				for(int j = 0; j < data.length; j++)
+				{
+					sums[j] = VectorKernels.sum(data[j], from, to - from);
+				}
+				return sums;
+			}
+
+			//splits a long range in half and adds the sums of the right half to the left half
+			int middle = (from + to) >>> 1;
+			SumTask leftTask = new SumTask(data, from, middle, threshold);
+			SumTask rightTask = new SumTask(data, middle, to, threshold);
+			leftTask.fork();
+			double[] right = rightTask.compute();
+			double[] left = leftTask.join();
+			for(int j = 0; j < left.length; j++)
+			{
+				left[j] = left[j] + right[j];
+			}
+			return left;
+		}
+	}
+
+	/**
+	 * Sums the products of the deviations of every pair of columns from their means over a range of rows, returned as a packed lower triangular matrix.
+	 */
+	private static class GramTask extends RecursiveTask<double[]>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[][] data;
+		private final double[] means;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		GramTask(double[][] data, double[] means, int from, int to, int threshold)
+		{
+			this.data = data;
+			this.means = means;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		protected double[] compute()
+		{
+			int columns = data.length;
+
+			//sums a short range sequentially, one block of rows at a time so each column is reused from the cache for every pair
+			if(to - from <= threshold)
+			{
+				double[] packed = new double[index(columns, 0)];
+				int blockRows = blockRows(columns);
+				for(int start = from; start < to; start += blockRows)
+				{
+					int length = Math.min(blockRows, to - start);
+					for(int i = 0; i < columns; i++)
+					{
+						for(int j = 0; j <= i; j++)
+						{
+							packed[index(i, j)] = packed[index(i, j)] + VectorKernels.centeredProductSum(data[i], start, means[i], data[j], start, means[j], length);
+						}
+					}
+				}
+				return packed;
+			}
+
+			//splits a long range in half and adds the sums of the right half to the left half
+			int middle = (from + to) >>> 1;
+			GramTask leftTask = new GramTask(data, means, from, middle, threshold);
+			GramTask rightTask = new GramTask(data, means, middle, to, threshold);
+			leftTask.fork();
+			double[] right = rightTask.compute();
+			double[] left = leftTask.join();
+			for(int k = 0; k < left.length; k++)
+			{
+				left[k] = left[k] + right[k];
+			}
+			return left;
+		}
+	}
+
+	/**
+	 * Sums the squares of the residuals of the fitted model over a range of rows.
+	 */
+	private static class ResidualTask extends RecursiveTask<Double>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[][] data;
+		private final double[] means;
+		private final double[] slopes;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		ResidualTask(double[][] data, double[] means, double[] slopes, int from, int to, int threshold)
+		{
+			this.data = data;
+			this.means = means;
+			this.slopes = slopes;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		protected Double compute()
+		{
+			int predictors = slopes.length;
+
+			//finds the residuals of a block of rows by subtracting the estimate of one column at a time, then sums their squares
+			if(to - from <= threshold)
+			{
+				int blockRows = blockRows(predictors + 1);
+				double[] residuals = new double[Math.min(blockRows, to - from)];
+				double sumSquaredResiduals = 0.0;
+				for(int start = from; start < to; start += blockRows)
+				{
+					int length = Math.min(blockRows, to - start);
+					double[] dataY = data[predictors];
+					double meanY = means[predictors];
+					for(int r = 0; r < length; r++)
+					{
+						residuals[r] = dataY[start + r] - meanY;
+					}
+					for(int j = 0; j < predictors; j++)
+					{
+						double[] column = data[j];
+						double slope = slopes[j];
+						double mean = means[j];
+						for(int r = 0; r < length; r++)
+						{
+							residuals[r] = residuals[r] - slope * (column[start + r] - mean);
+						}
+					}
+					sumSquaredResiduals = sumSquaredResiduals + VectorKernels.dot(residuals, 0, residuals, 0, length);
+				}
+				return sumSquaredResiduals;
+			}
+
+			//splits a long range in half and adds the sums of the two halves
+			int middle = (from + to) >>> 1;
+			ResidualTask left = new ResidualTask(data, means, slopes, from, middle, threshold);
+			ResidualTask right = new ResidualTask(data, means, slopes, middle, to, threshold);
+			left.fork();
+			double rightSum = right.compute();
+			return left.join() + rightSum;
+		}
+	}
+}
@@ -0,0 +1,424 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+/**
+ * Nonlinear Regression fits the power model <i>y = ax<sup>b</sup></i> and the exponential model <i>y = ab<sup>x</sup></i> by true least squares, minimizing the
+ * summation of the squared residuals of <i>y</i> itself rather than of ln<i>y</i> as the log methods do (see <code>AnalysisLibrary.logPowerRegression()</code>).
+ *
+ * <p>Both models are written as <i>y = a</i>e<sup><i>pu</i></sup>, where <i>u</i> = ln<i>x</i> and <i>p = b</i> for the power model, and <i>u = x</i> and
+ * <i>p</i> = ln<i>b</i> for the exponential model. They are solved with the Levenberg-Marquardt method, starting from the arguments of the log method, which are
+ * usually close. Each iteration takes one pass over the data, in which the residuals and the analytic Jacobian (&part;<i>y</i>/&part;<i>a</i> = e<sup><i>pu</i></sup>,
+ * &part;<i>y</i>/&part;<i>p</i> = <i>au</i>e<sup><i>pu</i></sup>) at the trial arguments are summed into the 2 &times; 2 normal equations for the next step, so no
+ * arrays are created while iterating. The fit has converged when a Gauss-Newton step is predicted to decrease the summation of the squared residuals by
+ * less than a relative tolerance. It stops without converging if the iteration or time budget runs out, or if no step can decrease the residuals (the fit has
+ * stalled), and the best arguments found so far are kept.</p>
+ *
+ * <p>The PCC of a fitted model (its <i>r</i>) is the square root of R<sup>2</sup>, with the sign of the PCC of its log method, so that it is negative when
+ * <i>y</i> decreases as <i>x</i> increases.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class NonlinearRegression
+{
+	public static final int DEFAULT_MAX_ITERATIONS = 100; //default largest number of iterations
+
+	private static final double INITIAL_DAMPING = 1e-3; //damping of the first step, which is close to a Gauss-Newton step
+	private static final double MAX_DAMPING = 1e12; //damping above which no step can decrease the residuals further
+	private static final double TOLERANCE = 1e-10; //decrease of the squared residuals predicted by a Gauss-Newton step, relative to them, below which the fit has converged
+	private static final double EXACT_TOLERANCE = 1e-24; //squared residuals, relative to the squared deviations of y, below which the model fits y exactly
+
+	//indices of the sums collected in one pass over the data
+	private static final int SSE = 0; //summation of the squared residuals
+	private static final int JAA = 1; //summation of (dy/da)^2
+	private static final int JAP = 2; //summation of (dy/da)(dy/dp)
+	private static final int JPP = 3; //summation of (dy/dp)^2
+	private static final int GA = 4; //summation of (dy/da) * residual
+	private static final int GP = 5; //summation of (dy/dp) * residual
+
+	//indices of the values of a fit in the array filled by solve(), after the arguments {a, b, r}
+	private static final int R_SQUARED = 3; //coefficient of determination
+	private static final int SUM_SQUARED_RESIDUALS = 4; //summation of the squared residuals of y
+	private static final int ITERATIONS = 5; //number of iterations taken
+	private static final int CONVERGED = 6; //1 if the fit converged, otherwise 0
+	static final int RESULT_LENGTH = 7; //length of the array filled by solve()
+
+	private final int regressionType; //3 - power, 4 - exponential
+	private final double[] arguments; //{a, b, r} in the same form as the log methods
+	private final double rSquared; //coefficient of determination
+	private final double sumSquaredResiduals; //summation of the squared residuals of y
+	private final int iterations; //number of iterations taken
+	private final boolean isConverged; //false if the iteration or time budget ran out first, or the fit stalled
+	private final long count; //number of points fitted
+
+	/**
+	 * Creates a fitted model (see <code>fit()</code>).
+	 * @param regressionType the regression model, 3 - power or 4 - exponential
+	 * @param arguments the arguments of the model, represented as {<i>a</i>,<i>b</i>,<i>r</i>}
+	 * @param rSquared the coefficient of determination
+	 * @param sumSquaredResiduals the summation of the squared residuals
+	 * @param iterations the number of iterations taken
+	 * @param isConverged true if the fit converged before the budget ran out
+	 * @param count the number of points fitted
+	 */
+	private NonlinearRegression(int regressionType, double[] arguments, double rSquared, double sumSquaredResiduals, int iterations, boolean isConverged, long count)
+	{
+		this.regressionType = regressionType;
+		this.arguments = arguments;
+		this.rSquared = rSquared;
+		this.sumSquaredResiduals = sumSquaredResiduals;
+		this.iterations = iterations;
+		this.isConverged = isConverged;
+		this.count = count;
+	}
+
+	/**
+	 * Fits a power or exponential model with the default iteration budget and no time budget, starting from the log method. A caller that fits the same data
+	 * again should keep the fitted model, or pass its arguments as the start of <code>fit(double[], double[], int, double[], int, long)</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 3 - power or 4 - exponential
+	 * @return NonlinearRegression - the fitted model
+	 */
+	public static NonlinearRegression fit(double[] dataX, double[] dataY, int regressionType)
+	{
+		double[] start = AnalysisLibrary.moments(dataX, dataY).regression(regressionType);
+		return fit(dataX, dataY, regressionType, start, DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Fits a power or exponential model with the default iteration budget and no time budget (see <code>fit(double[], double[], int)</code>) without allocating.
+	 * The log method, ln<i>x</i> and the sums of each iteration are held in the buffers of a workspace.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 3 - power or 4 - exponential
+	 * @param arguments an array of at least 3 values, which is filled with {<i>a</i>,<i>b</i>,<i>r</i>}
+	 * @param workspace the workspace whose buffers are reused by the fit
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	static double fit(double[] dataX, double[] dataY, int regressionType, double[] arguments, AnalysisWorkspace workspace)
+	{
+		double[] start = workspace.nonlinearStart();
+		AnalysisLibrary.moments(dataX, dataY, workspace.moments()).regression(regressionType, start);
+		double[] result = workspace.nonlinearResult();
+		solve(dataX, dataY, regressionType, start, DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE, workspace, result);
+		System.arraycopy(result, 0, arguments, 0, 3);
+		return result[R_SQUARED];
+	}
+
+	/**
+	 * Fits a power or exponential model. If the starting arguments are not finite (for ex. because some <i>y</i> &le; 0, where the log method is undefined),
+	 * the fit starts from the log method of the points with <i>y</i> &gt; 0, or if that is not finite either, from a constant model at the mean of <i>y</i>.
+	 * The power model requires every <i>x</i> &gt; 0, otherwise every argument is <code>NaN</code>, as the log-log method gives.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 3 - power or 4 - exponential
+	 * @param start the starting arguments {<i>a</i>,<i>b</i>}, for ex. from the log method (see <code>MomentAccumulator.regression()</code>)
+	 * @param maxIterations the largest number of iterations
+	 * @param timeBudget the longest time to spend iterating, in nanoseconds
+	 * @return NonlinearRegression - the fitted model, with the best arguments found if the budget ran out
+	 */
+	public static NonlinearRegression fit(double[] dataX, double[] dataY, int regressionType, double[] start, int maxIterations, long timeBudget)
+	{
+		double[] result = new double[RESULT_LENGTH];
+		solve(dataX, dataY, regressionType, start, maxIterations, timeBudget, null, result);
+		double[] arguments = {result[0], result[1], result[2]};
+		return new NonlinearRegression(regressionType, arguments, result[R_SQUARED], result[SUM_SQUARED_RESIDUALS], (int)result[ITERATIONS],
+			result[CONVERGED] == 1.0, dataX.length);
+	}
+
+	/**
+	 * Fits a power or exponential model (see <code>fit()</code>) into an array supplied by the caller. The buffers of the fit are taken from a workspace, or
+	 * created for this fit only if there is none, so that calls without a workspace do not keep a copy of ln<i>x</i> as large as the data.
+	 * @param dataX the values of the independent variable
+	 * @param dataY the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param regressionType the regression model. Must be 3 - power or 4 - exponential
+	 * @param start the starting arguments {<i>a</i>,<i>b</i>}, which are read before <code>result</code> is filled, so it may be the same array
+	 * @param maxIterations the largest number of iterations
+	 * @param timeBudget the longest time to spend iterating, in nanoseconds
+	 * @param workspace the workspace whose buffers are reused, or null to create the buffers
+	 * @param result an array of <code>RESULT_LENGTH</code> values, which is filled with {<i>a</i>,<i>b</i>,<i>r</i>} followed by the values indexed by
+	 * <code>R_SQUARED</code> to <code>CONVERGED</code>
+	 */
+	private static void solve(double[] dataX, double[] dataY, int regressionType, double[] start, int maxIterations, long timeBudget, AnalysisWorkspace workspace,
+		double[] result)
+	{
+		int length = dataX.length;
+		if(regressionType != AnalysisLibrary.POWER && regressionType != AnalysisLibrary.EXPONENTIAL)
+			throw new IllegalArgumentException("Regression type must be 3 - power or 4 - exponential.");
+		if(dataY.length != length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length.");
+		if(length < 2)
+			throw new IllegalArgumentException("There must be at least 2 points.");
+
+		long startTime = System.nanoTime();
+		boolean isPower = regressionType == AnalysisLibrary.POWER;
+		double meanY = AnalysisLibrary.mean(dataY);
+		double sumSquaredDeviations = VectorKernels.centeredProductSum(dataY, 0, meanY, dataY, 0, meanY, length);
+
+		//the power model is fitted against ln x, which is found once before iterating, and is undefined if any x <= 0
+		double[] dataU = dataX;
+		if(isPower)
+		{
+			dataU = workspace == null ? new double[length] : workspace.logValues(length);
+			for(int i = 0; i < length; i++)
+			{
+				dataU[i] = Math.log(dataX[i]);
+			}
+			if(!Double.isFinite(VectorKernels.sum(dataU, 0, length)))
+			{
+				Arrays.fill(result, Double.NaN);
+				result[ITERATIONS] = 0;
+				result[CONVERGED] = 0;
+				return;
+			}
+		}
+
+		double a = start[0];
+		double p = isPower ? start[1] : Math.log(start[1]);
+		if(!Double.isFinite(a) || !Double.isFinite(p))
+		{
+			double[] positiveStart = workspace == null ? new double[3] : workspace.nonlinearStart();
+			positiveStart(dataX, dataY, regressionType, workspace == null ? new MomentAccumulator() : workspace.moments(), positiveStart);
+			a = positiveStart[0];
+			p = isPower ? positiveStart[1] : Math.log(positiveStart[1]);
+		}
+		if(!Double.isFinite(a) || !Double.isFinite(p))
+		{
+			a = meanY;
+			p = 0.0;
+		}
+
+		//sums at the current arguments and at the trial arguments, reused by every iteration
+		double[] current = workspace == null ? new double[6] : workspace.nonlinearSums()[0];
+		double[] trial = workspace == null ? new double[6] : workspace.nonlinearSums()[1];
+		evaluate(dataU, dataY, length, a, p, current);
+
+		double damping = INITIAL_DAMPING;
+		int iterations = 0;
+		boolean isConverged = false;
+		while(true)
+		{
+			if(isMinimum(current, sumSquaredDeviations))
+			{
+				isConverged = true;
+				break;
+			}
+			if(iterations >= maxIterations || System.nanoTime() - startTime >= timeBudget)
+				break;
+			iterations++;
+
+			//solves (J^T J + damping * diag(J^T J)) step = J^T r, scaling the damping by the diagonal (Marquardt)
+			double jaa = current[JAA] * (1.0 + damping);
+			double jpp = current[JPP] * (1.0 + damping);
+			double jap = current[JAP];
+			double determinant = jaa * jpp - jap * jap;
+			if(!(determinant > 0.0)) //the normal equations are singular, so the fit has stalled
+				break;
+			double stepA = (jpp * current[GA] - jap * current[GP])/determinant;
+			double stepP = (jaa * current[GP] - jap * current[GA])/determinant;
+			double trialA = a + stepA;
+			double trialP = p + stepP;
+			evaluate(dataU, dataY, length, trialA, trialP, trial);
+
+			//accepts a step that decreases the residuals and moves towards Gauss-Newton, otherwise moves towards gradient descent
+			if(trial[SSE] < current[SSE])
+			{
+				a = trialA;
+				p = trialP;
+				double[] swap = current;
+				current = trial;
+				trial = swap;
+				damping = Math.max(damping/10.0, 1e-15);
+			}
+			else
+			{
+				//if even a step that is almost along the gradient does not decrease the residuals, the fit has stalled away from a minimum
+				damping = damping * 10.0;
+				if(damping > MAX_DAMPING)
+					break;
+			}
+		}
+
+		double sse = current[SSE];
+		double rSquared = 1.0 - sse/sumSquaredDeviations;
+		double b = isPower ? p : Math.exp(p);
+		result[0] = a;
+		result[1] = b;
+		result[2] = rFactor(rSquared, p);
+		result[R_SQUARED] = rSquared;
+		result[SUM_SQUARED_RESIDUALS] = sse;
+		result[ITERATIONS] = iterations;
+		result[CONVERGED] = isConverged ? 1.0 : 0.0;
+	}
+
+	/**
+	 * Solves the log method from only the points where it is defined (<i>y</i> &gt; 0), for a start when some <i>y</i> &le; 0. This is usually much closer to
+	 * the least squares fit than a constant, when most of the points with <i>y</i> &le; 0 are noise around small values of <i>y</i>.
+	 * @param dataX the values of the independent variable, which are all greater than 0 for the power model
+	 * @param dataY the values of the dependent variable
+	 * @param regressionType the regression model, 3 - power or 4 - exponential
+	 * @param moments the accumulator that collects the moments of the points, whose previous points are removed
+	 * @param arguments an array of at least 3 values, which is filled with the arguments {<i>a</i>,<i>b</i>,<i>PCC</i>} of the log method. They are
+	 * <code>NaN</code> if fewer than 2 points have <i>y</i> &gt; 0.
+	 */
+	private static void positiveStart(double[] dataX, double[] dataY, int regressionType, MomentAccumulator moments, double[] arguments)
+	{
+		moments.reset();
+		for(int i = 0; i < dataY.length; i++)
+		{
+			if(dataY[i] > 0.0)
+				moments.add(dataX[i], dataY[i]);
+		}
+		moments.regression(regressionType, arguments);
+	}
+
+	/**
+	 * Determines whether the arguments are at a minimum of the summation of the squared residuals. The Gauss-Newton step goes to the minimum of the model
+	 * linearized at the arguments, and is predicted to decrease the summation by <i>g</i><sup>T</sup>(<i>J</i><sup>T</sup><i>J</i>)<sup>-1</sup><i>g</i>, where <i>g</i> is
+	 * the gradient. The fit has converged once this is less than <code>TOLERANCE</code> of the summation, which is reached even when rounding error stops any
+	 * step from actually decreasing it. If the model fits the data exactly, the residuals are only rounding error and the fit has converged once they are
+	 * negligible next to the deviations of <i>y</i>.
+	 * @param sums the sums at the arguments (see <code>evaluate()</code>)
+	 * @param sumSquaredDeviations the summation of the squared deviations of <i>y</i> from its mean
+	 * @return boolean - <code>true</code> if the fit has converged
+	 */
+	private static boolean isMinimum(double[] sums, double sumSquaredDeviations)
+	{
+		double sse = sums[SSE];
+		if(sse <= EXACT_TOLERANCE * sumSquaredDeviations)
+			return true;
+
+		double determinant = sums[JAA] * sums[JPP] - sums[JAP] * sums[JAP];
+		if(!(determinant > 0.0))
+			return false;
+		double stepA = (sums[JPP] * sums[GA] - sums[JAP] * sums[GP])/determinant;
+		double stepP = (sums[JAA] * sums[GP] - sums[JAP] * sums[GA])/determinant;
+		return stepA * sums[GA] + stepP * sums[GP] <= TOLERANCE * sse;
+	}
+
+	/**
+	 * Finds the PCC of a fitted model from its R<sup>2</sup>, with the sign of the PCC of its log method: positive if <i>y</i> grows with <i>x</i> (<i>p</i> &gt; 0,
+	 * which is <i>b</i> &gt; 0 for the power model and <i>b</i> &gt; 1 for the exponential model), otherwise negative.
+	 * @param rSquared the coefficient of determination
+	 * @param p the value of <i>p</i>
+	 * @return double - the square root of R<sup>2</sup> with the sign of <i>p</i>, or 0 if R<sup>2</sup> &lt; 0
+	 */
+	private static double rFactor(double rSquared, double p)
+	{
+		return Math.copySign(Math.sqrt(Math.max(rSquared, 0.0)), p);
+	}
+
+	/**
+	 * Sums the squared residuals of <i>y = a</i>e<sup><i>pu</i></sup> and the terms of its normal equations in one pass over the data.
+	 * @param dataU the values of <i>u</i>, which is ln<i>x</i> for the power model and <i>x</i> for the exponential model
+	 * @param dataY the values of the dependent variable
+	 * @param length the number of points, which may be less than the length of <code>dataU</code> if it is a buffer of a workspace
+	 * @param a the value of <i>a</i>
+	 * @param p the value of <i>p</i>
+	 * @param sums an array of 6 values, which is filled with the sums indexed by <code>SSE</code> to <code>GP</code>
+	 */
+	private static void evaluate(double[] dataU, double[] dataY, int length, double a, double p, double[] sums)
+	{
+		double sse = 0.0;
+		double jaa = 0.0;
+		double jap = 0.0;
+		double jpp = 0.0;
+		double ga = 0.0;
+		double gp = 0.0;
+		for(int i = 0; i < length; i++)
+		{
+			double u = dataU[i];
+			double derivativeA = Math.exp(p * u);
+			double derivativeP = a * u * derivativeA;
+			double residual = dataY[i] - a * derivativeA;
+			sse = sse + residual * residual;
+			jaa = jaa + derivativeA * derivativeA;
+			jap = jap + derivativeA * derivativeP;
+			jpp = jpp + derivativeP * derivativeP;
+			ga = ga + derivativeA * residual;
+			gp = gp + derivativeP * residual;
+		}
+
+		//a step that overflows counts as increasing the residuals, so it is never accepted
+		if(Double.isNaN(sse))
+			sse = Double.POSITIVE_INFINITY;
+		sums[SSE] = sse;
+		sums[JAA] = jaa;
+		sums[JAP] = jap;
+		sums[JPP] = jpp;
+		sums[GA] = ga;
+		sums[GP] = gp;
+	}
+
+	/**
+	 * Returns the fitted model as a <code>RegressionResult</code>, so that it can be compared with the other regression models (see <code>ModelComparison</code>).
+	 * @return RegressionResult - the fitted model, where <i>r</i> is the signed square root of R<sup>2</sup>
+	 */
+	public RegressionResult toResult()
+	{
+		return new RegressionResult(regressionType, arguments.clone(), arguments[2], rSquared, count);
+	}
+
+	/**
+	 * Returns the arguments of the model, in the same form as the log methods
+	 * @return double[] - an array of arguments, represented as {<i>a</i>,<i>b</i>,<i>r</i>}, where <i>r</i> is the signed square root of R<sup>2</sup>
+	 */
+	public double[] getArguments()
+	{
+		return arguments.clone();
+	}
+
+	/**
+	 * Returns the integer used to refer to the regression model
+	 * @return int - 3 - power, 4 - exponential
+	 */
+	public int getRegressionType()
+	{
+		return regressionType;
+	}
+
+	/**
+	 * Returns the coefficient of determination of the model, 1 minus the summation of the squared residuals divided by the summation of the squared
+	 * deviations of <i>y</i> from its mean
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double getRSquared()
+	{
+		return rSquared;
+	}
+
+	/**
+	 * Returns the summation of the squared residuals of <i>y</i>, which is what the fit minimizes
+	 * @return double - the summation of the squared residuals
+	 */
+	public double getSumSquaredResiduals()
+	{
+		return sumSquaredResiduals;
+	}
+
+	/**
+	 * Returns the number of iterations taken
+	 * @return int - the number of iterations
+	 */
+	public int getIterations()
+	{
+		return iterations;
+	}
+
+	/**
+	 * Returns whether the fit converged to a minimum, rather than running out of its iteration or time budget or stalling
+	 * @return boolean - true if the fit converged
+	 */
+	public boolean isConverged()
+	{
+		return isConverged;
+	}
+
+	/**
+	 * Returns the number of points that were fitted
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+}
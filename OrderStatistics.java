@@ -0,0 +1,339 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+/**
+ * Order Statistics provides the sorting and selection routines used by <code>AnalysisLibrary</code> to find the median, range and quartiles of a set of data.
+ * Large arrays are sorted with an LSD radix sort on the bit patterns of the values, and single order statistics (the <i>k</i>-th smallest value) are found
+ * with introselect, which partitions the data in place in expected linear time instead of sorting all of it. This class is not meant to be instantiated.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class OrderStatistics
+{
+	//arrays shorter than this are sorted with Arrays.sort (dual-pivot quicksort), which beats the radix sort on small inputs
+	private static final int RADIX_THRESHOLD = 4096;
+
+	//ranges shorter than this are finished off with insertion sort during selection
+	private static final int INSERTION_THRESHOLD = 16;
+
+	/**
+	 * Sorts an array of doubles in place in order of increasing values. Negative zero is placed before positive zero and NaN values are placed last,
+	 * the same as <code>Arrays.sort(double[])</code>.
+	 * @param data an array of type <code>double</code> to be sorted
+	 */
+	public static void sort(double[] data)
+	{
+		int length = data.length;
+		if(length < RADIX_THRESHOLD)
+			Arrays.sort(data);
+		else
+			radixSort(data, new long[length], new long[length], new int[8][256]);
+	}
+
+	/**
+	 * Sorts an array of doubles in place (see <code>sort(double[])</code>), using the buffers of a workspace for the radix sort instead of allocating new ones.
+	 * @param data an array of type <code>double</code> to be sorted
+	 * @param workspace the workspace whose buffers are reused, which must not be in use by another thread
+	 */
+	public static void sort(double[] data, AnalysisWorkspace workspace)
+	{
+		int length = data.length;
+		if(length < RADIX_THRESHOLD)
+		{
+			Arrays.sort(data);
+			return;
+		}
+
+		int[][] counts = workspace.radixCounts();
+		for(int d = 0; d < 8; d++)
+		{
+			Arrays.fill(counts[d], 0);
+		}
+		radixSort(data, workspace.keys(length), workspace.keyBuffer(length), counts);
+	}
+
+	/**
+	 * Sorts an array of doubles in place using a least-significant-digit radix sort with 8 passes of 8 bits. Each value is mapped to a <code>long</code>
+	 * key whose unsigned order matches the numeric order of the doubles, and passes where every key falls into the same bucket are skipped.
+	 * @param data an array of type <code>double</code> to be sorted
+	 * @param keys an array of at least <code>data.length</code> values to hold the keys
+	 * @param buffer a second array of at least <code>data.length</code> values that the keys are distributed into
+	 * @param counts an 8 &times; 256 array of zeros to hold the histogram of each digit
+	 */
+	private static void radixSort(double[] data, long[] keys, long[] buffer, int[][] counts)
+	{
+		int length = data.length;
+
+		//converts each value to a sortable key and builds the histograms of all 8 digits in a single pass
+		for(int i = 0; i < length; i++)
+		{
+			long key = toKey(data[i]);
+			keys[i] = key;
+			for(int d = 0; d < 8; d++)
+			{
+				counts[d][(int)((key >>> (8 * d)) & 0xFF)]++;
+			}
+		}
+
+		//distributes the keys into buckets by each digit, from least to most significant
+		for(int d = 0; d < 8; d++)
+		{
+			int[] count = counts[d];
+			int shift = 8 * d;
+
+			//skips a digit if every key has the same value for it
+			if(count[(int)((keys[0] >>> shift) & 0xFF)] == length)
+				continue;
+
+			int offset = 0;
+			for(int b = 0; b < 256; b++)
+			{
+				int bucketSize = count[b];
+				count[b] = offset;
+				offset = offset + bucketSize;
+			}
+
+			for(int i = 0; i < length; i++)
+			{
+				long key = keys[i];
+				buffer[count[(int)((key >>> shift) & 0xFF)]++] = key;
+			}
+
+			long[] swap = keys;
+			keys = buffer;
+			buffer = swap;
+		}
+
+		for(int i = 0; i < length; i++)
+		{
+			data[i] = fromKey(keys[i]);
+		}
+	}
+
+	/**
+	 * Maps a double to a key whose unsigned order is the same as the numeric order of the double. Positive values have their sign bit set,
+	 * and negative values have all of their bits flipped.
+	 * @param value the value to be converted
+	 * @return long - the sortable key of <code>value</code>
+	 */
+	private static long toKey(double value)
+	{
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+	}
+
+	/**
+	 * Reverses <code>toKey()</code>, converting a sortable key back to its double value.
+	 * @param key a key created by <code>toKey()</code>
+	 * @return double - the original value
+	 */
+	private static double fromKey(long key)
+	{
+		long bits = key ^ (((~key) >> 63) | Long.MIN_VALUE);
+		return Double.longBitsToDouble(bits);
+	}
+
+	/**
+	 * Finds the <i>k</i>-th smallest value (zero-based) in a range of an array using introselect. The range is partially reordered in place so that
+	 * <code>data[k]</code> holds the selected value, every value before it is smaller or equal and every value after it is greater or equal.
+	 * Quickselect is used with a median-of-three pivot, and if the partitioning goes deeper than expected the remaining range is sorted instead,
+	 * so the worst case stays at <i>O(n</i> log <i>n)</i>. The data must not contain NaN.
+	 * @param data an array of type <code>double</code>, which is reordered
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive)
+	 * @param k the index of the value to select, where <code>from <= k < to</code>
+	 * @return double - the <i>k</i>-th smallest value of the range
+	 */
+	public static double select(double[] data, int from, int to, int k)
+	{
+		int lo = from;
+		int hi = to - 1;
+		int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+
+		while(hi - lo >= INSERTION_THRESHOLD)
+		{
+			//falls back to a full sort of the remaining range if the pivots have been poor
+			if(depthLimit-- == 0)
+			{
+				Arrays.sort(data, lo, hi + 1);
+				return data[k];
+			}
+
+			//chooses the median of the first, middle and last values as the pivot
+			int mid = (lo + hi) >>> 1;
+			if(data[mid] < data[lo])
+				swap(data, mid, lo);
+			if(data[hi] < data[lo])
+				swap(data, hi, lo);
+			if(data[hi] < data[mid])
+				swap(data, hi, mid);
+			double pivot = data[mid];
+
+			//partitions the range so that values left of j are <= pivot and values right of i are >= pivot
+			int i = lo;
+			int j = hi;
+			while(i <= j)
+			{
+				while(data[i] < pivot)
+					i++;
+				while(data[j] > pivot)
+					j--;
+				if(i <= j)
+				{
+					swap(data, i, j);
+					i++;
+					j--;
+				}
+			}
+
+			//continues only in the part of the range that contains k
+			if(k <= j)
+				hi = j;
+			else if(k >= i)
+				lo = i;
+			else
+				return data[k];
+		}
+
+		insertionSort(data, lo, hi);
+		return data[k];
+	}
+
+	/**
+	 * Finds the <i>k</i>-th smallest value (zero-based) of an array. The array is partially reordered in place (see <code>select(double[], int, int, int)</code>).
+	 * @param data an array of type <code>double</code>, which is reordered
+	 * @param k the index of the value to select, where <code>0 <= k < data.length</code>
+	 * @return double - the <i>k</i>-th smallest value of the array
+	 */
+	public static double select(double[] data, int k)
+	{
+		return select(data, 0, data.length, k);
+	}
+
+	/**
+	 * Finds the median of a range of an array by selection, reordering the range in place. For an even number of values, the lower middle
+	 * value is selected first and the upper middle value is then the minimum of the values after it.
+	 * @param data an array of type <code>double</code>, which is reordered
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive), which must be greater than <code>from</code>
+	 * @return double - the median of the range
+	 */
+	public static double median(double[] data, int from, int to)
+	{
+		int length = to - from;
+		int middle = from + (length - 1)/2;
+		double lower = select(data, from, to, middle);
+
+		if(length % 2 == 1)
+			return lower;
+		return (lower + min(data, middle + 1, to))/2.0;
+	}
+
+	/**
+	 * Finds the smallest value in a range of an array.
+	 * @param data an array of type <code>double</code>
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive), which must be greater than <code>from</code>
+	 * @return double - the smallest value of the range
+	 */
+	public static double min(double[] data, int from, int to)
+	{
+		double min = data[from];
+		for(int i = from + 1; i < to; i++)
+		{
+			if(data[i] < min)
+				min = data[i];
+		}
+		return min;
+	}
+
+	/**
+	 * Finds the largest value in a range of an array.
+	 * @param data an array of type <code>double</code>
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive), which must be greater than <code>from</code>
+	 * @return double - the largest value of the range
+	 */
+	public static double max(double[] data, int from, int to)
+	{
+		double max = data[from];
+		for(int i = from + 1; i < to; i++)
+		{
+			if(data[i] > max)
+				max = data[i];
+		}
+		return max;
+	}
+
+	/**
+	 * Finds the quartiles of an array by selection, reordering it in place. Q1 is the median of the lower half of the data and Q3 is the median of the upper
+	 * half, where the middle value is left out of both halves if the array has an odd length (the same definition as <code>AnalysisLibrary.interquartileRange()</code>).
+	 * The array is first partitioned so that each half occupies its own range, and the median of each range is then selected.
+	 * @param data an array of type <code>double</code> with at least 2 values, which is reordered
+	 * @return double[] - an array where {Q1, Q3, IQR} is returned
+	 */
+	public static double[] quartiles(double[] data)
+	{
+		return quartiles(data, 0, data.length, new double[3]);
+	}
+
+	/**
+	 * Finds the quartiles of a range of an array by selection, reordering the range in place (see <code>quartiles(double[])</code>), and stores them in
+	 * an array supplied by the caller.
+	 * @param data an array of type <code>double</code>, which is reordered
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive), where the range holds at least 2 values
+	 * @param qData an array of at least 3 values, which is filled with {Q1, Q3, IQR}
+	 * @return double[] - <code>qData</code>
+	 */
+	public static double[] quartiles(double[] data, int from, int to, double[] qData)
+	{
+		int length = to - from;
+		int half = length/2;
+
+		//moves the half smallest values to the front, and for an odd length moves the middle value in front of the upper half
+		select(data, from, to, from + half - 1);
+		if(length % 2 == 1)
+			select(data, from + half, to, from + half);
+
+		double q1 = median(data, from, from + half);
+		double q3 = median(data, to - half, to);
+		qData[0] = q1;
+		qData[1] = q3;
+		qData[2] = q3 - q1;
+		return qData;
+	}
+
+	/**
+	 * Sorts a small range of an array in place using insertion sort.
+	 * @param data an array of type <code>double</code>
+	 * @param lo the first index of the range (inclusive)
+	 * @param hi the last index of the range (inclusive)
+	 */
+	private static void insertionSort(double[] data, int lo, int hi)
+	{
+		for(int i = lo + 1; i <= hi; i++)
+		{
+			double current = data[i];
+			int j = i - 1;
+			while(j >= lo && data[j] > current)
+			{
+				data[j + 1] = data[j];
+				j--;
+			}
+			data[j + 1] = current;
+		}
+	}
+
+	/**
+	 * Swaps two values in an array.
+	 * @param data an array of type <code>double</code>
+	 * @param i the index of the first value
+	 * @param j the index of the second value
+	 */
+	private static void swap(double[] data, int i, int j)
+	{
+		double temp = data[i];
+		data[i] = data[j];
+		data[j] = temp;
+	}
+}
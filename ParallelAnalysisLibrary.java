@@ -0,0 +1,390 @@
+package regressionAnalysisCalc;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+ * Parallel Analysis Library performs the same calculations as <code>AnalysisLibrary</code> on large data sets by splitting each summation across the threads of
+ * a <code>ForkJoinPool</code>. A range of data is halved until it is no longer than the threshold, each part is reduced sequentially, and the partial results
+ * are combined pairwise. As the split points only depend on the length of the data and the threshold, and partial results are always combined in the
+ * same order, the results are identical however many threads the pool has. Data no longer than the threshold is reduced sequentially.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class ParallelAnalysisLibrary
+{
+	public static final int DEFAULT_THRESHOLD = 1 << 16; //default length of data below which a reduction is not split
+
+	private final ForkJoinPool pool; //pool that runs the reductions
+	private final int threshold; //length of data below which a reduction is not split
+
+	/**
+	 * Creates a parallel analysis library that runs on the common <code>ForkJoinPool</code> with the default threshold.
+	 */
+	public ParallelAnalysisLibrary()
+	{
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Creates a parallel analysis library that runs on the common <code>ForkJoinPool</code>.
+	 * @param threshold the length of data below which a reduction is not split, which must be greater than 0
+	 */
+	public ParallelAnalysisLibrary(int threshold)
+	{
+		this(ForkJoinPool.commonPool(), threshold);
+	}
+
+	/**
+	 * Creates a parallel analysis library.
+	 * @param pool the <code>ForkJoinPool</code> that runs the reductions
+	 * @param threshold the length of data below which a reduction is not split, which must be greater than 0
+	 */
+	public ParallelAnalysisLibrary(ForkJoinPool pool, int threshold)
+	{
+		if(threshold <= 0)
+			throw new IllegalArgumentException("Threshold must be greater than 0.");
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Calculates the total sum of an array of data (see <code>AnalysisLibrary.summation()</code>).
+	 * @param data an array of type <code>double</code>
+	 * @return double - the total sum of all doubles in array
+	 */
+	public double summation(double[] data)
+	{
+		return pool.invoke(new ProductSumTask(data, 0.0, null, 0.0, 0, data.length, threshold, false));
+	}
+
+	/**
+	 * Finds the arithmetic mean (average) of a set of data (see <code>AnalysisLibrary.mean()</code>).
+	 * @param data an array of type <code>double</code>
+	 * @return double - the value of arithmetic mean
+	 */
+	public double mean(double[] data)
+	{
+		double mean = 0.0;
+
+		if(data.length > 0)
+			mean = summation(data)/data.length;
+		return mean;
+	}
+
+	/**
+	 * Finds the variance of a set of data (see <code>AnalysisLibrary.variance()</code>).
+	 * @param data an array of type <code>double</code>
+	 * @param isSample true if data represents a sample, false if data represents a census
+	 * @return double - the variance of the data set
+	 */
+	public double variance(double[] data, boolean isSample)
+	{
+		double mean = mean(data);
+		double sumSquaredDeviations = pool.invoke(new ProductSumTask(data, mean, data, mean, 0, data.length, threshold, true));
+
+		if(isSample)
+			return sumSquaredDeviations/(data.length - 1);
+		return sumSquaredDeviations/data.length;
+	}
+
+	/**
+	 * Finds the standard deviation of a set of data (see <code>AnalysisLibrary.stDev()</code>).
+	 * @param data an array of type <code>double</code>
+	 * @param isSample true if data represents a sample, false if data represents a census
+	 * @return double - the standard deviation of the data set
+	 */
+	public double stDev(double[] data, boolean isSample)
+	{
+		return Math.sqrt(variance(data, isSample));
+	}
+
+	/**
+	 * Finds the covariance of a set of data (see <code>AnalysisLibrary.covariance()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return double - the covariance of <code>dataX</code> and <code>dataY</code>
+	 */
+	public double covariance(double[] dataX, double[] dataY)
+	{
+		double meanX = mean(dataX);
+		double meanY = mean(dataY);
+		double summationMultipliedValues = pool.invoke(new ProductSumTask(dataX, meanX, dataY, meanY, 0, dataX.length, threshold, true));
+		return summationMultipliedValues/(double)(dataX.length - 1);
+	}
+
+	/**
+	 * Finds the Pearson Correlation Coefficient of a linear regression (see <code>AnalysisLibrary.rFactor()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return double - the PCC of <code>dataX</code> and <code>dataY</code>
+	 */
+	public double rFactor(double[] dataX, double[] dataY)
+	{
+		return covariance(dataX, dataY)/(stDev(dataX, true) * stDev(dataY, true));
+	}
+
+	/**
+	 * Finds the summary statistics of a set of data (see <code>AnalysisLibrary.describe()</code>). The mean, sum of squared deviations and extrema are found
+	 * in parallel by combining the partial summaries of each part of the data, and the median and quartiles are then selected sequentially.
+	 * @param data an array of type <code>double</code>
+	 * @return DescriptiveStatistics - the summary of the data set
+	 */
+	public DescriptiveStatistics describe(double[] data)
+	{
+		int length = data.length;
+		double[] summary = pool.invoke(new SummaryTask(data, 0, length, threshold));
+		double median = Double.NaN;
+		double q1 = Double.NaN;
+		double q3 = Double.NaN;
+
+		if(length > 0)
+		{
+			double[] copy = data.clone();
+			if(length > 1)
+			{
+				double[] qData = OrderStatistics.quartiles(copy);
+				q1 = qData[0];
+				q3 = qData[1];
+			}
+			median = OrderStatistics.median(copy, 0, length);
+		}
+		return new DescriptiveStatistics(length, summary[1], summary[2], summary[3], summary[4], median, q1, q3);
+	}
+
+	/**
+	 * Collects the moments of a two-variable data set (see <code>AnalysisLibrary.moments()</code>), where the moments of each part of the data are combined
+	 * with <code>MomentAccumulator.merge()</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return MomentAccumulator - the moments of <code>dataX</code> and <code>dataY</code>
+	 */
+	public MomentAccumulator moments(double[] dataX, double[] dataY)
+	{
+		return pool.invoke(new MomentTask(dataX, dataY, 0, dataX.length, threshold));
+	}
+
+	/**
+	 * Determines a line of best fit (see <code>AnalysisLibrary.linearRegression()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the line of best fit, represented as {slope(<i>m</i>), y-intercept(<i>b</i>)}
+	 */
+	public double[] linearRegression(double[] dataX, double[] dataY)
+	{
+		double yMean = mean(dataY);
+		double xMean = mean(dataX);
+		double slope = covariance(dataX, dataY)/variance(dataX, true);
+		double[] linearArguments = {slope, yMean - slope * xMean};
+		return linearArguments;
+	}
+
+	/**
+	 * Determines a quadratic curve of best fit (see <code>AnalysisLibrary.quadraticRegression()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>c</i>}
+	 */
+	public double[] quadraticRegression(double[] dataX, double[] dataY)
+	{
+		return moments(dataX, dataY).quadraticRegression();
+	}
+
+	/**
+	 * Determines a power curve of best fit (see <code>AnalysisLibrary.powerRegression()</code>). The log-log method that the fit starts from is solved in parallel.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>r</i>}
+	 */
+	public double[] powerRegression(double[] dataX, double[] dataY)
+	{
+		return nonlinearRegression(dataX, dataY, AnalysisLibrary.POWER).getArguments();
+	}
+
+	/**
+	 * Determines an exponential curve of best fit (see <code>AnalysisLibrary.exponentialRegression()</code>). The log method that the fit starts from is solved in parallel.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @return double[] - an array of arguments for the curve of best fit, represented as {<i>a</i>,<i>b</i>,<i>r</i>}
+	 */
+	public double[] exponentialRegression(double[] dataX, double[] dataY)
+	{
+		return nonlinearRegression(dataX, dataY, AnalysisLibrary.EXPONENTIAL).getArguments();
+	}
+
+	/**
+	 * Fits a power or exponential model by least squares, starting from the log method solved from the parallel moments (see <code>NonlinearRegression</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param regressionType the regression model. Must be 3 - power or 4 - exponential
+	 * @return NonlinearRegression - the fitted model
+	 */
+	private NonlinearRegression nonlinearRegression(double[] dataX, double[] dataY, int regressionType)
+	{
+		double[] start = moments(dataX, dataY).regression(regressionType);
+		return NonlinearRegression.fit(dataX, dataY, regressionType, start, NonlinearRegression.DEFAULT_MAX_ITERATIONS, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Determines the coefficient of determination of a regression model (see <code>AnalysisLibrary.rSquared()</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double rSquared(double[] dataX, double[] dataY, int regressionType)
+	{
+		if(regressionType == AnalysisLibrary.LINEAR)
+			return Math.pow(rFactor(dataX, dataY), 2);
+		if(regressionType == AnalysisLibrary.POWER || regressionType == AnalysisLibrary.EXPONENTIAL)
+			return nonlinearRegression(dataX, dataY, regressionType).getRSquared();
+		return moments(dataX, dataY).rSquared(regressionType);
+	}
+
+	/**
+	 * Sums the values of an array, or the products of the deviations of two arrays from their means.
+	 */
+	private static class ProductSumTask extends RecursiveTask<Double>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[] dataX;
+		private final double meanX;
+		private final double[] dataY;
+		private final double meanY;
+		private final int from;
+		private final int to;
+		private final int threshold;
+		private final boolean isProduct; //true to sum (x - meanX)(y - meanY), false to sum x
+
+		ProductSumTask(double[] dataX, double meanX, double[] dataY, double meanY, int from, int to, int threshold, boolean isProduct)
+		{
+			this.dataX = dataX;
+			this.meanX = meanX;
+			this.dataY = dataY;
+			this.meanY = meanY;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+			this.isProduct = isProduct;
+		}
+
+		protected Double compute()
+		{
+			//sums a short range sequentially
+			if(to - from <= threshold)
+			{
+				if(isProduct)
+					return VectorKernels.centeredProductSum(dataX, from, meanX, dataY, from, meanY, to - from);
+				return VectorKernels.sum(dataX, from, to - from);
+			}
+
+			//splits a long range in half and adds the sums of the two halves
+			int middle = (from + to) >>> 1;
+			ProductSumTask left = new ProductSumTask(dataX, meanX, dataY, meanY, from, middle, threshold, isProduct);
+			ProductSumTask right = new ProductSumTask(dataX, meanX, dataY, meanY, middle, to, threshold, isProduct);
+			left.fork();
+			double rightSum = right.compute();
+			return left.join() + rightSum;
+		}
+	}
+
+	/**
+	 * Finds the count, mean, sum of squared deviations and extrema of a range of an array, returned as {count, mean, sum of squared deviations, min, max}.
+	 */
+	private static class SummaryTask extends RecursiveTask<double[]>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[] data;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		SummaryTask(double[] data, int from, int to, int threshold)
+		{
+			this.data = data;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		protected double[] compute()
+		{
+			//summarizes a short range sequentially using Welford's method
+			if(to - from <= threshold)
+			{
+				double mean = 0.0;
+				double sumSquaredDeviations = 0.0;
+				double min = Double.NaN;
+				double max = Double.NaN;
+				for(int i = from; i < to; i++)
+				{
+					double value = data[i];
+					double deviation = value - mean;
+					mean = mean + deviation/(i - from + 1);
+					sumSquaredDeviations = sumSquaredDeviations + deviation * (value - mean);
+					if(i == from || value < min)
+						min = value;
+					if(i == from || value > max)
+						max = value;
+				}
+				double[] summary = {to - from, mean, sumSquaredDeviations, min, max};
+				return summary;
+			}
+
+			//splits a long range in half and combines the summaries of the two halves (Chan et al.)
+			int middle = (from + to) >>> 1;
+			SummaryTask leftTask = new SummaryTask(data, from, middle, threshold);
+			SummaryTask rightTask = new SummaryTask(data, middle, to, threshold);
+			leftTask.fork();
+			double[] right = rightTask.compute();
+			double[] left = leftTask.join();
+
+			double n = left[0] + right[0];
+			double delta = right[1] - left[1];
+			double[] summary = {n, left[1] + delta * right[0]/n, left[2] + right[2] + delta * delta * left[0] * right[0]/n,
+					Math.min(left[3], right[3]), Math.max(left[4], right[4])};
+			return summary;
+		}
+	}
+
+	/**
+	 * Collects the moments of a range of a two-variable data set.
+	 */
+	private static class MomentTask extends RecursiveTask<MomentAccumulator>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[] dataX;
+		private final double[] dataY;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		MomentTask(double[] dataX, double[] dataY, int from, int to, int threshold)
+		{
+			this.dataX = dataX;
+			this.dataY = dataY;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		protected MomentAccumulator compute()
+		{
+			//collects the moments of a short range sequentially
+			if(to - from <= threshold)
+			{
+				MomentAccumulator moments = new MomentAccumulator();
+				moments.addAll(dataX, dataY, from, to);
+				return moments;
+			}
+
+			//splits a long range in half and merges the moments of the right half into the left half
+			int middle = (from + to) >>> 1;
+			MomentTask leftTask = new MomentTask(dataX, dataY, from, middle, threshold);
+			MomentTask rightTask = new MomentTask(dataX, dataY, middle, to, threshold);
+			leftTask.fork();
+			MomentAccumulator right = rightTask.compute();
+			MomentAccumulator left = leftTask.join();
+			left.merge(right);
+			return left;
+		}
+	}
+}
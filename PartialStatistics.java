@@ -0,0 +1,254 @@
+package regressionAnalysisCalc;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+/**
+ * Partial Statistics summarizes one part (a shard or a file) of a two-variable data set, so that a data set split across many files or machines can be analyzed
+ * without bringing all of its values together. It holds the moments of the part (see <code>MomentAccumulator</code>), from which the means, variances,
+ * covariance and every regression model are found, and a quantile sketch of each variable (see <code>QuantileSketch</code>) for the median, quartiles and
+ * percentiles. The partial statistics of each part are combined with <code>merge()</code> using the pairwise formulas of Chan et al., which give the same moments
+ * as one pass over the whole data set up to rounding, and can be written to and read from a stream to be sent between machines. Only partial statistics and
+ * the classes they hold are read from a stream, so a stream from an untrusted source cannot create any other object.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class PartialStatistics implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	//classes that readFrom() accepts from a stream, and the largest depth of objects and number of bytes it reads
+	private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter("regressionAnalysisCalc.PartialStatistics;"
+		+ "regressionAnalysisCalc.MomentAccumulator;regressionAnalysisCalc.QuantileSketch;maxdepth=8;maxbytes=1073741824;!*");
+
+	private final MomentAccumulator moments; //moments of both variables
+	private final QuantileSketch independentSketch; //quantiles of the independent variable
+	private final QuantileSketch dependentSketch; //quantiles of the dependent variable
+
+	/**
+	 * Creates empty partial statistics whose sketches have the default accuracy.
+	 */
+	public PartialStatistics()
+	{
+		this(QuantileSketch.DEFAULT_K);
+	}
+
+	/**
+	 * Creates empty partial statistics.
+	 * @param k the capacity of the top level of each quantile sketch (see <code>QuantileSketch</code>). Only partial statistics with the same <i>k</i> can be merged.
+	 */
+	public PartialStatistics(int k)
+	{
+		moments = new MomentAccumulator();
+		independentSketch = new QuantileSketch(k);
+		dependentSketch = new QuantileSketch(k);
+	}
+
+	/**
+	 * Creates partial statistics from their parts (see <code>get()</code>).
+	 * @param moments the moments of both variables
+	 * @param independentSketch the quantile sketch of the independent variable
+	 * @param dependentSketch the quantile sketch of the dependent variable
+	 */
+	private PartialStatistics(MomentAccumulator moments, QuantileSketch independentSketch, QuantileSketch dependentSketch)
+	{
+		this.moments = moments;
+		this.independentSketch = independentSketch;
+		this.dependentSketch = dependentSketch;
+	}
+
+	/**
+	 * Summarizes a two-variable data set that is held in memory.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return PartialStatistics - the partial statistics of the data set
+	 */
+	public static PartialStatistics of(double[] dataX, double[] dataY)
+	{
+		PartialStatistics partial = new PartialStatistics();
+		partial.addAll(dataX, dataY);
+		return partial;
+	}
+
+	/**
+	 * Adds a point to the summary.
+	 * @param x value of the independent variable
+	 * @param y value of the dependent variable
+	 */
+	public void add(double x, double y)
+	{
+		moments.add(x, y);
+		independentSketch.add(x);
+		dependentSketch.add(y);
+	}
+
+	/**
+	 * Adds every point of a two-variable data set to the summary.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 */
+	public void addAll(double[] dataX, double[] dataY)
+	{
+		if(dataX.length != dataY.length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length.");
+		addAll(dataX, dataY, 0, dataX.length);
+	}
+
+	/**
+	 * Adds the points in a range of a two-variable data set to the summary, such as a chunk of a file that is streamed (see <code>StreamingAnalysis</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive)
+	 */
+	public void addAll(double[] dataX, double[] dataY, int from, int to)
+	{
+		moments.addAll(dataX, dataY, from, to);
+		independentSketch.addAll(dataX, from, to);
+		dependentSketch.addAll(dataY, from, to);
+	}
+
+	/**
+	 * Combines the partial statistics of another part of the data set into this one, the same as if every point of <code>other</code> had been added.
+	 * @param other the partial statistics of another part, with the same <i>k</i>, which are not changed
+	 */
+	public void merge(PartialStatistics other)
+	{
+		moments.merge(other.moments);
+		independentSketch.merge(other.independentSketch);
+		dependentSketch.merge(other.dependentSketch);
+	}
+
+	/**
+	 * Returns the moments of both variables, from which the means, variances, covariance and regression models are found
+	 * @return MomentAccumulator - the moments of the summarized points
+	 */
+	public MomentAccumulator getMoments()
+	{
+		return moments;
+	}
+
+	/**
+	 * Returns the quantile sketch of the independent variable
+	 * @return QuantileSketch - the sketch of <i>x</i>
+	 */
+	public QuantileSketch getIndependentSketch()
+	{
+		return independentSketch;
+	}
+
+	/**
+	 * Returns the quantile sketch of the dependent variable
+	 * @return QuantileSketch - the sketch of <i>y</i>
+	 */
+	public QuantileSketch getDependentSketch()
+	{
+		return dependentSketch;
+	}
+
+	/**
+	 * Summarizes the independent variable in the same form as <code>AnalysisLibrary.describe()</code>. The mean, variance and extrema are exact, and the
+	 * median and quartiles are estimated by the sketch.
+	 * @return DescriptiveStatistics - the summary of <i>x</i>
+	 */
+	public DescriptiveStatistics describeIndependent()
+	{
+		long count = moments.getCount();
+		return new DescriptiveStatistics(count, moments.getMeanX(), moments.varianceX(false) * count, independentSketch.getMin(), independentSketch.getMax(),
+			independentSketch.getMedian(), independentSketch.getQ1(), independentSketch.getQ3());
+	}
+
+	/**
+	 * Summarizes the dependent variable in the same form as <code>AnalysisLibrary.describe()</code> (see <code>describeIndependent()</code>).
+	 * @return DescriptiveStatistics - the summary of <i>y</i>
+	 */
+	public DescriptiveStatistics describeDependent()
+	{
+		long count = moments.getCount();
+		return new DescriptiveStatistics(count, moments.getMeanY(), moments.varianceY(false) * count, dependentSketch.getMin(), dependentSketch.getMax(),
+			dependentSketch.getMedian(), dependentSketch.getQ1(), dependentSketch.getQ3());
+	}
+
+	/**
+	 * Returns the number of points summarized
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return moments.getCount();
+	}
+
+	/**
+	 * Writes the partial statistics to a stream, which is not closed.
+	 * @param output the stream the partial statistics are written to
+	 * @throws IOException if the stream cannot be written to
+	 */
+	public void writeTo(OutputStream output) throws IOException
+	{
+		ObjectOutputStream objectOutput = new ObjectOutputStream(output);
+		objectOutput.writeObject(this);
+		objectOutput.flush();
+	}
+
+	/**
+	 * Reads partial statistics that were written by <code>writeTo()</code> from a stream, which is not closed.
+	 * @param input the stream the partial statistics are read from
+	 * @return PartialStatistics - the partial statistics that were written
+	 * @throws IOException if the stream cannot be read or does not hold partial statistics
+	 */
+	public static PartialStatistics readFrom(InputStream input) throws IOException
+	{
+		ObjectInputStream objectInput = new ObjectInputStream(input);
+		objectInput.setObjectInputFilter(FILTER);
+		try
+		{
+			return (PartialStatistics)objectInput.readObject();
+		}
+		catch(ClassNotFoundException | ClassCastException e)
+		{
+			throw new IOException("The stream does not hold partial statistics.", e);
+		}
+	}
+
+	/**
+	 * Returns the number of bytes written by <code>put()</code>.
+	 * @return int - the number of bytes
+	 */
+	int byteLength()
+	{
+		return MomentAccumulator.BYTE_LENGTH + independentSketch.byteLength() + dependentSketch.byteLength();
+	}
+
+	/**
+	 * Writes the moments and then the sketch of each variable to a buffer, in an explicit layout rather than by serialization, so that they can be stored
+	 * in a file that is read back without running any code from it (see <code>DataFileCache</code>).
+	 * @param buffer the buffer, which must have <code>byteLength()</code> bytes remaining
+	 */
+	void put(ByteBuffer buffer)
+	{
+		moments.put(buffer);
+		independentSketch.put(buffer);
+		dependentSketch.put(buffer);
+	}
+
+	/**
+	 * Reads partial statistics written by <code>put()</code> from a buffer.
+	 * @param buffer the buffer, in the same byte order it was written in
+	 * @return PartialStatistics - the partial statistics that were written
+	 * @throws IllegalArgumentException if they are not valid, for ex. if the sketches have different <i>k</i> or a different number of values from the moments
+	 */
+	static PartialStatistics get(ByteBuffer buffer)
+	{
+		MomentAccumulator moments = MomentAccumulator.get(buffer);
+		QuantileSketch independentSketch = QuantileSketch.get(buffer);
+		QuantileSketch dependentSketch = QuantileSketch.get(buffer);
+		if(independentSketch.getK() != dependentSketch.getK() || independentSketch.getCount() != moments.getCount()
+			|| dependentSketch.getCount() != moments.getCount())
+			throw new IllegalArgumentException("The partial statistics are not valid.");
+		return new PartialStatistics(moments, independentSketch, dependentSketch);
+	}
+}
@@ -0,0 +1,200 @@
+package regressionAnalysisCalc;
+/**
+ * Polynomial Regression fits a polynomial of any degree <i>k</i>, <i>y = a<sub>k</sub>x<sup>k</sup> + ... + a<sub>1</sub>x + a<sub>0</sub></i>, to a two-variable data set
+ * by least squares. The quadratic regression of <code>AnalysisLibrary</code> is the case <i>k</i> = 2.
+ *
+ * <p>Raw powers of <i>x</i> such as <i>x</i><sup>4</sup> become very large or very small when <i>x</i> is far from zero, so the normal equations built from them are
+ * too poorly conditioned to solve accurately. Instead, <i>x</i> is centered and scaled to <i>t</i> = (<i>x</i> - <i>c</i>)/<i>s</i>, where <i>c</i> is the midpoint and <i>s</i>
+ * is half the range of <i>x</i>, so that every <i>t</i> lies in [-1, 1]. The sums of the powers of <i>t</i> are collected in one pass of <i>O(nk)</i> operations and the
+ * normal equations are then solved with a Cholesky decomposition in <i>O(k</i><sup>3</sup><i>)</i>. The fitted polynomial is evaluated in <i>t</i>, and is only expanded to
+ * the powers of <i>x</i> for <code>getArguments()</code>.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class PolynomialRegression
+{
+	private final int degree; //highest power of x in the polynomial
+	private final double center; //midpoint of the values of x
+	private final double scale; //half the range of the values of x
+	private final double[] scaledCoefficients; //coefficients of the powers of t, where scaledCoefficients[j] is the coefficient of t^j
+	private final double rSquared; //coefficient of determination
+	private final long count; //number of points fitted
+
+	/**
+	 * Creates a fitted polynomial (see <code>fit()</code>).
+	 * @param degree the highest power of <i>x</i> in the polynomial
+	 * @param center the midpoint of the values of <i>x</i>
+	 * @param scale half the range of the values of <i>x</i>
+	 * @param scaledCoefficients the coefficients of the powers of <i>t</i>, from <i>t</i><sup>0</sup> to <i>t<sup>k</sup></i>
+	 * @param rSquared the coefficient of determination
+	 * @param count the number of points fitted
+	 */
+	private PolynomialRegression(int degree, double center, double scale, double[] scaledCoefficients, double rSquared, long count)
+	{
+		this.degree = degree;
+		this.center = center;
+		this.scale = scale;
+		this.scaledCoefficients = scaledCoefficients;
+		this.rSquared = rSquared;
+		this.count = count;
+	}
+
+	/**
+	 * Fits a polynomial of a given degree to a two-variable data set. If there are fewer distinct values of <i>x</i> than coefficients, the polynomial
+	 * is not unique and every coefficient is <code>NaN</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param degree the highest power of <i>x</i> in the polynomial, which must be at least 1
+	 * @return PolynomialRegression - the fitted polynomial
+	 */
+	public static PolynomialRegression fit(double[] dataX, double[] dataY, int degree)
+	{
+		int length = dataX.length;
+		if(degree < 1)
+			throw new IllegalArgumentException("degree must be at least 1");
+		if(dataY.length != length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length");
+		if(length == 0)
+			throw new IllegalArgumentException("data must have at least 1 point");
+
+		//maps the values of x onto [-1, 1]
+		double min = OrderStatistics.min(dataX, 0, length);
+		double max = OrderStatistics.max(dataX, 0, length);
+		double center = (min + max)/2.0;
+		double scale = (max - min)/2.0;
+		if(scale == 0.0)
+			scale = 1.0;
+
+		//sums of t^j for j up to 2k, and of t^j * y for j up to k
+		double[] powerSums = new double[2 * degree + 1];
+		double[] productSums = new double[degree + 1];
+		for(int i = 0; i < length; i++)
+		{
+			double t = (dataX[i] - center)/scale;
+			double y = dataY[i];
+			double power = 1.0;
+			for(int j = 0; j <= degree; j++)
+			{
+				powerSums[j] = powerSums[j] + power;
+				productSums[j] = productSums[j] + power * y;
+				power = power * t;
+			}
+			for(int j = degree + 1; j <= 2 * degree; j++)
+			{
+				powerSums[j] = powerSums[j] + power;
+				power = power * t;
+			}
+		}
+
+		//the normal equations, where the Gram matrix of the powers of t has the value powerSums[i + j] at row i and column j
+		double[][] gram = new double[degree + 1][degree + 1];
+		for(int i = 0; i <= degree; i++)
+		{
+			for(int j = 0; j <= degree; j++)
+			{
+				gram[i][j] = powerSums[i + j];
+			}
+		}
+		double[] scaledCoefficients = new CholeskyDecomposition(gram).solve(productSums);
+
+		//finds R^2 from the residuals of the fitted polynomial and the deviations of y from its mean
+		double meanY = productSums[0]/length;
+		double sumSquaredResiduals = 0.0;
+		double sumSquaredDeviations = 0.0;
+		for(int i = 0; i < length; i++)
+		{
+			double y = dataY[i];
+			double residual = y - evaluate(scaledCoefficients, (dataX[i] - center)/scale);
+			double deviation = y - meanY;
+			sumSquaredResiduals = sumSquaredResiduals + residual * residual;
+			sumSquaredDeviations = sumSquaredDeviations + deviation * deviation;
+		}
+		double rSquared = 1.0 - sumSquaredResiduals/sumSquaredDeviations;
+		return new PolynomialRegression(degree, center, scale, scaledCoefficients, rSquared, length);
+	}
+
+	/**
+	 * Evaluates a polynomial in <i>t</i> using Horner's method.
+	 * @param coefficients the coefficients of the powers of <i>t</i>, from <i>t</i><sup>0</sup> upwards
+	 * @param t the value of the variable
+	 * @return double - the value of the polynomial at <i>t</i>
+	 */
+	private static double evaluate(double[] coefficients, double t)
+	{
+		double value = coefficients[coefficients.length - 1];
+		for(int j = coefficients.length - 2; j >= 0; j--)
+		{
+			value = value * t + coefficients[j];
+		}
+		return value;
+	}
+
+	/**
+	 * Evaluates the fitted polynomial at a value of <i>x</i>. This is more accurate than evaluating the expanded arguments, as it is done in the centered
+	 * and scaled variable <i>t</i>.
+	 * @param x value of the independent variable
+	 * @return double - the estimated value of the dependent variable
+	 */
+	public double predict(double x)
+	{
+		return evaluate(scaledCoefficients, (x - center)/scale);
+	}
+
+	/**
+	 * Returns the coefficients of the fitted polynomial in the powers of <i>x</i>, from the highest power down to the constant, which is the same order as the
+	 * arguments of <code>AnalysisLibrary.quadraticRegression()</code>. The coefficients of <i>t</i> are expanded by substituting <i>t</i> = <i>x/s - c/s</i> with Horner's method.
+	 * @return double[] - an array of arguments represented as {<i>a<sub>k</sub></i>, ..., <i>a</i><sub>1</sub>, <i>a</i><sub>0</sub>}
+	 */
+	public double[] getArguments()
+	{
+		//multiplies the partial polynomial by (x/s - c/s) and adds the next coefficient, where expanded[j] is the coefficient of x^j
+		double[] expanded = new double[degree + 1];
+		double slope = 1.0/scale;
+		double intercept = -center/scale;
+		expanded[0] = scaledCoefficients[degree];
+		for(int j = degree - 1; j >= 0; j--)
+		{
+			for(int p = degree - j; p >= 1; p--)
+			{
+				expanded[p] = expanded[p] * intercept + expanded[p - 1] * slope;
+			}
+			expanded[0] = expanded[0] * intercept + scaledCoefficients[j];
+		}
+
+		//reverses the coefficients so the highest power comes first
+		double[] arguments = new double[degree + 1];
+		for(int j = 0; j <= degree; j++)
+		{
+			arguments[j] = expanded[degree - j];
+		}
+		return arguments;
+	}
+
+	/**
+	 * Returns the degree of the polynomial
+	 * @return int - the highest power of <i>x</i>
+	 */
+	public int getDegree()
+	{
+		return degree;
+	}
+
+	/**
+	 * Returns the coefficient of determination (R<sup>2</sup>) of the fitted polynomial, which is 1 minus the summation of the squared residuals divided by
+	 * the summation of the squared deviations of <i>y</i> from its mean.
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double getRSquared()
+	{
+		return rSquared;
+	}
+
+	/**
+	 * Returns the number of points that were fitted
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+}
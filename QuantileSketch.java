@@ -0,0 +1,537 @@
+package regressionAnalysisCalc;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+/**
+ * Quantile Sketch estimates the median, quartiles and any percentile of a data set that is too large to keep in memory, using the KLL sketch of Karnin,
+ * Lang and Liberty. Values are added one at a time into a hierarchy of compactors: level <i>h</i> holds values that each stand for 2<sup><i>h</i></sup> of the
+ * original values. When a level is full it is sorted, and every second value (starting at the first or second value at random) is promoted to the next level
+ * while the rest are discarded. The capacity of each level shrinks by a factor of 2/3 below the top level, whose capacity is <i>k</i>, so the sketch holds
+ * <i>O(k)</i> values however many are added.
+ *
+ * <p>The rank of an estimated quantile differs from the requested rank by about 1.7/<i>k</i> of the number of values with high probability (the default
+ * <i>k</i> = 200 gives about 1%). Two sketches with the same <i>k</i> can be merged, so a data set can be summarized in parts. The quartiles are the values
+ * at ranks 1/4 and 3/4, which may differ slightly from the median-of-halves definition used by <code>AnalysisLibrary.interquartileRange()</code>.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class QuantileSketch implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+	public static final int DEFAULT_K = 200; //default capacity of the top level
+
+	private static final int MIN_K = 8; //smallest capacity of the top level
+	private static final int MIN_CAPACITY = 2; //smallest capacity of any level
+	private static final double CAPACITY_RATIO = 2.0/3.0; //ratio of the capacity of each level to the capacity of the level above it
+
+	private final int k; //capacity of the top level, which determines the accuracy
+	private double[][] levels; //values held at each level, where a value at level h stands for 2^h added values
+	private int[] sizes; //number of values held at each level
+	private int[] capacities; //number of values each level holds before it is compacted, which changes when a level is added
+	private int numLevels; //number of levels in use
+	private int retained; //number of values held at all levels
+	private int totalCapacity; //summation of the capacities of every level
+	private long count; //number of values added
+	private double min; //lowest value added
+	private double max; //highest value added
+	private long randomState; //state of the generator that decides which half of a level is promoted
+
+	/**
+	 * Creates an empty sketch with the default accuracy.
+	 */
+	public QuantileSketch()
+	{
+		this(DEFAULT_K);
+	}
+
+	/**
+	 * Creates an empty sketch.
+	 * @param k the capacity of the top level, which must be at least 8. The error of a quantile is about 1.7/<i>k</i> of the number of values.
+	 */
+	public QuantileSketch(int k)
+	{
+		if(k < MIN_K)
+			throw new IllegalArgumentException("k must be at least " + MIN_K + ".");
+		this.k = k;
+		levels = new double[1][];
+		levels[0] = new double[k];
+		sizes = new int[1];
+		numLevels = 1;
+		capacities = new int[1];
+		updateCapacities();
+		min = Double.NaN;
+		max = Double.NaN;
+		randomState = 0x9E3779B97F4A7C15L;
+	}
+
+	/**
+	 * Creates a sketch that holds the given levels (see <code>get()</code>).
+	 * @param k the capacity of the top level, which is at least 8
+	 * @param levels the values held at each level, with at least 1 level
+	 * @param sizes the number of values held at each level
+	 * @param count the number of values added
+	 * @param min the lowest value added
+	 * @param max the highest value added
+	 * @param randomState the state of the generator that decides which half of a level is promoted
+	 */
+	private QuantileSketch(int k, double[][] levels, int[] sizes, long count, double min, double max, long randomState)
+	{
+		this.k = k;
+		this.levels = levels;
+		this.sizes = sizes;
+		numLevels = levels.length;
+		for(int h = 0; h < numLevels; h++)
+		{
+			retained = retained + sizes[h];
+		}
+		capacities = new int[numLevels];
+		updateCapacities();
+		this.count = count;
+		this.min = min;
+		this.max = max;
+		this.randomState = randomState;
+	}
+
+	/**
+	 * Creates an empty sketch that estimates quantiles within a given fraction of the number of values with high probability.
+	 * @param rankError the largest error of the rank of a quantile as a fraction of the number of values, for ex. 0.01 for 1%
+	 * @return QuantileSketch - an empty sketch with a <i>k</i> large enough for the error
+	 */
+	public static QuantileSketch withRankError(double rankError)
+	{
+		if(!(rankError > 0.0 && rankError < 1.0))
+			throw new IllegalArgumentException("rankError must be between 0 and 1.");
+		return new QuantileSketch((int)Math.max(MIN_K, Math.ceil(1.7/rankError)));
+	}
+
+	/**
+	 * Adds a value to the sketch. <code>NaN</code> values are ignored.
+	 * @param value the value to be added
+	 */
+	public void add(double value)
+	{
+		if(Double.isNaN(value))
+			return;
+
+		if(count == 0 || value < min)
+			min = value;
+		if(count == 0 || value > max)
+			max = value;
+		count++;
+
+		append(0, value);
+		if(retained >= totalCapacity)
+			compress();
+	}
+
+	/**
+	 * Adds every value of an array to the sketch.
+	 * @param data an array of type <code>double</code>
+	 */
+	public void addAll(double[] data)
+	{
+		addAll(data, 0, data.length);
+	}
+
+	/**
+	 * Adds the values in a range of an array to the sketch.
+	 * @param data an array of type <code>double</code>
+	 * @param from the first index of the range (inclusive)
+	 * @param to the last index of the range (exclusive)
+	 */
+	public void addAll(double[] data, int from, int to)
+	{
+		for(int i = from; i < to; i++)
+		{
+			add(data[i]);
+		}
+	}
+
+	/**
+	 * Combines another sketch into this one, so that this sketch summarizes the values of both, the same as if every value of <code>other</code>
+	 * had been added.
+	 * @param other a sketch with the same <i>k</i>, which is not changed
+	 */
+	public void merge(QuantileSketch other)
+	{
+		if(other.k != k)
+			throw new IllegalArgumentException("Only sketches with the same k can be merged.");
+		if(other.count == 0)
+			return;
+
+		if(count == 0 || other.min < min)
+			min = other.min;
+		if(count == 0 || other.max > max)
+			max = other.max;
+		count = count + other.count;
+
+		while(numLevels < other.numLevels)
+		{
+			addLevel();
+		}
+		for(int h = 0; h < other.numLevels; h++)
+		{
+			for(int i = 0; i < other.sizes[h]; i++)
+			{
+				append(h, other.levels[h][i]);
+			}
+		}
+		compress();
+	}
+
+	/**
+	 * Adds an empty level above the top level.
+	 */
+	private void addLevel()
+	{
+		if(numLevels == levels.length)
+		{
+			levels = Arrays.copyOf(levels, 2 * numLevels);
+			sizes = Arrays.copyOf(sizes, 2 * numLevels);
+		}
+		levels[numLevels] = new double[k];
+		sizes[numLevels] = 0;
+		numLevels++;
+		updateCapacities();
+	}
+
+	/**
+	 * Adds a value to a level, creating the level if it is just above the top level and growing its array if needed.
+	 * @param level the level the value is added to, which must not be more than 1 above the top level
+	 * @param value the value to be added
+	 */
+	private void append(int level, double value)
+	{
+		if(level == numLevels)
+			addLevel();
+
+		double[] values = levels[level];
+		if(sizes[level] == values.length)
+		{
+			values = Arrays.copyOf(values, 2 * values.length);
+			levels[level] = values;
+		}
+		values[sizes[level]] = value;
+		sizes[level]++;
+		retained++;
+	}
+
+	/**
+	 * Finds the capacity of each level, which is <i>k</i> for the top level and 2/3 of the capacity of the level above for every other level.
+	 */
+	private void updateCapacities()
+	{
+		if(capacities.length < numLevels)
+			capacities = new int[levels.length];
+
+		double capacity = k;
+		totalCapacity = 0;
+		for(int h = numLevels - 1; h >= 0; h--)
+		{
+			capacities[h] = Math.max(MIN_CAPACITY, (int)Math.ceil(capacity));
+			totalCapacity = totalCapacity + capacities[h];
+			capacity = capacity * CAPACITY_RATIO;
+		}
+	}
+
+	/**
+	 * Compacts the lowest level that has reached its capacity until the sketch holds fewer values than the summation of the capacities. Levels are only
+	 * compacted once the sketch as a whole is full, so that each level holds as many values as possible, which keeps the error low.
+	 */
+	private void compress()
+	{
+		while(retained >= totalCapacity)
+		{
+			int level = 0;
+			while(level < numLevels && sizes[level] < capacities[level])
+			{
+				level++;
+			}
+			if(level == numLevels)
+				return;
+			compact(level);
+		}
+	}
+
+	/**
+	 * Sorts a level and promotes every second value to the next level, starting at the first or second value at random. For an odd number of values,
+	 * the highest value stays on the level.
+	 * @param level the level to be compacted
+	 */
+	private void compact(int level)
+	{
+		double[] values = levels[level];
+		int size = sizes[level];
+		int pairs = size/2;
+		Arrays.sort(values, 0, size);
+
+		int offset = nextBit();
+		for(int i = 0; i < pairs; i++)
+		{
+			append(level + 1, values[2 * i + offset]);
+		}
+
+		//the array of this level may have been replaced if a new level was created, so it is read again
+		values = levels[level];
+		retained = retained - 2 * pairs;
+		if(size % 2 == 1)
+		{
+			values[0] = values[size - 1];
+			sizes[level] = 1;
+		}
+		else
+			sizes[level] = 0;
+	}
+
+	/**
+	 * Returns a random bit using the SplitMix64 generator, which is seeded the same way for every sketch so results are reproducible.
+	 * @return int - 0 or 1
+	 */
+	private int nextBit()
+	{
+		randomState = randomState + 0x9E3779B97F4A7C15L;
+		long z = randomState;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z = z ^ (z >>> 31);
+		return (int)(z >>> 63);
+	}
+
+	/**
+	 * Shrinks the array of each level to the number of values it holds before the sketch is serialized, so that unused capacity is not written.
+	 * @param output the stream the sketch is written to
+	 * @throws IOException if the stream cannot be written to
+	 */
+	private void writeObject(ObjectOutputStream output) throws IOException
+	{
+		for(int h = 0; h < numLevels; h++)
+		{
+			levels[h] = Arrays.copyOf(levels[h], Math.max(1, sizes[h]));
+		}
+		output.defaultWriteObject();
+	}
+
+	/**
+	 * Returns the number of bytes written by <code>put()</code>.
+	 * @return int - the number of bytes
+	 */
+	int byteLength()
+	{
+		return 4 + 4 + 8 + 8 + 8 + 8 + 4 * numLevels + 8 * retained;
+	}
+
+	/**
+	 * Writes the sketch to a buffer, so that it can be stored without serialization (see <code>DataFileCache</code>): <i>k</i>, the number of levels, the
+	 * number of values added, the minimum, the maximum and the state of the generator, then the number of values held at each level followed by the values.
+	 * @param buffer the buffer, which must have <code>byteLength()</code> bytes remaining
+	 */
+	void put(ByteBuffer buffer)
+	{
+		buffer.putInt(k).putInt(numLevels).putLong(count).putDouble(min).putDouble(max).putLong(randomState);
+		for(int h = 0; h < numLevels; h++)
+		{
+			buffer.putInt(sizes[h]);
+			for(int i = 0; i < sizes[h]; i++)
+			{
+				buffer.putDouble(levels[h][i]);
+			}
+		}
+	}
+
+	/**
+	 * Reads a sketch written by <code>put()</code> from a buffer. The array of each level is as long as the values it holds, and grows as values are added.
+	 * @param buffer the buffer, in the same byte order it was written in
+	 * @return QuantileSketch - the sketch that was written
+	 * @throws IllegalArgumentException if the sketch is not valid, for ex. if it has more levels or values than the bytes left in the buffer
+	 */
+	static QuantileSketch get(ByteBuffer buffer)
+	{
+		int k = buffer.getInt();
+		int numLevels = buffer.getInt();
+		long count = buffer.getLong();
+		double min = buffer.getDouble();
+		double max = buffer.getDouble();
+		long randomState = buffer.getLong();
+		if(k < MIN_K || numLevels < 1 || numLevels > buffer.remaining()/4 || count < 0)
+			throw new IllegalArgumentException("The sketch is not valid.");
+
+		double[][] levels = new double[numLevels][];
+		int[] sizes = new int[numLevels];
+		for(int h = 0; h < numLevels; h++)
+		{
+			int size = buffer.getInt();
+			if(size < 0 || size > buffer.remaining()/8)
+				throw new IllegalArgumentException("The sketch is not valid.");
+			levels[h] = new double[Math.max(1, size)];
+			for(int i = 0; i < size; i++)
+			{
+				levels[h][i] = buffer.getDouble();
+			}
+			sizes[h] = size;
+		}
+		return new QuantileSketch(k, levels, sizes, count, min, max, randomState);
+	}
+
+	/**
+	 * Estimates the value at a given rank, or quantile. A quantile of 0 returns the lowest value and a quantile of 1 returns the highest value.
+	 * The values held at each level are sorted and merged, and the weights (2<sup><i>h</i></sup> for level <i>h</i>) are added up until they reach
+	 * the rank.
+	 * @param quantile the rank as a fraction of the number of values, from 0 to 1
+	 * @return double - the estimated value, or <code>NaN</code> if no values have been added
+	 */
+	public double getQuantile(double quantile)
+	{
+		if(!(quantile >= 0.0 && quantile <= 1.0))
+			throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+		if(count == 0)
+			return Double.NaN;
+		if(quantile == 0.0)
+			return min;
+		if(quantile == 1.0)
+			return max;
+
+		//sorts each level so they can be merged in order
+		int[] positions = new int[numLevels];
+		for(int h = 0; h < numLevels; h++)
+		{
+			Arrays.sort(levels[h], 0, sizes[h]);
+		}
+
+		//takes the lowest remaining value of all levels until the total weight reaches the rank
+		double rank = quantile * count;
+		long weight = 0;
+		while(true)
+		{
+			int lowestLevel = -1;
+			for(int h = 0; h < numLevels; h++)
+			{
+				if(positions[h] < sizes[h] && (lowestLevel < 0 || levels[h][positions[h]] < levels[lowestLevel][positions[lowestLevel]]))
+					lowestLevel = h;
+			}
+			if(lowestLevel < 0)
+				return max;
+
+			double value = levels[lowestLevel][positions[lowestLevel]];
+			positions[lowestLevel]++;
+			weight = weight + (1L << lowestLevel);
+			if(weight >= rank)
+				return value;
+		}
+	}
+
+	/**
+	 * Estimates the fraction of the values that are less than or equal to a given value.
+	 * @param value the value
+	 * @return double - the estimated rank of <code>value</code>, from 0 to 1, or <code>NaN</code> if no values have been added
+	 */
+	public double getRank(double value)
+	{
+		if(count == 0)
+			return Double.NaN;
+
+		long weight = 0;
+		for(int h = 0; h < numLevels; h++)
+		{
+			double[] values = levels[h];
+			for(int i = 0; i < sizes[h]; i++)
+			{
+				if(values[i] <= value)
+					weight = weight + (1L << h);
+			}
+		}
+		return (double)weight/count;
+	}
+
+	/**
+	 * Estimates a percentile of the values
+	 * @param percentile the percentile, from 0 to 100
+	 * @return double - the estimated value at the percentile
+	 */
+	public double getPercentile(double percentile)
+	{
+		return getQuantile(percentile/100.0);
+	}
+
+	/**
+	 * Estimates the median of the values
+	 * @return double - the estimated median
+	 */
+	public double getMedian()
+	{
+		return getQuantile(0.5);
+	}
+
+	/**
+	 * Estimates the first quartile (Q1) of the values
+	 * @return double - the estimated value at rank 1/4
+	 */
+	public double getQ1()
+	{
+		return getQuantile(0.25);
+	}
+
+	/**
+	 * Estimates the third quartile (Q3) of the values
+	 * @return double - the estimated value at rank 3/4
+	 */
+	public double getQ3()
+	{
+		return getQuantile(0.75);
+	}
+
+	/**
+	 * Estimates the interquartile range (Q3 - Q1) of the values
+	 * @return double - the estimated interquartile range
+	 */
+	public double getInterquartileRange()
+	{
+		return getQ3() - getQ1();
+	}
+
+	/**
+	 * Returns the number of values added
+	 * @return long - the number of values
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns the lowest value added, which is exact
+	 * @return double - the minimum value, or <code>NaN</code> if no values have been added
+	 */
+	public double getMin()
+	{
+		return min;
+	}
+
+	/**
+	 * Returns the highest value added, which is exact
+	 * @return double - the maximum value, or <code>NaN</code> if no values have been added
+	 */
+	public double getMax()
+	{
+		return max;
+	}
+
+	/**
+	 * Returns the capacity of the top level
+	 * @return int - the value of <i>k</i>
+	 */
+	public int getK()
+	{
+		return k;
+	}
+
+	/**
+	 * Returns the number of values held by the sketch, which stays proportional to <i>k</i> however many values are added
+	 * @return int - the number of values held
+	 */
+	public int getNumRetained()
+	{
+		return retained;
+	}
+}
@@ -0,0 +1,140 @@
+package regressionAnalysisCalc;
+/**
+ * Regression Result holds the outcome of fitting one regression model to a data set: the arguments of the model (in the same form as the corresponding
+ * method of <code>AnalysisLibrary</code>), the Pearson Correlation Coefficient (<i>r</i>), the coefficient of determination (R<sup>2</sup>) and the number of
+ * points that were fitted. All values are unrounded. A power or exponential model solved by the log method has the R<sup>2</sup> of its transformed linear model, which
+ * measures the fit of ln<i>y</i> rather than <i>y</i> (see <code>isLogMethod()</code>).
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class RegressionResult
+{
+	private final int regressionType; //the regression model: 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	private final double[] arguments; //constants in the equation of the model
+	private final double rFactor; //PCC, or NaN if the model has none
+	private final double rSquared; //coefficient of determination
+	private final long count; //number of points fitted
+	private final boolean logMethod; //true if R-squared is that of the transformed linear model
+
+	/**
+	 * Creates a result for a fitted regression model whose R<sup>2</sup> is measured against <i>y</i>.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param arguments the arguments of the model
+	 * @param rFactor the PCC of the model, or <code>NaN</code> if the model has none (quadratic)
+	 * @param rSquared the coefficient of determination of the model
+	 * @param count the number of points fitted
+	 */
+	RegressionResult(int regressionType, double[] arguments, double rFactor, double rSquared, long count)
+	{
+		this(regressionType, arguments, rFactor, rSquared, count, false);
+	}
+
+	/**
+	 * Creates a result for a fitted regression model.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param arguments the arguments of the model
+	 * @param rFactor the PCC of the model, or <code>NaN</code> if the model has none (quadratic)
+	 * @param rSquared the coefficient of determination of the model
+	 * @param count the number of points fitted
+	 * @param logMethod true if <code>rFactor</code> and <code>rSquared</code> are those of the transformed linear model of the log method
+	 */
+	RegressionResult(int regressionType, double[] arguments, double rFactor, double rSquared, long count, boolean logMethod)
+	{
+		this.regressionType = regressionType;
+		this.arguments = arguments;
+		this.rFactor = rFactor;
+		this.rSquared = rSquared;
+		this.count = count;
+		this.logMethod = logMethod;
+	}
+
+	/**
+	 * Returns the integer used to refer to the regression model (see <code>AnalysisLibrary.LINEAR</code>)
+	 * @return int - 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 */
+	public int getRegressionType()
+	{
+		return regressionType;
+	}
+
+	/**
+	 * Returns the arguments of the model, in the same form as the corresponding method of <code>AnalysisLibrary</code>
+	 * (for ex. {slope, y-intercept} for a linear model)
+	 * @return double[] - the arguments of the model
+	 */
+	public double[] getArguments()
+	{
+		return arguments;
+	}
+
+	/**
+	 * Returns the Pearson Correlation Coefficient of the model. For the power and exponential models, this is the PCC of the transformed linear model if the model
+	 * was solved by the log method, or the square root of R<sup>2</sup> with the same sign if it was fitted by least squares (see <code>NonlinearRegression</code>).
+	 * @return double - the PCC, or <code>NaN</code> for the quadratic model
+	 */
+	public double getRFactor()
+	{
+		return rFactor;
+	}
+
+	/**
+	 * Returns the coefficient of determination of the model
+	 * @return double - the value of R<sup>2</sup>
+	 */
+	public double getRSquared()
+	{
+		return rSquared;
+	}
+
+	/**
+	 * Returns the number of points the model was fitted to
+	 * @return long - the number of points
+	 */
+	public long getCount()
+	{
+		return count;
+	}
+
+	/**
+	 * Returns whether the PCC, R<sup>2</sup>, adjusted R<sup>2</sup> and AIC are those of the transformed linear model of the log method, which measure the
+	 * fit of ln<i>y</i>. These cannot be compared with the scores of a model measured against <i>y</i> itself.
+	 * @return boolean - <code>true</code> for a power or exponential model solved by the log method, otherwise <code>false</code>
+	 */
+	public boolean isLogMethod()
+	{
+		return logMethod;
+	}
+
+	/**
+	 * Returns the number of coefficients that were fitted, not counting the PCC stored with the arguments of the power and exponential models
+	 * @return int - 3 for the quadratic model, 2 for every other model
+	 */
+	public int getNumCoefficients()
+	{
+		if(regressionType == AnalysisLibrary.QUADRATIC)
+			return 3;
+		return 2;
+	}
+
+	/**
+	 * Returns R<sup>2</sup> adjusted for the number of coefficients <i>k</i>, 1 - (1 - R<sup>2</sup>)(<i>n</i> - 1)/(<i>n - k</i>), so that a model with more coefficients is
+	 * only preferred if it improves the fit by more than would be expected by chance.
+	 * @return double - the adjusted value of R<sup>2</sup>
+	 */
+	public double getAdjustedRSquared()
+	{
+		return 1.0 - (1.0 - rSquared) * (count - 1)/(count - getNumCoefficients());
+	}
+
+	/**
+	 * Returns the Akaike Information Criterion of the model, where a lower value is a better model. The summation of the squared residuals is
+	 * (1 - R<sup>2</sup>) times the summation of the squared deviations, so up to a constant that is the same for every model fitted to the same variables,
+	 * the criterion is <i>n</i> ln(1 - R<sup>2</sup>) + 2<i>k</i>. For the power and exponential models solved by the log method this is the criterion of the
+	 * transformed linear model, the same as their R<sup>2</sup> (see <code>isLogMethod()</code>).
+	 * @return double - the AIC, relative to the summation of the squared deviations
+	 */
+	public double getAIC()
+	{
+		return count * Math.log(1.0 - rSquared) + 2 * getNumCoefficients();
+	}
+}
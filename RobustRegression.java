@@ -0,0 +1,654 @@
+package regressionAnalysisCalc;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+/**
+ * Robust Regression fits a line <i>y = mx + b</i> that is not pulled away by a few outlying points, unlike <code>AnalysisLibrary.linearRegression()</code>,
+ * where a single bad reading can change the slope completely. Two estimators are supported:
+ * <ul><li>Theil-Sen, where the slope is the median of the slopes between every pair of points with different values of <i>x</i>, and the <i>y</i>-intercept
+ * is the median of <i>y - mx</i>. It ignores up to 29% of the points being outliers.</li>
+ * <li>RANSAC (random sample consensus), which fits lines through many random pairs of points, keeps the line with the most points within a threshold of it
+ * (the inliers), and refits the inliers by least squares. It ignores any number of outliers, as long as the inliers are the largest group of points on one line.</li></ul>
+ *
+ * <p>There are <i>n</i>(<i>n</i> - 1)/2 pairs of points, too many to list for a large data set, so the median slope is selected without listing them. For a slope
+ * <i>t</i>, sorting the points by <i>y - tx</i> puts every pair whose slope is at most <i>t</i> in the opposite order to sorting them by <i>x</i>, so the pairs
+ * whose slope lies between two values can be counted, and any of them picked by its rank, from the inversions found while merge sorting one order into the other,
+ * in O(<i>n</i> log <i>n</i>) time. Starting from every pair, each round picks <i>n</i> random pairs from the remaining range of slopes, narrows the range to
+ * the sampled slopes just around the median, and counts the pairs left in it. Each round leaves about 1/&radic;<i>n</i> of the pairs, so after a few rounds no more than
+ * <i>n</i> are left, which are listed and the median selected from them. If many slopes are tied, so that the sampled slopes cannot narrow the range, the pairs
+ * below and at a tied slope are counted exactly and the range narrowed to one side of it, or the tied slope is the median.</p>
+ *
+ * <p>Both estimators are random, and take a seed so that a fit can be repeated exactly. The iterations of RANSAC are split across the threads of a
+ * <code>ForkJoinPool</code> in the same way as <code>ParallelAnalysisLibrary</code>, each half of the iterations taking its own random generator split from its
+ * parent's, so the line found does not depend on the number of threads.</p>
+ *
+ * <p>The results have the same form as <code>AnalysisLibrary.linearRegression()</code>, {slope, <i>y</i>-intercept}. The PCC is that of the data, and
+ * R<sup>2</sup> is 1 minus the summation of the squared residuals of every point divided by the summation of the squared deviations of <i>y</i>, so it
+ * can be compared with the least squares line, and is lower whenever the outliers are counted.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class RobustRegression
+{
+	public static final long DEFAULT_SEED = 0L; //default seed of the random generators
+	public static final int DEFAULT_ITERATIONS = 1000; //default number of lines tried by RANSAC
+
+	private static final int MIN_LISTED = 64; //number of pairs that are always few enough to list
+	private static final int ITERATIONS_PER_TASK = 16; //number of RANSAC iterations below which they are not split
+	private static final int MAX_TIED = 32; //longest run of tied points that is sorted by insertion
+	private static final int MAX_TRIES = 100; //number of random pairs tried before giving up on finding two different values of x
+	private static final double MAD_TO_STDEV = 1.4826; //ratio of the standard deviation to the median absolute deviation of normally distributed data
+	private static final double DEFAULT_THRESHOLD = 3.0; //default RANSAC threshold, in standard deviations of the residuals of the Theil-Sen line
+
+	/**
+	 * Fits a Theil-Sen line with the default seed.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return RegressionResult - the fitted line, with arguments {slope, <i>y</i>-intercept}
+	 */
+	public static RegressionResult theilSen(double[] dataX, double[] dataY)
+	{
+		return theilSen(dataX, dataY, DEFAULT_SEED);
+	}
+
+	/**
+	 * Fits a Theil-Sen line, whose slope is the median of the slopes between every pair of points with different values of <i>x</i>, and whose <i>y</i>-intercept
+	 * is the median of <i>y - mx</i>. If every <i>x</i> is the same, the slope is undefined and every argument is <code>NaN</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param seed the seed of the random generator that picks pairs of points. The same seed always gives the same line.
+	 * @return RegressionResult - the fitted line, with arguments {slope, <i>y</i>-intercept}
+	 */
+	public static RegressionResult theilSen(double[] dataX, double[] dataY, long seed)
+	{
+		int length = checkData(dataX, dataY);
+		double slope = new SlopeSelector(dataX, dataY, seed).medianSlope();
+		return result(dataX, dataY, slope, medianIntercept(dataX, dataY, slope, new double[length]));
+	}
+
+	/**
+	 * Fits a RANSAC line with the default number of iterations and seed, on the common <code>ForkJoinPool</code>. A point is an inlier if it is within
+	 * 3 standard deviations of the residuals of the Theil-Sen line, estimated from their median absolute deviation.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @return RegressionResult - the fitted line, with arguments {slope, <i>y</i>-intercept}
+	 */
+	public static RegressionResult ransac(double[] dataX, double[] dataY)
+	{
+		int length = checkData(dataX, dataY);
+		double slope = new SlopeSelector(dataX, dataY, DEFAULT_SEED).medianSlope();
+		double[] residuals = new double[length];
+		double intercept = medianIntercept(dataX, dataY, slope, residuals);
+
+		//residuals holds y - mx, so subtracting the intercept leaves the residuals of the Theil-Sen line
+		for(int i = 0; i < length; i++)
+		{
+			residuals[i] = Math.abs(residuals[i] - intercept);
+		}
+		double threshold = DEFAULT_THRESHOLD * MAD_TO_STDEV * OrderStatistics.median(residuals, 0, length);
+		return ransac(dataX, dataY, threshold, DEFAULT_ITERATIONS, DEFAULT_SEED, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Fits a RANSAC line on the common <code>ForkJoinPool</code> (see <code>ransac(double[], double[], double, int, long, ForkJoinPool)</code>).
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param threshold the largest vertical distance from a line at which a point is an inlier, which must not be negative
+	 * @param iterations the number of random lines tried, which must be greater than 0
+	 * @param seed the seed of the random generator that picks pairs of points
+	 * @return RegressionResult - the fitted line, with arguments {slope, <i>y</i>-intercept}
+	 */
+	public static RegressionResult ransac(double[] dataX, double[] dataY, double threshold, int iterations, long seed)
+	{
+		return ransac(dataX, dataY, threshold, iterations, seed, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Fits a RANSAC line. Each iteration draws two random points with different values of <i>x</i> and counts the points within the threshold of the line through
+	 * them. The line with the most inliers (the earliest iteration, if some are tied) is kept, and its inliers are refitted by least squares. If no two points
+	 * have different values of <i>x</i>, every argument is <code>NaN</code>.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable. Must be the same length as <code>dataX</code>.
+	 * @param threshold the largest vertical distance from a line at which a point is an inlier, which must not be negative
+	 * @param iterations the number of random lines tried, which must be greater than 0
+	 * @param seed the seed of the random generator that picks pairs of points. The same seed and number of iterations always give the same line.
+	 * @param pool the <code>ForkJoinPool</code> that runs the iterations
+	 * @return RegressionResult - the fitted line, with arguments {slope, <i>y</i>-intercept}
+	 */
+	public static RegressionResult ransac(double[] dataX, double[] dataY, double threshold, int iterations, long seed, ForkJoinPool pool)
+	{
+		checkData(dataX, dataY);
+		if(!(threshold >= 0.0))
+			throw new IllegalArgumentException("Threshold must not be negative.");
+		if(iterations <= 0)
+			throw new IllegalArgumentException("Iterations must be greater than 0.");
+
+		double[] best = pool.invoke(new RansacTask(dataX, dataY, threshold, 0, iterations, new SplittableRandom(seed)));
+		if(best[0] < 2)
+			return result(dataX, dataY, Double.NaN, Double.NaN);
+
+		//refits the inliers of the best line by least squares
+		double slope = best[1];
+		double intercept = best[2];
+		MomentAccumulator inliers = new MomentAccumulator();
+		for(int i = 0; i < dataX.length; i++)
+		{
+			if(Math.abs(dataY[i] - (slope * dataX[i] + intercept)) <= threshold)
+				inliers.add(dataX[i], dataY[i]);
+		}
+		double[] arguments = inliers.linearRegression();
+		return result(dataX, dataY, arguments[0], arguments[1]);
+	}
+
+	/**
+	 * Checks that two arrays of data can be fitted.
+	 * @param dataX the values of the independent variable
+	 * @param dataY the values of the dependent variable
+	 * @return int - the number of points
+	 */
+	private static int checkData(double[] dataX, double[] dataY)
+	{
+		if(dataX.length != dataY.length)
+			throw new IllegalArgumentException("dataX and dataY must be the same length.");
+		if(dataX.length < 2)
+			throw new IllegalArgumentException("There must be at least 2 points.");
+		return dataX.length;
+	}
+
+	/**
+	 * Finds the <i>y</i>-intercept of a Theil-Sen line, the median of <i>y - mx</i>.
+	 * @param dataX the values of the independent variable
+	 * @param dataY the values of the dependent variable
+	 * @param slope the slope of the line
+	 * @param offsets an array the same length as the data, which is filled with <i>y - mx</i> in an unspecified order
+	 * @return double - the <i>y</i>-intercept
+	 */
+	private static double medianIntercept(double[] dataX, double[] dataY, double slope, double[] offsets)
+	{
+		for(int i = 0; i < dataX.length; i++)
+		{
+			offsets[i] = dataY[i] - slope * dataX[i];
+		}
+		return OrderStatistics.median(offsets, 0, offsets.length);
+	}
+
+	/**
+	 * Creates the result of a robust line, with the PCC of the data and R<sup>2</sup> of the line over every point.
+	 * @param dataX the values of the independent variable
+	 * @param dataY the values of the dependent variable
+	 * @param slope the slope of the line
+	 * @param intercept the <i>y</i>-intercept of the line
+	 * @return RegressionResult - the fitted line
+	 */
+	private static RegressionResult result(double[] dataX, double[] dataY, double slope, double intercept)
+	{
+		double meanY = AnalysisLibrary.mean(dataY);
+		double sumSquaredResiduals = 0.0;
+		for(int i = 0; i < dataX.length; i++)
+		{
+			double residual = dataY[i] - (slope * dataX[i] + intercept);
+			sumSquaredResiduals = sumSquaredResiduals + residual * residual;
+		}
+		double sumSquaredDeviations = VectorKernels.centeredProductSum(dataY, 0, meanY, dataY, 0, meanY, dataY.length);
+		double[] arguments = {slope, intercept};
+		return new RegressionResult(AnalysisLibrary.LINEAR, arguments, AnalysisLibrary.rFactor(dataX, dataY), 1.0 - sumSquaredResiduals/sumSquaredDeviations, dataX.length);
+	}
+
+	/**
+	 * Selects the median of the slopes between every pair of points with different values of <i>x</i>, holding the arrays that each pass over the points reuses.
+	 * The keys are sorted along with the indices of their points, rather than through them, so each merge reads every array in order.
+	 */
+	private static class SlopeSelector
+	{
+		private final double[] dataX;
+		private final double[] dataY;
+		private final int length;
+		private final int maxListed; //most pairs that are listed at once
+		private final SplittableRandom random;
+		private double[] primary; //key that the points are sorted by
+		private double[] secondary; //key that breaks ties
+		private int[] order; //indices of the points, in the same order as the keys
+		private double[] primaryBuffer; //buffers that the keys and indices are merged into
+		private double[] secondaryBuffer;
+		private int[] orderBuffer;
+		private final double[] sortedAt = {Double.NaN, Double.NaN}; //slopes at which the points were last sorted, at each end of a range
+		private final int[][] sortedOrder; //indices of the points sorted by y - tx at each slope in sortedAt
+		private long[] ranks; //ranks of the pairs to pick, in ascending order, which are grown if more pairs must be listed
+		private double[] slopes; //slopes of the picked pairs
+		private boolean isInclusive; //true if pairs whose slope equals the high end of the range are counted
+
+		SlopeSelector(double[] dataX, double[] dataY, long seed)
+		{
+			this.dataX = dataX;
+			this.dataY = dataY;
+			length = dataX.length;
+			maxListed = Math.max(length, MIN_LISTED);
+			random = new SplittableRandom(seed);
+			primary = new double[length];
+			secondary = new double[length];
+			order = new int[length];
+			primaryBuffer = new double[length];
+			secondaryBuffer = new double[length];
+			orderBuffer = new int[length];
+			sortedOrder = new int[2][length];
+			ranks = new long[maxListed];
+			slopes = new double[maxListed];
+		}
+
+		/**
+		 * Selects the median slope, or the mean of the two middle slopes if the number of pairs is even.
+		 * @return double - the median slope, or <code>NaN</code> if every <i>x</i> is the same
+		 */
+		double medianSlope()
+		{
+			//the steepest and shallowest slopes are between points of neighbouring values of x, and pairs with the same x have no slope
+			for(int i = 0; i < length; i++)
+			{
+				primary[i] = dataX[i];
+				secondary[i] = dataY[i];
+				order[i] = i;
+			}
+			sort(false, 0);
+			double minSlope = Double.POSITIVE_INFINITY;
+			double maxSlope = Double.NEGATIVE_INFINITY;
+			double lastX = primary[0];
+			double lastMinY = secondary[0];
+			double lastMaxY = lastMinY;
+			long count = (long)length * (length - 1)/2;
+			int start = 0;
+			while(start < length)
+			{
+				int end = start;
+				double x = primary[start];
+				while(end < length && primary[end] == x)
+				{
+					end++;
+				}
+				long groupSize = end - start;
+				count = count - groupSize * (groupSize - 1)/2;
+				double minY = secondary[start];
+				double maxY = secondary[end - 1];
+				if(start > 0)
+				{
+					minSlope = Math.min(minSlope, (minY - lastMaxY)/(x - lastX));
+					maxSlope = Math.max(maxSlope, (maxY - lastMinY)/(x - lastX));
+				}
+				lastX = x;
+				lastMinY = minY;
+				lastMaxY = maxY;
+				start = end;
+			}
+			if(count == 0)
+				return Double.NaN;
+
+			//starts from a range of slopes wide enough that every pair is inside it
+			double margin = (maxSlope - minSlope) + Math.abs(minSlope) + Math.abs(maxSlope) + 1.0;
+			return select((count - 1)/2, count/2, minSlope - margin, maxSlope + margin, true, count);
+		}
+
+		/**
+		 * Selects the mean of the slopes at two ranks among the pairs in a range of slopes, which are the same rank or neighbouring ranks.
+		 * @param lowRank the lower rank, from 0 at the low end of the range
+		 * @param highRank the higher rank, which is <code>lowRank</code> or <code>lowRank + 1</code>
+		 * @param low the low end of the range, which is never included
+		 * @param high the high end of the range
+		 * @param isHighInclusive true if the pairs whose slope equals <code>high</code> are in the range
+		 * @param count the number of pairs in the range
+		 * @return double - the mean of the two slopes
+		 */
+		private double select(long lowRank, long highRank, double low, double high, boolean isHighInclusive, long count)
+		{
+			while(count > maxListed)
+			{
+				//picks random pairs in the range and finds their slopes
+				int sampleSize = maxListed;
+				for(int i = 0; i < sampleSize; i++)
+				{
+					ranks[i] = random.nextLong(count);
+				}
+				Arrays.sort(ranks, 0, sampleSize);
+				pairs(low, high, sampleSize, isHighInclusive);
+				Arrays.sort(slopes, 0, sampleSize);
+
+				//narrows the range to the sampled slopes just around the median, with a margin of a few standard deviations of the sampled ranks
+				double spread = 2.0 * Math.sqrt(sampleSize);
+				int lowIndex = (int)Math.floor((double)lowRank/count * sampleSize - spread);
+				int highIndex = (int)Math.ceil((double)highRank/count * sampleSize + spread);
+				double newLow = low;
+				double newHigh = high;
+				if(lowIndex >= 0)
+					newLow = Math.max(low, Math.min(high, slopes[lowIndex]));
+				if(highIndex < sampleSize)
+					newHigh = Math.max(newLow, Math.min(high, slopes[highIndex]));
+
+				//counts the pairs in each part of the range, and keeps the parts that hold the median
+				long[] counts = new long[4];
+				counts[1] = Math.min(count, pairs(low, newLow, 0, newLow < high || isHighInclusive));
+				counts[2] = Math.min(count, counts[1] + pairs(newLow, newHigh, 0, newHigh < high || isHighInclusive));
+				counts[3] = count;
+				double[] bounds = {low, newLow, newHigh, high};
+				int lowPart = part(counts, lowRank);
+				int highPart = part(counts, highRank);
+				long newCount = counts[highPart + 1] - counts[lowPart];
+				if(newCount < count)
+				{
+					low = bounds[lowPart];
+					high = bounds[highPart + 1];
+					isHighInclusive = high < bounds[3] || isHighInclusive;
+					lowRank = lowRank - counts[lowPart];
+					highRank = highRank - counts[lowPart];
+					count = newCount;
+					continue;
+				}
+
+				//the range cannot be narrowed by the sampled slopes if many pairs are tied at one of them, so the pairs below and at the sampled slope
+				//closest to the median are counted exactly, and the range is narrowed to the pairs below, at or above it
+				int tiedIndex = (int)Math.max(0, Math.min(sampleSize - 1, (double)lowRank/count * sampleSize));
+				double tied = Math.max(low, Math.min(high, slopes[tiedIndex]));
+				long under = Math.min(count, pairs(low, tied, 0, false));
+				long through = Math.min(count, pairs(low, tied, 0, tied < high || isHighInclusive));
+				boolean isLowTied = lowRank >= under && lowRank < through;
+				boolean isHighTied = highRank >= under && highRank < through;
+				if(isLowTied && isHighTied)
+					return tied;
+				else if(isLowTied && through < count) //the high rank is the lowest slope above the tie
+					return (tied + select(0, 0, tied, high, isHighInclusive, count - through))/2.0;
+				else if(isHighTied && under > 0) //the low rank is the highest slope below the tie
+					return (select(under - 1, under - 1, low, tied, false, under) + tied)/2.0;
+				else if(lowRank >= through && through > 0)
+				{
+					low = tied;
+					lowRank = lowRank - through;
+					highRank = highRank - through;
+					count = count - through;
+				}
+				else if(highRank < under && under < count)
+				{
+					high = tied;
+					isHighInclusive = false;
+					count = under;
+				}
+				else //the counts disagree with the sampled slope by rounding, so every pair left is listed
+					break;
+			}
+
+			//lists every pair left in the range and selects the middle slopes
+			if(count > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Too many pairs of points have slopes too close to tell apart.");
+			int listed = (int)count;
+			if(listed > ranks.length)
+			{
+				ranks = new long[listed];
+				slopes = new double[listed];
+			}
+			for(int i = 0; i < listed; i++)
+			{
+				ranks[i] = i;
+			}
+			pairs(low, high, listed, isHighInclusive);
+			Arrays.sort(slopes, 0, listed);
+			int lowIndex = (int)Math.max(0, Math.min(listed - 1, lowRank));
+			int highIndex = (int)Math.max(0, Math.min(listed - 1, highRank));
+			return (slopes[lowIndex] + slopes[highIndex])/2.0;
+		}
+
+		/**
+		 * Finds the part of a divided range of slopes that holds a rank.
+		 * @param counts the number of pairs below the start of each part, and the total number of pairs last
+		 * @param rank the rank of a pair, from 0
+		 * @return int - the index of the part
+		 */
+		private static int part(long[] counts, long rank)
+		{
+			int part = 0;
+			while(part < counts.length - 2 && rank >= counts[part + 1])
+			{
+				part++;
+			}
+			return part;
+		}
+
+		/**
+		 * Counts the pairs of points whose slope is greater than <code>low</code> and less than, or no greater than, <code>high</code>, and finds the slopes of the
+		 * first <code>numRanks</code> pairs ranked in <code>ranks</code>. The pairs are ranked in an order that only depends on the data and the range.
+		 * @param low the low end of the range of slopes
+		 * @param high the high end of the range of slopes, which must be greater or equal to <code>low</code>
+		 * @param numRanks the number of ranks to find, whose slopes are stored in <code>slopes</code> in the same order
+		 * @param isInclusive true to count the pairs whose slope equals <code>high</code>, false to leave them out
+		 * @return long - the number of pairs in the range
+		 */
+		private long pairs(double low, double high, int numRanks, boolean isInclusive)
+		{
+			if(low >= high)
+				return 0;
+
+			this.isInclusive = isInclusive;
+
+			//a pair is in the range if its order by y - tx at low is reversed at high, so the points are sorted at low first. The next range usually
+			//starts at an end of the last one, where the order is already known and only ties need to be broken again.
+			int cached = -1;
+			if(low == sortedAt[0])
+				cached = 0;
+			else if(low == sortedAt[1])
+				cached = 1;
+			if(cached < 0 || !reorder(sortedOrder[cached], low, high))
+			{
+				for(int i = 0; i < length; i++)
+				{
+					primary[i] = dataY[i] - low * dataX[i];
+					secondary[i] = dataY[i] - high * dataX[i];
+					order[i] = i;
+				}
+				sort(false, 0);
+			}
+			System.arraycopy(order, 0, sortedOrder[0], 0, length);
+			sortedAt[0] = low;
+
+			//the keys swap roles and are sorted again at high
+			double[] swap = primary;
+			primary = secondary;
+			secondary = swap;
+			long reversed = sort(true, numRanks);
+			System.arraycopy(order, 0, sortedOrder[1], 0, length);
+			sortedAt[1] = high;
+			return reversed;
+		}
+
+		/**
+		 * Puts the points in an order already sorted by <i>y - tx</i> at <code>low</code>, breaking ties by <i>y - tx</i> at <code>high</code>.
+		 * @param sorted the indices of the points sorted by <i>y - tx</i> at <code>low</code>
+		 * @param low the low end of the range of slopes
+		 * @param high the high end of the range of slopes
+		 * @return boolean - false if there are too many ties to break, in which case the points must be sorted again
+		 */
+		private boolean reorder(int[] sorted, double low, double high)
+		{
+			for(int k = 0; k < length; k++)
+			{
+				int i = sorted[k];
+				primary[k] = dataY[i] - low * dataX[i];
+				secondary[k] = dataY[i] - high * dataX[i];
+				order[k] = i;
+			}
+
+			//sorts each run of tied points by insertion
+			int start = 0;
+			while(start < length)
+			{
+				int end = start + 1;
+				while(end < length && primary[end] == primary[start])
+				{
+					end++;
+				}
+				if(end - start > MAX_TIED)
+					return false;
+				for(int k = start + 1; k < end; k++)
+				{
+					double key = secondary[k];
+					int point = order[k];
+					int j = k - 1;
+					while(j >= start && secondary[j] > key)
+					{
+						secondary[j + 1] = secondary[j];
+						order[j + 1] = order[j];
+						j--;
+					}
+					secondary[j + 1] = key;
+					order[j + 1] = point;
+				}
+				start = end;
+			}
+			return true;
+		}
+
+		/**
+		 * Merge sorts the keys and the points from their current order, counting the pairs whose order is reversed.
+		 * @param isHigh true if the primary key is <i>y - tx</i> at the high end of the range, so ties are broken by the secondary key in descending order
+		 * if the high end is inclusive, and points in the same position at both ends of the range are never reversed. False to break ties by the secondary key.
+		 * @param numRanks the number of ranks to find, whose slopes are stored in <code>slopes</code>
+		 * @return long - the number of pairs whose order is reversed
+		 */
+		private long sort(boolean isHigh, int numRanks)
+		{
+			long reversed = 0;
+			int nextRank = 0;
+			boolean isDescending = isHigh && isInclusive;
+			boolean isAscending = !isHigh;
+
+			for(int width = 1; width < length; width = width * 2)
+			{
+				for(int from = 0; from < length; from = from + 2 * width)
+				{
+					int middle = Math.min(from + width, length);
+					int to = Math.min(from + 2 * width, length);
+					int left = from;
+					int right = middle;
+					int next = from;
+					while(left < middle && right < to)
+					{
+						double key = primary[right];
+						double leftKey = primary[left];
+						boolean isAhead = key < leftKey;
+						if(key == leftKey)
+							isAhead = (isDescending && secondary[right] > secondary[left]) || (isAscending && secondary[right] < secondary[left]);
+						if(isAhead)
+						{
+							//the point moves ahead of every point left in the left half, which are all reversed pairs
+							long moved = middle - left;
+							while(nextRank < numRanks && ranks[nextRank] - reversed < moved)
+							{
+								int point = order[right];
+								int other = order[left + (int)(ranks[nextRank] - reversed)];
+								slopes[nextRank] = (dataY[point] - dataY[other])/(dataX[point] - dataX[other]);
+								nextRank++;
+							}
+							reversed = reversed + moved;
+							primaryBuffer[next] = key;
+							secondaryBuffer[next] = secondary[right];
+							orderBuffer[next++] = order[right++];
+						}
+						else
+						{
+							primaryBuffer[next] = leftKey;
+							secondaryBuffer[next] = secondary[left];
+							orderBuffer[next++] = order[left++];
+						}
+					}
+					System.arraycopy(primary, left, primaryBuffer, next, middle - left);
+					System.arraycopy(secondary, left, secondaryBuffer, next, middle - left);
+					System.arraycopy(order, left, orderBuffer, next, middle - left);
+					next = next + middle - left;
+					System.arraycopy(primary, right, primaryBuffer, next, to - right);
+					System.arraycopy(secondary, right, secondaryBuffer, next, to - right);
+					System.arraycopy(order, right, orderBuffer, next, to - right);
+				}
+				double[] swapKeys = primary;
+				primary = primaryBuffer;
+				primaryBuffer = swapKeys;
+				swapKeys = secondary;
+				secondary = secondaryBuffer;
+				secondaryBuffer = swapKeys;
+				int[] swapOrder = order;
+				order = orderBuffer;
+				orderBuffer = swapOrder;
+			}
+			return reversed;
+		}
+	}
+
+	/**
+	 * Tries a range of RANSAC iterations, returning the best line as {number of inliers, slope, <i>y</i>-intercept}.
+	 */
+	private static class RansacTask extends RecursiveTask<double[]>
+	{
+		private static final long serialVersionUID = 1L;
+		private final double[] dataX;
+		private final double[] dataY;
+		private final double threshold;
+		private final int from;
+		private final int to;
+		private final SplittableRandom random;
+
+		RansacTask(double[] dataX, double[] dataY, double threshold, int from, int to, SplittableRandom random)
+		{
+			this.dataX = dataX;
+			this.dataY = dataY;
+			this.threshold = threshold;
+			this.from = from;
+			this.to = to;
+			this.random = random;
+		}
+
+		@Override
+		protected double[] compute()
+		{
+			if(to - from <= ITERATIONS_PER_TASK)
+			{
+				int length = dataX.length;
+				double[] best = {0.0, Double.NaN, Double.NaN};
+				for(int iteration = from; iteration < to; iteration++)
+				{
+					//draws two points with different values of x
+					int first = random.nextInt(length);
+					int second = random.nextInt(length);
+					int tries = 1;
+					while(dataX[first] == dataX[second] && tries < MAX_TRIES)
+					{
+						second = random.nextInt(length);
+						tries++;
+					}
+					if(dataX[first] == dataX[second])
+						continue;
+
+					double slope = (dataY[second] - dataY[first])/(dataX[second] - dataX[first]);
+					double intercept = dataY[first] - slope * dataX[first];
+					int inliers = 0;
+					for(int i = 0; i < length; i++)
+					{
+						if(Math.abs(dataY[i] - (slope * dataX[i] + intercept)) <= threshold)
+							inliers++;
+					}
+					if(inliers > best[0])
+					{
+						best[0] = inliers;
+						best[1] = slope;
+						best[2] = intercept;
+					}
+				}
+				return best;
+			}
+
+			//splits a long range of iterations in half, giving the right half its own generator, and keeps the right line only if it has more inliers
+			int middle = (from + to) >>> 1;
+			RansacTask leftTask = new RansacTask(dataX, dataY, threshold, from, middle, random);
+			RansacTask rightTask = new RansacTask(dataX, dataY, threshold, middle, to, random.split());
+			leftTask.fork();
+			double[] right = rightTask.compute();
+			double[] left = leftTask.join();
+			if(right[0] > left[0])
+				return right;
+			return left;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package regressionAnalysisCalc;
+import java.io.IOException;
+import java.nio.file.Path;
+/**
+ * Streaming Analysis analyzes a data file that is too large to be held in memory. The file is streamed by <code>DataFileParser</code> a chunk at a time into
+ * <code>PartialStatistics</code>, which keeps only the moments of the data and a quantile sketch of each variable, so the memory used is a few megabytes
+ * however large the file is: one block of the file, one chunk of pairs, the buffers of <code>MomentAccumulator</code> and the sketches.
+ *
+ * <p>Every value shown by <code>GraphingTool</code> is reported. The means, variances, standard deviations, extrema, range and covariance are the same as
+ * those found with every value in memory, up to rounding. The median, quartiles and interquartile range are estimated by the sketches, within about 1.7/<i>k</i>
+ * of the number of values in rank (see <code>QuantileSketch</code>). Every regression model is solved from the moments (see
+ * <code>ModelComparison(MomentAccumulator)</code>), so the power and exponential models are those of the log methods, as refining them by least squares
+ * would read the whole file again for each iteration. The file is then streamed a second time to sum the squared residuals of <i>y</i> for the power and
+ * exponential models, so their R<sup>2</sup>, adjusted R<sup>2</sup> and AIC are measured against <i>y</i>, the same as those of the linear and quadratic
+ * models, and every model can be ranked. These are usually a little lower than the R<sup>2</sup> found with every value in memory, which is that of the
+ * least squares fit rather than the log method.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class StreamingAnalysis
+{
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 16; //default number of pairs passed to the accumulators at a time
+
+	private final String[] axisInfo; //names and units of the variables, or null if the header is not formatted correctly
+	private final long numBadLines; //number of values that were not numbers
+	private final PartialStatistics statistics; //moments and quantile sketches of the file
+	private final ModelComparison models; //every fitted regression model, measured against y
+
+	/**
+	 * Creates the analysis of a streamed file (see <code>run()</code>).
+	 * @param axisInfo the names and units of the variables, or <code>null</code>
+	 * @param numBadLines the number of values that were not numbers
+	 * @param statistics the moments and quantile sketches of the file
+	 * @param models every fitted regression model
+	 */
+	private StreamingAnalysis(String[] axisInfo, long numBadLines, PartialStatistics statistics, ModelComparison models)
+	{
+		this.axisInfo = axisInfo;
+		this.numBadLines = numBadLines;
+		this.statistics = statistics;
+		this.models = models;
+	}
+
+	/**
+	 * Streams a data file with the default chunk size and sketch accuracy.
+	 * @param file the data file
+	 * @return StreamingAnalysis - the analysis of the file
+	 * @throws IOException if the file cannot be opened or read
+	 */
+	public static StreamingAnalysis run(Path file) throws IOException
+	{
+		return run(file, DEFAULT_CHUNK_SIZE, QuantileSketch.DEFAULT_K);
+	}
+
+	/**
+	 * Streams a data file, passing each chunk of pairs to the moments and quantile sketches, then streams it again to sum the squared residuals of the power
+	 * and exponential models solved from the moments.
+	 * @param file the data file
+	 * @param chunkSize the number of pairs passed to the accumulators at a time. Each chunk takes 16 bytes for each pair.
+	 * @param k the capacity of the top level of each quantile sketch (see <code>QuantileSketch</code>), which determines the accuracy of the median and quartiles
+	 * @return StreamingAnalysis - the analysis of the file
+	 * @throws IOException if the file cannot be opened or read, or if it changed between the two passes
+	 */
+	public static StreamingAnalysis run(Path file, int chunkSize, int k) throws IOException
+	{
+		PartialStatistics statistics = new PartialStatistics(k);
+		DataFileParser parser = DataFileParser.stream(file, chunkSize, (dataX, dataY, length) -> statistics.addAll(dataX, dataY, 0, length));
+
+		MomentAccumulator moments = statistics.getMoments();
+		RegressionResult power = moments.fit(AnalysisLibrary.POWER);
+		RegressionResult exponential = moments.fit(AnalysisLibrary.EXPONENTIAL);
+		double[] sumSquaredResiduals = new double[2]; //power, exponential
+		DataFileParser residuals = DataFileParser.stream(file, chunkSize, (dataX, dataY, length) ->
+		{
+			sumSquaredResiduals[0] = sumSquaredResiduals[0] + sumSquaredResiduals(dataX, dataY, length, AnalysisLibrary.POWER, power.getArguments());
+			sumSquaredResiduals[1] = sumSquaredResiduals[1] + sumSquaredResiduals(dataX, dataY, length, AnalysisLibrary.EXPONENTIAL, exponential.getArguments());
+		});
+		if(residuals.getCount() != statistics.getCount())
+			throw new IOException("The file changed while it was read.");
+
+		double sumSquaredDeviations = moments.varianceY(false) * moments.getCount();
+		RegressionResult[] measured = {measure(power, sumSquaredResiduals[0], sumSquaredDeviations),
+			measure(exponential, sumSquaredResiduals[1], sumSquaredDeviations)};
+		return new StreamingAnalysis(parser.getAxisInfo(), parser.getNumBadLines(), statistics, new ModelComparison(moments, measured));
+	}
+
+	/**
+	 * Sums the squared residuals of <i>y</i> for the power or exponential model over one chunk of pairs, evaluating the model the same way as
+	 * <code>AnalysisLibrary.predict()</code>.
+	 * @param dataX the independent values of the chunk
+	 * @param dataY the dependent values of the chunk
+	 * @param length the number of pairs in the chunk
+	 * @param regressionType the regression model, 3 - power or 4 - exponential
+	 * @param arguments the arguments {<i>a</i>,<i>b</i>,<i>PCC</i>} of the model
+	 * @return double - the summation of the squared residuals, or <code>NaN</code> if the model is not defined at some <i>x</i> of the chunk
+	 */
+	private static double sumSquaredResiduals(double[] dataX, double[] dataY, int length, int regressionType, double[] arguments)
+	{
+		double a = arguments[0];
+		double b = arguments[1];
+		double sse = 0.0;
+		if(regressionType == AnalysisLibrary.POWER)
+		{
+			for(int i = 0; i < length; i++)
+			{
+				double residual = dataY[i] - a * Math.exp(b * Math.log(dataX[i]));
+				sse = sse + residual * residual;
+			}
+		}
+		else
+		{
+			double lnB = b > 0.0 ? Math.log(b) : Double.NaN;
+			for(int i = 0; i < length; i++)
+			{
+				double residual = dataY[i] - a * Math.exp(dataX[i] * lnB);
+				sse = sse + residual * residual;
+			}
+		}
+		return sse;
+	}
+
+	/**
+	 * Creates the result of a model solved by the log method whose R<sup>2</sup> is measured against <i>y</i>, with the PCC as the square root of R<sup>2</sup> and
+	 * the sign of the PCC of the log method, the same as a model fitted by <code>NonlinearRegression</code>.
+	 * @param logResult the model solved by the log method
+	 * @param sse the summation of the squared residuals of <i>y</i>
+	 * @param sumSquaredDeviations the summation of the squared deviations of <i>y</i> from its mean
+	 * @return RegressionResult - the model, whose arguments are {<i>a</i>,<i>b</i>,<i>PCC</i>}
+	 */
+	private static RegressionResult measure(RegressionResult logResult, double sse, double sumSquaredDeviations)
+	{
+		double rSquared = 1.0 - sse/sumSquaredDeviations;
+		double[] arguments = logResult.getArguments().clone();
+		arguments[2] = Math.copySign(Math.sqrt(Math.max(rSquared, 0.0)), arguments[2]);
+		return new RegressionResult(logResult.getRegressionType(), arguments, arguments[2], rSquared, logResult.getCount());
+	}
+
+	/**
+	 * Returns the names and units of the variables (see <code>DataFileParser.getAxisInfo()</code>)
+	 * @return String[] - {independent variable name, dependent variable name, unit of independent variable, unit of dependent variable}, or <code>null</code>
+	 * if the file is empty or its header is not formatted correctly
+	 */
+	public String[] getAxisInfo()
+	{
+		return axisInfo == null ? null : axisInfo.clone();
+	}
+
+	/**
+	 * Returns the number of values that were not numbers, whose pairs were skipped (see <code>DataFileParser</code>)
+	 * @return long - the number of bad values
+	 */
+	public long getNumBadLines()
+	{
+		return numBadLines;
+	}
+
+	/**
+	 * Returns the number of pairs read
+	 * @return long - the number of pairs
+	 */
+	public long getCount()
+	{
+		return statistics.getCount();
+	}
+
+	/**
+	 * Returns the moments and quantile sketches of the file, which can be merged with those of other files (see <code>PartialStatistics.merge()</code>)
+	 * @return PartialStatistics - the partial statistics of the file
+	 */
+	public PartialStatistics getStatistics()
+	{
+		return statistics;
+	}
+
+	/**
+	 * Returns the summary of the independent variable, where the median and quartiles are estimated (see <code>PartialStatistics.describeIndependent()</code>)
+	 * @return DescriptiveStatistics - the summary of <i>x</i>
+	 */
+	public DescriptiveStatistics getXStats()
+	{
+		return statistics.describeIndependent();
+	}
+
+	/**
+	 * Returns the summary of the dependent variable, where the median and quartiles are estimated (see <code>PartialStatistics.describeDependent()</code>)
+	 * @return DescriptiveStatistics - the summary of <i>y</i>
+	 */
+	public DescriptiveStatistics getYStats()
+	{
+		return statistics.describeDependent();
+	}
+
+	/**
+	 * Returns the sample covariance of the variables
+	 * @return double - the covariance of <i>x</i> and <i>y</i>
+	 */
+	public double getCovariance()
+	{
+		return statistics.getMoments().covariance();
+	}
+
+	/**
+	 * Returns every regression model, solved from the moments of the file, where the R<sup>2</sup> of the power and exponential models is measured against <i>y</i>
+	 * @return ModelComparison - the fitted models
+	 */
+	public ModelComparison getModels()
+	{
+		return models;
+	}
+}
@@ -0,0 +1,221 @@
+package regressionAnalysisCalc;
+/**
+ * Vector Kernels provides the inner loops shared by <code>AnalysisLibrary</code>, <code>ParallelAnalysisLibrary</code> and <code>MomentAccumulator</code>: sums, dot
+ * products, sums of products of deviations from the mean, and the central moment sums used by the quadratic regression.
+ *
+ * <p>If the program is run with the incubating Vector API (<code>--add-modules jdk.incubator.vector</code>) and the optional class
+ * <code>regressionAnalysisCalc.simd.SimdKernels</code> has been compiled, the loops are run by that class, which processes as many values per instruction as the
+ * processor's SIMD registers hold (for ex. 4 doubles with AVX2, 8 with AVX-512). Otherwise, or if the system property <code>regressionAnalysisCalc.simd</code>
+ * is <code>false</code>, the scalar loops in this class are used. The SIMD loops add the values in a different order, so results may differ in the last few bits,
+ * but they are the same on every run on the same processor.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class VectorKernels
+{
+	private static final String SIMD_CLASS = "regressionAnalysisCalc.simd.SimdKernels"; //implementation using the Vector API
+	private static final VectorKernels kernels = loadKernels(); //the implementation used by the static methods
+
+	/**
+	 * Creates the scalar implementation of the kernels. Only used by <code>loadKernels()</code> and subclasses.
+	 */
+	protected VectorKernels()
+	{
+	}
+
+	/**
+	 * Chooses the implementation of the kernels, using the Vector API if its module is available and the SIMD class can be loaded.
+	 * @return VectorKernels - the SIMD implementation if it can be used, otherwise the scalar implementation
+	 */
+	private static VectorKernels loadKernels()
+	{
+		boolean simdEnabled = !"false".equals(System.getProperty("regressionAnalysisCalc.simd"));
+
+		if(simdEnabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+		{
+			try
+			{
+				return (VectorKernels)Class.forName(SIMD_CLASS).getDeclaredConstructor().newInstance();
+			}
+			catch(ReflectiveOperationException | LinkageError e) //the SIMD class was not compiled or cannot run on this JVM
+			{
+			}
+		}
+		return new VectorKernels();
+	}
+
+	/**
+	 * Returns whether the kernels are run with the Vector API
+	 * @return boolean - <code>true</code> if the SIMD implementation is used, <code>false</code> if the scalar loops are used
+	 */
+	public static boolean isSimd()
+	{
+		return kernels.getClass() != VectorKernels.class;
+	}
+
+	/**
+	 * Returns the implementation run by the static methods, so that it can be timed against the scalar loops (see <code>Benchmark</code>)
+	 * @return VectorKernels - the SIMD implementation if it is used, otherwise the scalar implementation
+	 */
+	static VectorKernels getKernels()
+	{
+		return kernels;
+	}
+
+	/**
+	 * Calculates the sum of a range of an array.
+	 * @param data an array of type <code>double</code>
+	 * @param from the first index of the range
+	 * @param length the number of values in the range
+	 * @return double - the sum of the values in the range
+	 */
+	public static double sum(double[] data, int from, int length)
+	{
+		return kernels.sumKernel(data, from, length);
+	}
+
+	/**
+	 * Calculates the dot product (sum of the products of corresponding values) of ranges of two arrays.
+	 * @param a an array of type <code>double</code>
+	 * @param aFrom the first index of the range of <code>a</code>
+	 * @param b an array of type <code>double</code>
+	 * @param bFrom the first index of the range of <code>b</code>
+	 * @param length the number of values in each range
+	 * @return double - the dot product of the two ranges
+	 */
+	public static double dot(double[] a, int aFrom, double[] b, int bFrom, int length)
+	{
+		return kernels.dotKernel(a, aFrom, b, bFrom, length);
+	}
+
+	/**
+	 * Calculates the sum of the products of the deviations of ranges of two arrays from their means, &Sigma;(<i>a - </i>mean<i>A</i>)(<i>b - </i>mean<i>B</i>).
+	 * Passing the same range twice gives the sum of the squared deviations.
+	 * @param a an array of type <code>double</code>
+	 * @param aFrom the first index of the range of <code>a</code>
+	 * @param meanA the mean subtracted from each value of <code>a</code>
+	 * @param b an array of type <code>double</code>
+	 * @param bFrom the first index of the range of <code>b</code>
+	 * @param meanB the mean subtracted from each value of <code>b</code>
+	 * @param length the number of values in each range
+	 * @return double - the sum of the products of the deviations
+	 */
+	public static double centeredProductSum(double[] a, int aFrom, double meanA, double[] b, int bFrom, double meanB, int length)
+	{
+		return kernels.centeredProductSumKernel(a, aFrom, meanA, b, bFrom, meanB, length);
+	}
+
+	/**
+	 * Calculates the central moment sums of a range of a two-variable data set that are used by the quadratic regression. With <i>d = x - </i>mean<i>X</i>
+	 * and <i>e = y - </i>mean<i>Y</i>, the sums are stored in <code>sums</code> as {&Sigma;<i>d</i><sup>2</sup>, &Sigma;<i>d</i><sup>3</sup>, &Sigma;<i>d</i><sup>4</sup>,
+	 * &Sigma;<i>de</i>, &Sigma;<i>d</i><sup>2</sup><i>e</i>, &Sigma;<i>e</i><sup>2</sup>}.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param from the first index of the range
+	 * @param length the number of points in the range
+	 * @param meanX the mean subtracted from each value of <code>dataX</code>
+	 * @param meanY the mean subtracted from each value of <code>dataY</code>
+	 * @param sums an array with a length of at least 6, where the sums are stored
+	 */
+	public static void centralMomentSums(double[] dataX, double[] dataY, int from, int length, double meanX, double meanY, double[] sums)
+	{
+		kernels.centralMomentSumsKernel(dataX, dataY, from, length, meanX, meanY, sums);
+	}
+
+	/**
+	 * Scalar implementation of <code>sum()</code>.
+	 * @param data an array of type <code>double</code>
+	 * @param from the first index of the range
+	 * @param length the number of values in the range
+	 * @return double - the sum of the values in the range
+	 */
+	protected double sumKernel(double[] data, int from, int length)
+	{
+		double sum = 0.0;
+		for(int i = from; i < from + length; i++)
+		{
+			sum = sum + data[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Scalar implementation of <code>dot()</code>.
+	 * @param a an array of type <code>double</code>
+	 * @param aFrom the first index of the range of <code>a</code>
+	 * @param b an array of type <code>double</code>
+	 * @param bFrom the first index of the range of <code>b</code>
+	 * @param length the number of values in each range
+	 * @return double - the dot product of the two ranges
+	 */
+	protected double dotKernel(double[] a, int aFrom, double[] b, int bFrom, int length)
+	{
+		double sum = 0.0;
+		for(int i = 0; i < length; i++)
+		{
+			sum = sum + a[aFrom + i] * b[bFrom + i];
+		}
+		return sum;
+	}
+
+	/**
+	 * Scalar implementation of <code>centeredProductSum()</code>.
+	 * @param a an array of type <code>double</code>
+	 * @param aFrom the first index of the range of <code>a</code>
+	 * @param meanA the mean subtracted from each value of <code>a</code>
+	 * @param b an array of type <code>double</code>
+	 * @param bFrom the first index of the range of <code>b</code>
+	 * @param meanB the mean subtracted from each value of <code>b</code>
+	 * @param length the number of values in each range
+	 * @return double - the sum of the products of the deviations
+	 */
+	protected double centeredProductSumKernel(double[] a, int aFrom, double meanA, double[] b, int bFrom, double meanB, int length)
+	{
+		double sum = 0.0;
+		for(int i = 0; i < length; i++)
+		{
+			sum = sum + (a[aFrom + i] - meanA) * (b[bFrom + i] - meanB);
+		}
+		return sum;
+	}
+
+	/**
+	 * Scalar implementation of <code>centralMomentSums()</code>. The powers of each deviation are found by multiplication.
+	 * @param dataX an array of type <code>double</code> representing the values of the independent variable
+	 * @param dataY an array of type <code>double</code> representing the values of the dependent variable
+	 * @param from the first index of the range
+	 * @param length the number of points in the range
+	 * @param meanX the mean subtracted from each value of <code>dataX</code>
+	 * @param meanY the mean subtracted from each value of <code>dataY</code>
+	 * @param sums an array with a length of at least 6, where the sums are stored
+	 */
+	protected void centralMomentSumsKernel(double[] dataX, double[] dataY, int from, int length, double meanX, double meanY, double[] sums)
+	{
+		double dd = 0.0;
+		double ddd = 0.0;
+		double dddd = 0.0;
+		double de = 0.0;
+		double dde = 0.0;
+		double ee = 0.0;
+
+		for(int i = from; i < from + length; i++)
+		{
+			double d = dataX[i] - meanX;
+			double e = dataY[i] - meanY;
+			double dSquared = d * d;
+			dd = dd + dSquared;
+			ddd = ddd + dSquared * d;
+			dddd = dddd + dSquared * dSquared;
+			de = de + d * e;
+			dde = dde + dSquared * e;
+			ee = ee + e * e;
+		}
+
+		sums[0] = dd;
+		sums[1] = ddd;
+		sums[2] = dddd;
+		sums[3] = de;
+		sums[4] = dde;
+		sums[5] = ee;
+	}
+}
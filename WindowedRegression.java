@@ -0,0 +1,181 @@
+package regressionAnalysisCalc;
+/**
+ * Windowed Regression fits a regression model to only the most recent points of a data set that grows one point at a time, for ex. to monitor drift in
+ * a measurement. The window either holds the last <i>N</i> points, or every point whose <i>x</i> is within a span <i>T</i> of the latest <i>x</i> (which requires
+ * <i>x</i> to be non-decreasing, such as a time). Points that leave the window are removed from the moments (see <code>MomentAccumulator.remove()</code>),
+ * so each step costs constant time (amortized) instead of refitting the whole window.
+ *
+ * <p>Removing points subtracts from the moments, which can slowly lose precision to cancellation over a long run. To bound this, the moments are rebuilt
+ * from the points in the window after every window-length of removals, which keeps the amortized cost of each step constant.</p>
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class WindowedRegression
+{
+	private static final int MIN_REBUILD_INTERVAL = 64; //fewest removals between rebuilds of the moments
+
+	private final MomentAccumulator moments = new MomentAccumulator(); //moments of the points in the window
+	private final int regressionType; //the regression model returned by add()
+	private final int maxPoints; //maximum number of points in the window, or 0 if the window is a span of x
+	private final double span; //width of the window in units of x, or 0 if the window is a number of points
+
+	//points in the window, stored in a circular buffer starting at index head
+	private double[] windowX;
+	private double[] windowY;
+	private int head = 0;
+	private int size = 0;
+
+	private long removalsSinceRebuild = 0; //number of points removed since the moments were last rebuilt
+	private double lastX = Double.NEGATIVE_INFINITY; //latest x added, which the next x of a span window must not be less than
+
+	/**
+	 * Creates an empty windowed regression.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param maxPoints the maximum number of points in the window, or 0 if the window is a span of x
+	 * @param span the width of the window in units of x, or 0 if the window is a number of points
+	 */
+	private WindowedRegression(int regressionType, int maxPoints, double span)
+	{
+		this.regressionType = regressionType;
+		this.maxPoints = maxPoints;
+		this.span = span;
+
+		int capacity = 16;
+		if(maxPoints > 0)
+			capacity = maxPoints;
+		windowX = new double[capacity];
+		windowY = new double[capacity];
+	}
+
+	/**
+	 * Creates a windowed regression over the last <code>maxPoints</code> points added.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param maxPoints the number of points in a full window, which must be greater than 0
+	 * @return WindowedRegression - an empty windowed regression
+	 */
+	public static WindowedRegression lastPoints(int regressionType, int maxPoints)
+	{
+		if(maxPoints <= 0)
+			throw new IllegalArgumentException("Window must hold at least one point.");
+		return new WindowedRegression(regressionType, maxPoints, 0.0);
+	}
+
+	/**
+	 * Creates a windowed regression over the points whose <i>x</i> is within <code>span</code> of the latest <i>x</i> added.
+	 * The values of <i>x</i> must be added in non-decreasing order.
+	 * @param regressionType the regression model. Must be 1 - linear, 2 - quadratic, 3 - power, 4 - exponential
+	 * @param span the width of the window in units of <i>x</i>, which must be greater than 0
+	 * @return WindowedRegression - an empty windowed regression
+	 */
+	public static WindowedRegression lastSpan(int regressionType, double span)
+	{
+		if(!(span > 0))
+			throw new IllegalArgumentException("Window span must be greater than 0.");
+		return new WindowedRegression(regressionType, 0, span);
+	}
+
+	/**
+	 * Adds a point to the window, removes any points that have expired and refits the model.
+	 * @param x value of the independent variable
+	 * @param y value of the dependent variable
+	 * @return RegressionResult - the model fitted to the points in the window
+	 * @throws IllegalArgumentException if the window is a span of <i>x</i> and <code>x</code> is less than the previous <i>x</i> added
+	 */
+	public RegressionResult add(double x, double y)
+	{
+		//a point older than the latest point would be removed out of order, so the window would no longer be the span before the latest x
+		if(maxPoints == 0)
+		{
+			if(x < lastX)
+				throw new IllegalArgumentException("x must not decrease in a window of a span of x (" + x + " was added after " + lastX + ").");
+			lastX = x;
+		}
+
+		//removes the oldest point if the window is full, or every point that is further than the span from x
+		if(maxPoints > 0)
+		{
+			if(size == maxPoints)
+				removeOldest();
+		}
+		else
+		{
+			while(size > 0 && windowX[head] < x - span)
+				removeOldest();
+		}
+
+		if(size == windowX.length)
+			grow();
+		int tail = (head + size) % windowX.length;
+		windowX[tail] = x;
+		windowY[tail] = y;
+		size++;
+		moments.add(x, y);
+
+		//rebuilds the moments once a window-length of points has been removed, to discard any error from downdating
+		if(removalsSinceRebuild >= Math.max(size, MIN_REBUILD_INTERVAL))
+			rebuild();
+
+		return moments.fit(regressionType);
+	}
+
+	/**
+	 * Returns the model fitted to the points in the window.
+	 * @return RegressionResult - the fitted model
+	 */
+	public RegressionResult getResult()
+	{
+		return moments.fit(regressionType);
+	}
+
+	/**
+	 * Returns the number of points in the window
+	 * @return int - the number of points
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * Removes the oldest point from the window and the moments.
+	 */
+	private void removeOldest()
+	{
+		moments.remove(windowX[head], windowY[head]);
+		head = (head + 1) % windowX.length;
+		size--;
+		removalsSinceRebuild++;
+	}
+
+	/**
+	 * Recalculates the moments from the points in the window.
+	 */
+	private void rebuild()
+	{
+		moments.reset();
+		for(int i = 0; i < size; i++)
+		{
+			int index = (head + i) % windowX.length;
+			moments.add(windowX[index], windowY[index]);
+		}
+		removalsSinceRebuild = 0;
+	}
+
+	/**
+	 * Doubles the capacity of the circular buffer (only needed for a window that is a span of x), keeping the points in order.
+	 */
+	private void grow()
+	{
+		double[] newX = new double[windowX.length * 2];
+		double[] newY = new double[windowY.length * 2];
+		for(int i = 0; i < size; i++)
+		{
+			int index = (head + i) % windowX.length;
+			newX[i] = windowX[index];
+			newY[i] = windowY[index];
+		}
+		windowX = newX;
+		windowY = newY;
+		head = 0;
+	}
+}
@@ -0,0 +1,132 @@
+package regressionAnalysisCalc.simd;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import regressionAnalysisCalc.VectorKernels;
+/**
+ * SIMD implementation of <code>VectorKernels</code> using the incubating Vector API. Each loop processes as many values at once as the preferred vector
+ * species of the processor holds, keeping one partial sum per lane, and finishes the values left over at the end of a range with scalar code. This class is
+ * loaded by <code>VectorKernels</code> only when the <code>jdk.incubator.vector</code> module is available, so it must be compiled separately:
+ * <code>javac --add-modules jdk.incubator.vector regressionAnalysisCalc\simd\SimdKernels.java</code>, and the program run with
+ * <code>java --add-modules jdk.incubator.vector regressionAnalysisCalc/GraphingTool</code>.
+ *@version Oct 2026
+ *@author Katelyn Lam
+ */
+public class SimdKernels extends VectorKernels
+{
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED; //widest vector supported by the processor
+
+	/**
+	 * Creates the SIMD implementation of the kernels. Called by <code>VectorKernels</code> through reflection.
+	 */
+	public SimdKernels()
+	{
+	}
+
+	/**
+	 * SIMD implementation of <code>VectorKernels.sum()</code>.
+	 */
+	protected double sumKernel(double[] data, int from, int length)
+	{
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for(; i < bound; i += SPECIES.length())
+		{
+			sums = sums.add(DoubleVector.fromArray(SPECIES, data, from + i));
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for(; i < length; i++)
+		{
+			sum = sum + data[from + i];
+		}
+		return sum;
+	}
+
+	/**
+	 * SIMD implementation of <code>VectorKernels.dot()</code>.
+	 */
+	protected double dotKernel(double[] a, int aFrom, double[] b, int bFrom, int length)
+	{
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for(; i < bound; i += SPECIES.length())
+		{
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aFrom + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bFrom + i);
+			sums = va.fma(vb, sums);
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for(; i < length; i++)
+		{
+			sum = sum + a[aFrom + i] * b[bFrom + i];
+		}
+		return sum;
+	}
+
+	/**
+	 * SIMD implementation of <code>VectorKernels.centeredProductSum()</code>.
+	 */
+	protected double centeredProductSumKernel(double[] a, int aFrom, double meanA, double[] b, int bFrom, double meanB, int length)
+	{
+		DoubleVector sums = DoubleVector.zero(SPECIES);
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for(; i < bound; i += SPECIES.length())
+		{
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, aFrom + i).sub(meanA);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bFrom + i).sub(meanB);
+			sums = va.fma(vb, sums);
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+		for(; i < length; i++)
+		{
+			sum = sum + (a[aFrom + i] - meanA) * (b[bFrom + i] - meanB);
+		}
+		return sum;
+	}
+
+	/**
+	 * SIMD implementation of <code>VectorKernels.centralMomentSums()</code>.
+	 */
+	protected void centralMomentSumsKernel(double[] dataX, double[] dataY, int from, int length, double meanX, double meanY, double[] sums)
+	{
+		DoubleVector dd = DoubleVector.zero(SPECIES);
+		DoubleVector ddd = DoubleVector.zero(SPECIES);
+		DoubleVector dddd = DoubleVector.zero(SPECIES);
+		DoubleVector de = DoubleVector.zero(SPECIES);
+		DoubleVector dde = DoubleVector.zero(SPECIES);
+		DoubleVector ee = DoubleVector.zero(SPECIES);
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for(; i < bound; i += SPECIES.length())
+		{
+			DoubleVector d = DoubleVector.fromArray(SPECIES, dataX, from + i).sub(meanX);
+			DoubleVector e = DoubleVector.fromArray(SPECIES, dataY, from + i).sub(meanY);
+			DoubleVector dSquared = d.mul(d);
+			dd = dd.add(dSquared);
+			ddd = dSquared.fma(d, ddd);
+			dddd = dSquared.fma(dSquared, dddd);
+			de = d.fma(e, de);
+			dde = dSquared.fma(e, dde);
+			ee = e.fma(e, ee);
+		}
+
+		//adds the values left over at the end of the range to the reduced sums
+		super.centralMomentSumsKernel(dataX, dataY, from + i, length - i, meanX, meanY, sums);
+		sums[0] = sums[0] + dd.reduceLanes(VectorOperators.ADD);
+		sums[1] = sums[1] + ddd.reduceLanes(VectorOperators.ADD);
+		sums[2] = sums[2] + dddd.reduceLanes(VectorOperators.ADD);
+		sums[3] = sums[3] + de.reduceLanes(VectorOperators.ADD);
+		sums[4] = sums[4] + dde.reduceLanes(VectorOperators.ADD);
+		sums[5] = sums[5] + ee.reduceLanes(VectorOperators.ADD);
+	}
+}